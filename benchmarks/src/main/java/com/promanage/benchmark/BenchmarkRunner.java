@@ -0,0 +1,39 @@
+package com.promanage.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes JSON results
+ * (default: jmh-result.json) that can be compared between versions,
+ * e.g. with https://jmh.morethan.io.
+ *
+ * Any normal JMH option can be passed, e.g.
+ *   java -jar target/benchmarks.jar SchedulerBenchmark -p projectCount=1000 -rff before.json
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("com\\.promanage\\.benchmark\\..*");
+        }
+
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLine.getResult().orElse("jmh-result.json"))
+                .build();
+
+        new Runner(options).run();
+    }
+}
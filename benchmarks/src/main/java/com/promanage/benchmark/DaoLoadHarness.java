@@ -0,0 +1,358 @@
+package com.promanage.benchmark;
+
+import com.promanage.config.DatabaseConfig;
+import com.promanage.config.SchemaMigrator;
+import com.promanage.dao.ProjectDAO;
+import com.promanage.dao.ScheduleDAO;
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import com.promanage.service.SchedulerService;
+import com.promanage.util.CodeGenerator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load test for the DAO layer against a local embedded PostgreSQL server
+ * (a real PostgreSQL binary started in a temp folder), so no shared database is needed.
+ *
+ * Steps:
+ *   1. Start embedded PostgreSQL and point DatabaseConfig at it.
+ *   2. Seed millions of projects and schedule rows with server-side generate_series.
+ *   3. Call every DAO method from 1..64 threads for a fixed time, once with a new
+ *      physical connection per call ("direct") and once through the pool ("pooled").
+ *   4. Print latency percentiles, calls/sec and rows/sec, and write them as CSV.
+ *
+ * If "direct" is much slower than "pooled" for a cheap method, connection setup is the
+ * bottleneck; if both are close, the time goes into the query and the DAO's mapping.
+ *
+ * Usage (from the benchmarks folder, after mvn package):
+ *   java -Xmx8g -cp target/benchmarks.jar com.promanage.benchmark.DaoLoadHarness \
+ *        --projects 2000000 --weeks 20000 --per-week 50 --threads 1,4,16,64 --seconds 10
+ *
+ * Options:
+ *   --projects N     projects to seed (default 1,000,000)
+ *   --weeks N        saved weeks to seed (default 20,000)
+ *   --per-week N     schedule rows per week (default 50 → 1,000,000 rows)
+ *   --threads LIST   concurrent callers (default 1,4,16,64)
+ *   --seconds N      measuring time per (method, mode, threads) (default 10)
+ *   --ops LIST       methods to run (default: all, see OPERATIONS)
+ *   --modes LIST     direct,pooled (default both)
+ *   --url JDBC_URL   use an existing database instead of starting one; it must be empty
+ *   --wipe           with --url: empty a database that already has projects or schedules
+ *   --csv FILE       result file (default dao-load-results.csv)
+ *
+ * getScheduleByWeek and getAllWeekLabels go through the schedule cache; add
+ * -Dpromanage.cache.scheduleRows=0 to measure the database path instead.
+ *
+ * getAllProjects and getAllSchedules load the whole table per call; with millions of
+ * rows and 64 threads that needs a large heap.
+ */
+public class DaoLoadHarness {
+
+    // A DAO call that returns how many rows it produced
+    @FunctionalInterface
+    private interface DaoCall {
+        int run(ThreadLocalRandom random) throws SQLException;
+    }
+
+    private static final String[] OPERATIONS = {
+        "connectionAcquire", "getScheduleByWeek", "getAllWeekLabels", "saveSchedule",
+        "getMonthlyRevenueRollup", "getAllProjects", "getAllSchedules"
+    };
+
+    private final ProjectDAO  projectDAO  = new ProjectDAO();
+    private final ScheduleDAO scheduleDAO = new ScheduleDAO();
+
+    private int     projects = 1_000_000;
+    private int     weeks    = 20_000;
+    private int     perWeek  = 50;
+    private boolean wipe     = true; // only the embedded server may be wiped without asking
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+
+        int[]        threadLevels = parseInts(options.getOrDefault("threads", "1,4,16,64"));
+        int          seconds      = Integer.parseInt(options.getOrDefault("seconds", "10"));
+        List<String> ops          = List.of(options.getOrDefault("ops", String.join(",", OPERATIONS)).split(","));
+        List<String> modes        = List.of(options.getOrDefault("modes", "direct,pooled").split(","));
+        Path         csvFile      = Path.of(options.getOrDefault("csv", "dao-load-results.csv"));
+
+        int maxThreads = 1;
+        for (int t : threadLevels) maxThreads = Math.max(maxThreads, t);
+
+        EmbeddedPostgres embedded = null;
+        String url = options.get("url");
+        if (url == null) {
+            System.out.println("Starting embedded PostgreSQL...");
+            embedded = EmbeddedPostgres.builder()
+                    .setServerConfig("max_connections", String.valueOf(maxThreads * 2 + 20))
+                    .setServerConfig("shared_buffers", "512MB")
+                    .start();
+            url = embedded.getJdbcUrl("postgres", "postgres");
+            System.setProperty("promanage.db.user", "postgres");
+            System.setProperty("promanage.db.password", "postgres");
+        }
+
+        // Must happen before DatabaseConfig is first used
+        System.setProperty("promanage.db.url", url);
+        System.setProperty("promanage.db.poolSize", String.valueOf(maxThreads));
+
+        try {
+            DaoLoadHarness harness = new DaoLoadHarness();
+            harness.projects = Integer.parseInt(options.getOrDefault("projects", "1000000"));
+            harness.weeks    = Integer.parseInt(options.getOrDefault("weeks", "20000"));
+            harness.perWeek  = Integer.parseInt(options.getOrDefault("per-week", "50"));
+            harness.wipe     = embedded != null || options.containsKey("wipe");
+
+            DatabaseConfig.initializeDatabase();
+            harness.seed();
+            harness.run(ops, modes, threadLevels, seconds, csvFile);
+
+        } finally {
+            DatabaseConfig.shutdownPool();
+            if (embedded != null) embedded.close();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  SEEDING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void seed() throws SQLException {
+        System.out.printf("Seeding %,d projects and %,d schedule rows (%,d weeks × %d)...%n",
+                projects, (long) weeks * perWeek, weeks, perWeek);
+        long start = System.nanoTime();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt  = conn.createStatement()) {
+
+            // Seeding replaces everything, so never do that to real data by accident
+            if (!wipe && hasData(stmt)) {
+                throw new IllegalStateException("The database at --url already has projects or schedules. "
+                        + "Add --wipe to delete them and seed it anyway.");
+            }
+            stmt.execute("TRUNCATE schedules, projects, monthly_revenue_rollup, revenue_forecast_state "
+                    + "RESTART IDENTITY CASCADE");
+            // Schedule caches of programs still connected must drop what they hold
+            stmt.execute("UPDATE schedule_write_count SET writes = writes + 1");
+
+            stmt.execute("""
+                    INSERT INTO projects (project_code, title, deadline, duration, revenue)
+                    SELECT 'PRJ' || LPAD(g::text, %2$d, '0'),
+                           'Benchmark project ' || g,
+                           1 + g %% 5,
+                           1,
+                           10000 + (g * 7919) %% 990000
+                    FROM generate_series(1, %1$d) AS g
+                    """.formatted(projects, CodeGenerator.CODE_DIGITS));
+            stmt.execute("SELECT setval('project_code_seq', %d)".formatted(projects + 1));
+
+            // One partition per seeded year, so week reads are pruned like in production
+            SchemaMigrator.ensureSchedulePartitions(conn, 2000, 2000 + (weeks - 1) / 52);
+
+            // Week w → "Week-<2000 + w/52>-<w%52 + 1>", rows spread over 5 days and several teams
+            stmt.execute("""
+                    INSERT INTO schedules (week_label, week_start, project_id, assigned_day, day_name, team)
+                    SELECT label, promanage_week_start(label),
+                           1 + ((w::bigint * %2$d + r) * 2654435761 %% %3$d),
+                           1 + r %% 5,
+                           (ARRAY['Monday','Tuesday','Wednesday','Thursday','Friday'])[1 + r %% 5],
+                           1 + r / 5
+                    FROM generate_series(0, %1$d - 1) AS w
+                    CROSS JOIN LATERAL (SELECT 'Week-' || (2000 + w / 52) || '-' || LPAD((w %% 52 + 1)::text, 2, '0')
+                                        AS label) l,
+                         generate_series(0, %2$d - 1) AS r
+                    """.formatted(weeks, perWeek, projects));
+
+            stmt.execute("ANALYZE");
+        }
+        scheduleDAO.rebuildMonthlyRevenueRollup();
+
+        System.out.printf("Seeded in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static boolean hasData(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT EXISTS (SELECT 1 FROM projects) OR EXISTS (SELECT 1 FROM schedules)")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  MEASURING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void run(List<String> ops, List<String> modes, int[] threadLevels, int seconds,
+                     Path csvFile) throws Exception {
+        List<String> csv = new ArrayList<>();
+        csv.add("operation,mode,threads,calls,errors,calls_per_sec,rows_per_sec,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+
+        System.out.println();
+        System.out.printf("%-24s %-7s %7s %9s %11s %13s %9s %9s %9s %9s %9s%n",
+                "Operation", "Mode", "Threads", "Calls", "Calls/s", "Rows/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        System.out.println("-".repeat(128));
+
+        for (String op : ops) {
+            DaoCall call = operation(op.trim());
+            for (String mode : modes) {
+                DatabaseConfig.setPoolEnabled(mode.trim().equals("pooled"));
+
+                for (int threads : threadLevels) {
+                    long            started = System.nanoTime();
+                    LatencyRecorder result  = measure(call, threads, seconds);
+                    double          elapsed = (System.nanoTime() - started) / 1e9;
+
+                    double callsPerSec = result.getCount() / elapsed;
+                    double rowsPerSec  = result.getRows() / elapsed;
+
+                    System.out.printf(Locale.ROOT, "%-24s %-7s %7d %9d %11.1f %13.0f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                            op, mode, threads, result.getCount(), callsPerSec, rowsPerSec,
+                            result.percentileMillis(50), result.percentileMillis(90), result.percentileMillis(99),
+                            result.percentileMillis(99.9), result.percentileMillis(100));
+
+                    csv.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.2f,%.2f,%.4f,%.4f,%.4f,%.4f,%.4f",
+                            op, mode, threads, result.getCount(), result.getErrors(), callsPerSec, rowsPerSec,
+                            result.percentileMillis(50), result.percentileMillis(90), result.percentileMillis(99),
+                            result.percentileMillis(99.9), result.percentileMillis(100)));
+                }
+            }
+        }
+
+        writeCsv(csvFile, csv);
+        System.out.println("\nPool at the end: " + DatabaseConfig.getPoolStats());
+        System.out.println("Schedule cache:  " + ScheduleDAO.getCacheStats());
+        System.out.println("Results written to " + csvFile.toAbsolutePath());
+    }
+
+    // Runs the call from N threads until the time is up and merges their latencies
+    private LatencyRecorder measure(DaoCall call, int threads, int seconds) throws InterruptedException {
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        CountDownLatch        ready     = new CountDownLatch(threads);
+        CountDownLatch        go        = new CountDownLatch(1);
+        List<Thread>          workers   = new ArrayList<>();
+        long                  endAt     = System.nanoTime() + seconds * 1_000_000_000L;
+
+        for (int i = 0; i < threads; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (System.nanoTime() < endAt) {
+                    long start = System.nanoTime();
+                    try {
+                        int rows = call.run(random);
+                        recorder.record(System.nanoTime() - start, rows);
+                    } catch (SQLException e) {
+                        recorder.recordError();
+                    }
+                }
+            }, "dao-load-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+
+        ready.await();
+        go.countDown();
+        for (Thread worker : workers) worker.join();
+
+        return LatencyRecorder.merge(recorders);
+    }
+
+    private DaoCall operation(String name) {
+        return switch (name) {
+            case "connectionAcquire" -> random -> {
+                // Just borrow and return: the cost the pool is supposed to remove
+                try (Connection conn = DatabaseConfig.getConnection()) {
+                    return conn.isValid(1) ? 1 : 0;
+                }
+            };
+            case "getScheduleByWeek"       -> random -> scheduleDAO.getScheduleByWeek(randomWeek(random)).size();
+            case "getAllWeekLabels"        -> random -> scheduleDAO.getAllWeekLabels().size();
+            case "getMonthlyRevenueRollup" -> random -> scheduleDAO.getMonthlyRevenueRollup().size();
+            case "getAllProjects"          -> random -> projectDAO.getAllProjects().size();
+            case "getAllSchedules"         -> random -> scheduleDAO.getAllSchedules().size();
+            case "saveSchedule"            -> random -> {
+                List<ScheduledProject> schedule = randomSchedule(random);
+                scheduleDAO.saveSchedule(randomWeek(random), schedule);
+                return schedule.size();
+            };
+            default -> throw new IllegalArgumentException(
+                    "Unknown operation '" + name + "', expected one of " + String.join(", ", OPERATIONS));
+        };
+    }
+
+    private String randomWeek(ThreadLocalRandom random) {
+        int w = random.nextInt(weeks);
+        return String.format("Week-%d-%02d", 2000 + w / 52, w % 52 + 1);
+    }
+
+    // A week's worth of rows pointing at random existing projects
+    private List<ScheduledProject> randomSchedule(ThreadLocalRandom random) {
+        List<ScheduledProject> schedule = new ArrayList<>(perWeek);
+        for (int r = 0; r < perWeek; r++) {
+            Project p = new Project();
+            p.setProjectId(1 + random.nextInt(projects));
+            int day = 1 + r % SchedulerService.WORK_WEEK_DAYS;
+            schedule.add(new ScheduledProject(p, day, SchedulerService.dayName(day),
+                    1 + r / SchedulerService.WORK_WEEK_DAYS));
+        }
+        return schedule;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  HELPERS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--wipe")) {
+                options.put("wipe", "true");
+                continue;
+            }
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static int[] parseInts(String list) {
+        String[] parts  = list.split(",");
+        int[]    values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static void writeCsv(Path file, List<String> lines) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            for (String line : lines) out.println(line);
+        }
+    }
+}
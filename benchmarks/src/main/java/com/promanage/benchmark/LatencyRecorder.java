@@ -0,0 +1,59 @@
+package com.promanage.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latency of every call made by one thread. Not thread-safe:
+ * each worker has its own recorder and they are merged at the end.
+ */
+public class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int    count;
+    private long   rows;
+    private long   errors;
+
+    public void record(long latencyNanos, int rowCount) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+        rows += rowCount;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public int  getCount()  { return count; }
+    public long getRows()   { return rows; }
+    public long getErrors() { return errors; }
+
+    /**
+     * Combines several per-thread recorders into one, sorted for percentile lookups.
+     */
+    public static LatencyRecorder merge(Iterable<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        int total = 0;
+        for (LatencyRecorder r : recorders) total += r.count;
+
+        merged.nanos = new long[Math.max(total, 1)];
+        for (LatencyRecorder r : recorders) {
+            System.arraycopy(r.nanos, 0, merged.nanos, merged.count, r.count);
+            merged.count  += r.count;
+            merged.rows   += r.rows;
+            merged.errors += r.errors;
+        }
+        Arrays.sort(merged.nanos, 0, merged.count);
+        return merged;
+    }
+
+    /**
+     * Latency at the given percentile (0-100) in milliseconds. Only valid on a merged recorder.
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return nanos[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+}
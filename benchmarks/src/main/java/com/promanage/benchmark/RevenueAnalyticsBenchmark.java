@@ -0,0 +1,93 @@
+package com.promanage.benchmark;
+
+import com.promanage.model.RevenueForecast;
+import com.promanage.model.RevenueForecastState;
+import com.promanage.util.WeekLabelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory parts of the analytics: the Holt-Winters forecast (one update,
+ * one prediction, and a full replay as done by rebuildRevenueForecastState())
+ * and the week label → month mapping. No database is involved.
+ *
+ * forecastNextMonth and updateForecast should not depend on {@code months};
+ * replayForecastHistory grows linearly with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevenueAnalyticsBenchmark {
+
+    @Param({"12", "120", "1200"})
+    public int months;
+
+    private String[]             weekLabels;
+    private LocalDate[]          weekStarts;
+    private double[]             weekRevenue;
+    private RevenueForecastState state;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+
+        // About 4.33 weeks per month, consecutive ISO weeks
+        int       weeks = (int) Math.ceil(months * 4.333);
+        LocalDate first = WeekLabelUtil.weekStart("Week-2000-01");
+        weekLabels  = new String[weeks];
+        weekStarts  = new LocalDate[weeks];
+        weekRevenue = new double[weeks];
+        for (int i = 0; i < weeks; i++) {
+            weekStarts[i]  = first.plusWeeks(i);
+            weekLabels[i]  = WeekLabelUtil.weekLabelFor(weekStarts[i]);
+            weekRevenue[i] = 100_000 + random.nextInt(250_000);
+        }
+        state = replayForecastHistory();
+    }
+
+    @Benchmark
+    public RevenueForecast forecastNextMonth() {
+        return state.forecastNextMonth();
+    }
+
+    // What every schedule save adds to its transaction
+    @Benchmark
+    public RevenueForecastState updateForecast() {
+        return state.update("Week-next", state.getLastWeekStart().plusWeeks(1), 200_000);
+    }
+
+    @Benchmark
+    public RevenueForecastState replayForecastHistory() {
+        RevenueForecastState s = RevenueForecastState.first(weekLabels[0], weekStarts[0], weekRevenue[0]);
+        for (int i = 1; i < weekLabels.length; i++) {
+            s = s.update(weekLabels[i], weekStarts[i], weekRevenue[i]);
+        }
+        return s;
+    }
+
+    // Maps every saved week to its month, as the rollup does on each save
+    @Benchmark
+    public void weekLabelToYearMonth(Blackhole bh) {
+        for (String label : weekLabels) {
+            bh.consume(WeekLabelUtil.toYearMonth(label));
+        }
+    }
+}
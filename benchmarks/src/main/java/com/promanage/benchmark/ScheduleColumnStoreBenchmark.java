@@ -0,0 +1,72 @@
+package com.promanage.benchmark;
+
+import com.promanage.model.MonthlyRevenueSummary;
+import com.promanage.service.ScheduleColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregations over the columnar schedule history (ScheduleColumnStore),
+ * filled with synthetic rows: 50 projects per week, random revenue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ScheduleColumnStoreBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int rows;
+
+    private ScheduleColumnStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random   = new SplittableRandom(11);
+        int              projects = Math.max(1, rows / 10);
+
+        ScheduleColumnStore.Builder builder = new ScheduleColumnStore.Builder();
+        for (int i = 0; i < rows; i++) {
+            int week = i / 50;
+            builder.add(String.format("Week-%d-%02d", 2000 + week / 52, week % 52 + 1),
+                    i % 50 % 5 + 1, 1 + random.nextInt(projects), 1_000_000 + random.nextInt(99_000_000));
+        }
+        store = builder.build();
+    }
+
+    @Benchmark
+    public long totalRevenue() {
+        return store.totalRevenueCents();
+    }
+
+    @Benchmark
+    public List<MonthlyRevenueSummary> revenueByMonth() {
+        return store.revenueByMonth();
+    }
+
+    @Benchmark
+    public List<ScheduleColumnStore.DayTotal> revenueByDayOfWeek() {
+        return store.revenueByDayOfWeek();
+    }
+
+    @Benchmark
+    public List<ScheduleColumnStore.ProjectTotal> topTenProjects() {
+        return store.topProjectsByRevenue(10);
+    }
+}
@@ -0,0 +1,81 @@
+package com.promanage.benchmark;
+
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import com.promanage.service.SchedulerService;
+import com.promanage.service.TopCandidateSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the scheduling algorithms on synthetic project sets.
+ *
+ * Run with the GC profiler (BenchmarkRunner adds it) to see the allocation rate
+ * per operation ("gc.alloc.rate.norm") next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class SchedulerBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    public int projectCount;
+
+    @Param({"UNIFORM", "TIGHT", "LOOSE", "SAME_DAY"})
+    public SyntheticProjects.DeadlineDistribution distribution;
+
+    private final SchedulerService scheduler = new SchedulerService();
+
+    private List<Project> weekProjects;    // deadlines within 5 days
+    private List<Project> horizonProjects; // deadlines within MAX_HORIZON_DAYS
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        weekProjects    = SyntheticProjects.generate(projectCount, SchedulerService.WORK_WEEK_DAYS, distribution, 42);
+        horizonProjects = SyntheticProjects.generate(projectCount, SchedulerService.MAX_HORIZON_DAYS, distribution, 43);
+    }
+
+    // The menu's option 3: one week, one team
+    @Benchmark
+    public List<ScheduledProject> weeklyGreedy() {
+        return scheduler.generateOptimalSchedule(weekProjects);
+    }
+
+    // Long horizon: exercises the union-find slot lookup
+    @Benchmark
+    public List<ScheduledProject> longHorizonGreedy() {
+        return scheduler.generateOptimalSchedule(horizonProjects, SchedulerService.MAX_HORIZON_DAYS);
+    }
+
+    // Several teams per day: exercises the segment tree
+    @Benchmark
+    public List<ScheduledProject> tenTeamsLongHorizon() {
+        return scheduler.generateOptimalSchedule(horizonProjects, SchedulerService.MAX_HORIZON_DAYS, 10);
+    }
+
+    // The streaming path's in-memory part: keep one project per slot, then the greedy on what is left
+    @Benchmark
+    public List<ScheduledProject> topCandidatesThenGreedy() {
+        TopCandidateSelector selector = new TopCandidateSelector(SchedulerService.MAX_HORIZON_DAYS);
+        for (Project p : horizonProjects) {
+            selector.offer(p);
+        }
+        return scheduler.generateOptimalSchedule(selector.candidates(), SchedulerService.MAX_HORIZON_DAYS);
+    }
+}
@@ -0,0 +1,59 @@
+package com.promanage.benchmark;
+
+import com.promanage.model.Project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates fake projects for the benchmarks. The same seed always gives the same projects.
+ */
+public class SyntheticProjects {
+
+    /**
+     * How deadlines are spread over the horizon.
+     */
+    public enum DeadlineDistribution {
+        /** Every day of the horizon equally likely. */
+        UNIFORM,
+        /** Almost everything due in the first couple of days: heavy competition for few slots. */
+        TIGHT,
+        /** Almost everything due at the end of the horizon: most projects fit. */
+        LOOSE,
+        /** Every project has the same deadline: worst case for "latest free slot" lookups. */
+        SAME_DAY
+    }
+
+    // A handful of shared titles so the generated data isn't dominated by String objects
+    private static final String[] TITLES = {
+        "Website Redesign", "Mobile App", "ERP Migration", "Data Warehouse", "Security Audit",
+        "CRM Integration", "Payment Gateway", "Cloud Migration"
+    };
+
+    public static List<Project> generate(int count, int horizon, DeadlineDistribution distribution, long seed) {
+        SplittableRandom random   = new SplittableRandom(seed);
+        List<Project>    projects = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Project p = new Project(
+                    "PRJ" + i,
+                    TITLES[i % TITLES.length],
+                    deadline(random, horizon, distribution),
+                    // revenue between 10,000 and 10,00,000 INR, rounded to rupees
+                    10_000 + random.nextInt(990_000));
+            p.setProjectId(i + 1);
+            projects.add(p);
+        }
+        return projects;
+    }
+
+    private static int deadline(SplittableRandom random, int horizon, DeadlineDistribution distribution) {
+        return switch (distribution) {
+            case UNIFORM  -> 1 + random.nextInt(horizon);
+            case TIGHT    -> 1 + Math.min(horizon - 1, (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+            case LOOSE    -> horizon - Math.min(horizon - 1, (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+            case SAME_DAY -> horizon;
+        };
+    }
+}
@@ -1,20 +1,29 @@
 package com.promanage;
 
+import com.promanage.cli.BatchCli;
 import com.promanage.config.DatabaseConfig;
 import com.promanage.dao.ProjectDAO;
 import com.promanage.dao.ScheduleDAO;
+import com.promanage.metrics.MetricsRegistry;
 import com.promanage.model.MonthlyRevenueSummary;
+import com.promanage.model.MultiWeekPlan;
+import com.promanage.model.OptimizedSchedule;
 import com.promanage.model.Project;
+import com.promanage.model.ProjectSnapshot;
+import com.promanage.model.RevenueForecast;
 import com.promanage.model.ScheduledProject;
+import com.promanage.service.DurationScheduleOptimizer;
+import com.promanage.service.MultiWeekPlanner;
 import com.promanage.service.RevenueAnalyticsService;
+import com.promanage.service.ScheduleColumnStore;
 import com.promanage.service.SchedulerService;
 import com.promanage.util.CodeGenerator;
+import com.promanage.util.WeekLabelUtil;
 
 import java.sql.SQLException;
-import java.time.LocalDate;
-import java.time.temporal.WeekFields;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
 
 public class Main {
@@ -24,10 +33,20 @@ public class Main {
     private static final ScheduleDAO           scheduleDAO     = new ScheduleDAO();
     private static final SchedulerService      schedulerSvc    = new SchedulerService();
     private static final RevenueAnalyticsService analyticsSvc  = new RevenueAnalyticsService();
+    private static final DurationScheduleOptimizer optimizer   = new DurationScheduleOptimizer();
+    private static final MultiWeekPlanner      planner         = new MultiWeekPlanner();
     private static final Scanner               scanner         = new Scanner(System.in);
 
     public static void main(String[] args) {
 
+        // Periodic metrics dump, only when -Dpromanage.metrics.dump is set
+        MetricsRegistry.startReporterFromSystemProperties();
+
+        // Any arguments = run one batch command (e.g. from cron) instead of the menu
+        if (args.length > 0) {
+            System.exit(BatchCli.run(args));
+        }
+
         // Step 1: Connect to DB and create tables if they don't exist
         DatabaseConfig.initializeDatabase();
 
@@ -35,7 +54,7 @@ public class Main {
         boolean running = true;
         while (running) {
             printMenu();
-            int choice = readInt("Enter choice: ", 1, 7);
+            int choice = readInt("Enter choice: ", 1, 11);
 
             switch (choice) {
                 case 1 -> addProject();
@@ -44,7 +63,11 @@ public class Main {
                 case 4 -> viewSavedSchedule();
                 case 5 -> viewMonthlyRevenueSummary();
                 case 6 -> viewRevenuePrediction();
-                case 7 -> {
+                case 7 -> rebuildRevenueRollup();
+                case 8 -> optimizeMultiDaySchedule();
+                case 9 -> planMultipleWeeks();
+                case 10 -> viewRevenueBreakdown();
+                case 11 -> {
                     System.out.println("\nGoodbye! Thank you for using ProManage Scheduler.");
                     running = false;
                 }
@@ -69,7 +92,11 @@ public class Main {
         System.out.println("║  4. View Saved Schedule                   ║");
         System.out.println("║  5. Monthly Revenue Summary               ║");
         System.out.println("║  6. Predict Next Month Revenue            ║");
-        System.out.println("║  7. Exit                                  ║");
+        System.out.println("║  7. Rebuild Revenue Rollup                ║");
+        System.out.println("║  8. Optimize Multi-Day Schedule           ║");
+        System.out.println("║  9. Plan Multiple Weeks                   ║");
+        System.out.println("║ 10. Revenue Breakdown (History)           ║");
+        System.out.println("║ 11. Exit                                  ║");
         System.out.println("╚══════════════════════════════════════════╝");
     }
 
@@ -88,18 +115,23 @@ public class Main {
             return;
         }
 
-        int    deadline = readInt("Enter deadline (1-5 working days): ", 1, 5);
+        int    deadline = readInt("Enter deadline (1-" + SchedulerService.MAX_HORIZON_DAYS + " working days): ",
+                                  1, SchedulerService.MAX_HORIZON_DAYS);
+        int    duration = readInt("Enter duration (working days the project takes, 1-" + deadline + "): ",
+                                  1, deadline);
         double revenue  = readDouble("Enter expected revenue (INR): ");
 
-        String  code    = CodeGenerator.generateProjectCode();
-        Project project = new Project(code, title, deadline, revenue);
-
         try {
+            String  code    = CodeGenerator.generateProjectCode();
+            Project project = new Project(code, title, deadline, revenue);
+            project.setDuration(duration);
+
             projectDAO.addProject(project);
             System.out.println("\n✓ Project added successfully!");
             System.out.println("  Code    : " + project.getProjectCode());
             System.out.println("  Title   : " + project.getTitle());
             System.out.println("  Deadline: Day " + project.getDeadline());
+            System.out.println("  Duration: " + project.getDuration() + " day(s)");
             System.out.println("  Revenue : INR " + formatMoney(project.getRevenue()));
         } catch (SQLException e) {
             System.out.println("ERROR: Could not save project. " + e.getMessage());
@@ -114,7 +146,7 @@ public class Main {
         System.out.println("\n--- All Projects ---");
 
         try {
-            List<Project> projects = projectDAO.getAllProjects();
+            List<Project> projects = projectDAO.getProjectSnapshot().newestFirst();
 
             if (projects.isEmpty()) {
                 System.out.println("No projects found. Add some projects first.");
@@ -123,21 +155,22 @@ public class Main {
 
             // Table header
             System.out.println();
-            System.out.printf("%-10s %-30s %-10s %-18s %-20s%n",
-                    "Code", "Title", "Deadline", "Revenue (INR)", "Added On");
-            System.out.println("-".repeat(92));
+            System.out.printf("%-10s %-30s %-10s %-9s %-18s %-20s%n",
+                    "Code", "Title", "Deadline", "Duration", "Revenue (INR)", "Added On");
+            System.out.println("-".repeat(102));
 
             for (Project p : projects) {
-                System.out.printf("%-10s %-30s %-10s %-18s %-20s%n",
+                System.out.printf("%-10s %-30s %-10s %-9s %-18s %-20s%n",
                         p.getProjectCode(),
                         truncate(p.getTitle(), 28),
                         "Day " + p.getDeadline(),
+                        p.getDuration() + "d",
                         formatMoney(p.getRevenue()),
                         p.getCreatedAt().toString().substring(0, 16)
                 );
             }
 
-            System.out.println("-".repeat(92));
+            System.out.println("-".repeat(102));
             System.out.println("Total projects: " + projects.size());
 
         } catch (SQLException e) {
@@ -153,15 +186,21 @@ public class Main {
         System.out.println("\n--- Generate Optimal Weekly Schedule ---");
 
         try {
-            List<Project> allProjects = projectDAO.getAllProjects();
+            ProjectSnapshot projects     = projectDAO.getProjectSnapshot();
+            int             projectCount = projects.size();
 
-            if (allProjects.isEmpty()) {
+            if (projectCount == 0) {
                 System.out.println("No projects available. Please add projects first.");
                 return;
             }
 
-            // Run the greedy scheduling algorithm
-            List<ScheduledProject> schedule = schedulerSvc.generateOptimalSchedule(allProjects);
+            int horizon = readInt("Planning horizon in working days (5 = one week, max "
+                    + SchedulerService.MAX_HORIZON_DAYS + "): ", 1, SchedulerService.MAX_HORIZON_DAYS);
+            int teams   = readInt("Number of delivery teams (each takes 1 project per day): ",
+                    1, SchedulerService.MAX_TEAMS);
+
+            // Run the greedy scheduling algorithm on the in-memory catalogue
+            List<ScheduledProject> schedule = schedulerSvc.generateOptimalSchedule(projects, horizon, teams);
 
             if (schedule.isEmpty()) {
                 System.out.println("Could not schedule any projects. Check deadlines.");
@@ -173,7 +212,7 @@ public class Main {
                     .mapToDouble(sp -> sp.getProject().getRevenue())
                     .sum();
 
-            int unscheduled = allProjects.size() - schedule.size();
+            int unscheduled = projectCount - schedule.size();
 
             // Display the schedule
             System.out.println();
@@ -181,24 +220,25 @@ public class Main {
             System.out.println("║                  OPTIMAL WEEKLY SCHEDULE                        ║");
             System.out.println("╚══════════════════════════════════════════════════════════════════╝");
             System.out.println();
-            System.out.printf("%-5s %-12s %-10s %-30s %-15s%n",
-                    "Day", "Day Name", "Code", "Title", "Revenue (INR)");
-            System.out.println("-".repeat(76));
+            System.out.printf("%-5s %-12s %-6s %-10s %-30s %-15s%n",
+                    "Day", "Day Name", "Team", "Code", "Title", "Revenue (INR)");
+            System.out.println("-".repeat(83));
 
             for (ScheduledProject sp : schedule) {
                 Project p = sp.getProject();
-                System.out.printf("%-5d %-12s %-10s %-30s %-15s%n",
+                System.out.printf("%-5d %-12s %-6d %-10s %-30s %-15s%n",
                         sp.getAssignedDay(),
                         sp.getDayName(),
+                        sp.getTeam(),
                         p.getProjectCode(),
                         truncate(p.getTitle(), 28),
                         formatMoney(p.getRevenue())
                 );
             }
 
-            System.out.println("-".repeat(76));
+            System.out.println("-".repeat(83));
             System.out.printf("%-28s INR %s%n", "Total Revenue:", formatMoney(totalRevenue));
-            System.out.printf("Projects Scheduled : %d out of %d%n", schedule.size(), allProjects.size());
+            System.out.printf("Projects Scheduled : %d out of %d%n", schedule.size(), projectCount);
             if (unscheduled > 0) {
                 System.out.printf("Projects NOT scheduled (missed deadline or no slot): %d%n", unscheduled);
             }
@@ -208,7 +248,7 @@ public class Main {
             String answer = scanner.nextLine().trim().toLowerCase();
 
             if (answer.equals("yes") || answer.equals("y")) {
-                String weekLabel = getCurrentWeekLabel();
+                String weekLabel = WeekLabelUtil.currentWeekLabel();
                 scheduleDAO.saveSchedule(weekLabel, schedule);
                 System.out.println("✓ Schedule saved as: " + weekLabel);
             } else {
@@ -250,22 +290,23 @@ public class Main {
                     .sum();
 
             System.out.println("\nSchedule for: " + weekLabel);
-            System.out.printf("%-5s %-12s %-10s %-30s %-15s%n",
-                    "Day", "Day Name", "Code", "Title", "Revenue (INR)");
-            System.out.println("-".repeat(76));
+            System.out.printf("%-5s %-12s %-6s %-10s %-30s %-15s%n",
+                    "Day", "Day Name", "Team", "Code", "Title", "Revenue (INR)");
+            System.out.println("-".repeat(83));
 
             for (ScheduledProject sp : schedule) {
                 Project p = sp.getProject();
-                System.out.printf("%-5d %-12s %-10s %-30s %-15s%n",
+                System.out.printf("%-5d %-12s %-6d %-10s %-30s %-15s%n",
                         sp.getAssignedDay(),
                         sp.getDayName(),
+                        sp.getTeam(),
                         p.getProjectCode(),
                         truncate(p.getTitle(), 28),
                         formatMoney(p.getRevenue())
                 );
             }
 
-            System.out.println("-".repeat(76));
+            System.out.println("-".repeat(83));
             System.out.printf("Total Revenue: INR %s%n", formatMoney(totalRevenue));
 
         } catch (SQLException e) {
@@ -336,46 +377,40 @@ public class Main {
         System.out.println("\n--- Predicted Revenue for Next Month ---");
 
         try {
-            List<MonthlyRevenueSummary> summaries = analyticsSvc.getMonthlyRevenueSummary();
+            RevenueForecast forecast = analyticsSvc.forecastNextMonthRevenue();
 
-            if (summaries.isEmpty()) {
+            if (forecast == null) {
                 System.out.println("No historical data available yet.");
                 System.out.println("Tip: Save at least 1 weekly schedule to start seeing predictions.");
                 return;
             }
 
-            double predicted   = analyticsSvc.predictNextMonthRevenue(summaries);
-            String confidence  = analyticsSvc.getPredictionConfidence(summaries.size());
-
-            // Find the most recent month to label "next month"
-            MonthlyRevenueSummary latest = summaries.get(summaries.size() - 1);
-            String nextMonthLabel        = getNextMonthLabel(latest.getYear(), latest.getMonth());
+            String nextMonthLabel = forecast.getMonthName() + " " + forecast.getYear();
 
             System.out.println();
             System.out.println("╔══════════════════════════════════════════════╗");
             System.out.println("║           REVENUE PREDICTION REPORT          ║");
             System.out.println("╚══════════════════════════════════════════════╝");
             System.out.println();
-            System.out.println("  Method       : Simple Moving Average");
-            System.out.println("  Data Used    : " + summaries.size() + " month(s) of history");
-            System.out.println("  Confidence   : " + confidence);
-            System.out.println();
-            System.out.println("  Past Monthly Revenues Used in Calculation:");
-
-            for (MonthlyRevenueSummary s : summaries) {
-                System.out.printf("    %-12s %d  →  INR %s%n",
-                        s.getMonthName(), s.getYear(), formatMoney(s.getTotalRevenue()));
-            }
-
+            System.out.println("  Method       : Holt-Winters (level, trend, week-of-month and month-of-year patterns)");
+            System.out.println("  Data Used    : " + forecast.getWeeksOfData() + " saved week(s), latest "
+                    + forecast.getBasedOnWeek());
+            System.out.println("  Weeks Ahead  : " + forecast.getWeeksForecast() + " week(s) of " + nextMonthLabel);
             System.out.println();
             System.out.println("  ┌─────────────────────────────────────────┐");
             System.out.printf("  │  Predicted Revenue for %-8s : INR %-12s│%n",
-                    nextMonthLabel, formatMoney(predicted));
+                    nextMonthLabel, formatMoney(forecast.getPredictedRevenue()));
             System.out.println("  └─────────────────────────────────────────┘");
             System.out.println();
 
-            if (summaries.size() < 3) {
-                System.out.println("  ⚠ Note: Prediction reliability improves with more data.");
+            if (forecast.hasInterval()) {
+                System.out.printf("  80%% range : INR %s  to  INR %s%n",
+                        formatMoney(forecast.getLower80()), formatMoney(forecast.getUpper80()));
+                System.out.printf("  95%% range : INR %s  to  INR %s%n",
+                        formatMoney(forecast.getLower95()), formatMoney(forecast.getUpper95()));
+            } else {
+                System.out.println("  ⚠ Note: A prediction range needs at least "
+                        + RevenueForecast.MIN_WEEKS_FOR_INTERVAL + " saved weeks.");
                 System.out.println("    Save more weekly schedules to get better predictions.");
             }
 
@@ -385,34 +420,199 @@ public class Main {
     }
 
     // ─────────────────────────────────────────────────────────────────────────
-    //  HELPER METHODS
+    //  OPTION 7: REBUILD REVENUE ROLLUP
     // ─────────────────────────────────────────────────────────────────────────
 
-    /**
-     * Generates a week label for the current date.
-     * Format: "Week-2024-03"
-     */
-    private static String getCurrentWeekLabel() {
-        LocalDate    today     = LocalDate.now();
-        WeekFields   weekFields = WeekFields.of(Locale.getDefault());
-        int          weekNum   = today.get(weekFields.weekOfWeekBasedYear());
-        int          year      = today.getYear();
-        return String.format("Week-%d-%02d", year, weekNum);
+    private static void rebuildRevenueRollup() {
+        System.out.println("\n--- Rebuild Revenue Rollup ---");
+
+        try {
+            int months = analyticsSvc.rebuildMonthlyRevenueRollup();
+            System.out.println("✓ Monthly revenue rollup rebuilt from saved schedules (" + months + " month(s)).");
+            int weeks = analyticsSvc.rebuildRevenueForecast();
+            System.out.println("✓ Revenue forecast rebuilt from " + weeks + " saved week(s).");
+        } catch (SQLException e) {
+            System.out.println("ERROR: " + e.getMessage());
+        }
     }
 
-    /**
-     * Returns "Month YYYY" for the month after the given year/month.
-     */
-    private static final String[] MONTH_NAMES = {
-        "", "January", "February", "March", "April", "May", "June",
-        "July", "August", "September", "October", "November", "December"
-    };
-
-    private static String getNextMonthLabel(int year, int month) {
-        if (month == 12) return "January " + (year + 1);
-        return MONTH_NAMES[month + 1] + " " + year;
+    // ─────────────────────────────────────────────────────────────────────────
+    //  OPTION 8: OPTIMIZE MULTI-DAY SCHEDULE
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static void optimizeMultiDaySchedule() {
+        System.out.println("\n--- Optimize Multi-Day Schedule ---");
+
+        try {
+            List<Project> allProjects = projectDAO.getProjectSnapshot().newestFirst();
+
+            if (allProjects.isEmpty()) {
+                System.out.println("No projects available. Please add projects first.");
+                return;
+            }
+
+            int horizon = readInt("Planning horizon in working days (5 = one week, max "
+                    + SchedulerService.MAX_HORIZON_DAYS + "): ", 1, SchedulerService.MAX_HORIZON_DAYS);
+
+            OptimizedSchedule      result   = optimizer.optimize(allProjects, horizon);
+            List<ScheduledProject> schedule = result.getSchedule();
+
+            if (schedule.isEmpty()) {
+                System.out.println("Could not schedule any projects. Check deadlines and durations.");
+                return;
+            }
+
+            System.out.println();
+            System.out.printf("%-6s %-6s %-12s %-10s %-30s %-15s%n",
+                    "Start", "Days", "Day Name", "Code", "Title", "Revenue (INR)");
+            System.out.println("-".repeat(84));
+
+            for (ScheduledProject sp : schedule) {
+                Project p = sp.getProject();
+                System.out.printf("%-6d %-6d %-12s %-10s %-30s %-15s%n",
+                        sp.getAssignedDay(),
+                        p.getDuration(),
+                        sp.getDayName(),
+                        p.getProjectCode(),
+                        truncate(p.getTitle(), 28),
+                        formatMoney(p.getRevenue())
+                );
+            }
+
+            System.out.println("-".repeat(84));
+            System.out.printf("%-28s INR %s%n", "Total Revenue:", formatMoney(result.getTotalRevenue()));
+            System.out.printf("%-28s INR %s%n", "Greedy Schedule Revenue:", formatMoney(result.getGreedyRevenue()));
+            System.out.printf("Optimality gap vs greedy : %.2f%%%n", result.getOptimalityGap() * 100);
+            System.out.printf("Search                   : %s (%d steps, %d ms)%n",
+                    result.isProvenOptimal() ? "proven optimal" : "budget reached, best found so far",
+                    result.getNodesExplored(), result.getElapsedMillis());
+
+            System.out.print("\nSave this schedule to database? (yes/no): ");
+            String answer = scanner.nextLine().trim().toLowerCase();
+
+            if (answer.equals("yes") || answer.equals("y")) {
+                String weekLabel = WeekLabelUtil.currentWeekLabel();
+                scheduleDAO.saveSchedule(weekLabel, schedule);
+                System.out.println("✓ Schedule saved as: " + weekLabel);
+            } else {
+                System.out.println("Schedule not saved.");
+            }
+
+        } catch (SQLException e) {
+            System.out.println("ERROR: " + e.getMessage());
+        }
     }
 
+    // ─────────────────────────────────────────────────────────────────────────
+    //  OPTION 9: PLAN MULTIPLE WEEKS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static void planMultipleWeeks() {
+        System.out.println("\n--- Plan Multiple Weeks ---");
+
+        try {
+            int weeks = readInt("Number of weeks to plan (1-" + MultiWeekPlanner.MAX_WEEKS + "): ",
+                    1, MultiWeekPlanner.MAX_WEEKS);
+            int teams = readInt("Number of delivery teams (each takes 1 project per day): ",
+                    1, SchedulerService.MAX_TEAMS);
+
+            MultiWeekPlan plan = planner.planFromDatabase(weeks, teams);
+
+            if (plan.getScheduledCount() == 0) {
+                System.out.println("Could not schedule any projects. Add projects or check deadlines.");
+                return;
+            }
+
+            System.out.println();
+            System.out.printf("%-14s %-10s %-18s%n", "Week", "Projects", "Revenue (INR)");
+            System.out.println("-".repeat(44));
+
+            for (var entry : plan.getWeeks().entrySet()) {
+                double weekRevenue = entry.getValue().stream()
+                        .mapToDouble(sp -> sp.getProject().getRevenue())
+                        .sum();
+                System.out.printf("%-14s %-10d %-18s%n",
+                        entry.getKey(), entry.getValue().size(), formatMoney(weekRevenue));
+            }
+
+            System.out.println("-".repeat(44));
+            System.out.printf("%-28s INR %s%n", "Total Revenue:", formatMoney(plan.getTotalRevenue()));
+            System.out.printf("Projects Scheduled : %d out of %d%n", plan.getScheduledCount(), plan.getCandidateCount());
+            if (plan.getLeftOverCount() > 0) {
+                System.out.printf("Projects NOT scheduled in any week (carried over to the next plan): %d%n", plan.getLeftOverCount());
+            }
+
+            System.out.print("\nSave all " + plan.getWeeks().size() + " week(s) to database? (yes/no): ");
+            String answer = scanner.nextLine().trim().toLowerCase();
+
+            if (answer.equals("yes") || answer.equals("y")) {
+                planner.savePlan(plan);
+                System.out.println("✓ Saved weeks: " + String.join(", ", plan.getWeeks().keySet()));
+            } else {
+                System.out.println("Plan not saved.");
+            }
+
+        } catch (SQLException e) {
+            System.out.println("ERROR: " + e.getMessage());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  OPTION 10: REVENUE BREAKDOWN OVER ALL SAVED WEEKS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static void viewRevenueBreakdown() {
+        System.out.println("\n--- Revenue Breakdown (History) ---");
+
+        try {
+            ScheduleColumnStore history = analyticsSvc.getScheduleHistory();
+
+            if (history.size() == 0) {
+                System.out.println("No saved schedules found.");
+                return;
+            }
+
+            System.out.printf("%,d scheduled projects over %,d saved weeks, INR %s in total%n",
+                    history.size(), history.weekCount(), formatMoney(history.totalRevenueCents() / 100.0));
+
+            // By weekday
+            System.out.println();
+            System.out.printf("%-12s %-12s %-18s%n", "Day", "Projects", "Revenue (INR)");
+            System.out.println("-".repeat(44));
+            for (ScheduleColumnStore.DayTotal day : history.revenueByDayOfWeek()) {
+                System.out.printf("%-12s %-12d %-18s%n",
+                        day.dayName(), day.rows(), formatMoney(day.revenueCents() / 100.0));
+            }
+
+            // Best-earning projects
+            List<ScheduleColumnStore.ProjectTotal> top = history.topProjectsByRevenue(10);
+            Map<Integer, Project> byId = new HashMap<>();
+            for (ScheduleColumnStore.ProjectTotal t : top) byId.put(t.projectId(), null);
+            projectDAO.getProjectSnapshot().forEachNewestFirst(p -> {
+                if (byId.containsKey(p.getProjectId())) byId.put(p.getProjectId(), p);
+            });
+
+            System.out.println();
+            System.out.printf("%-10s %-30s %-8s %-18s%n", "Code", "Title", "Times", "Revenue (INR)");
+            System.out.println("-".repeat(68));
+            for (ScheduleColumnStore.ProjectTotal t : top) {
+                Project p = byId.get(t.projectId());
+                System.out.printf("%-10s %-30s %-8d %-18s%n",
+                        p == null ? "#" + t.projectId() : p.getProjectCode(),
+                        p == null ? "" : truncate(p.getTitle(), 28),
+                        t.rows(),
+                        formatMoney(t.revenueCents() / 100.0));
+            }
+
+        } catch (SQLException e) {
+            System.out.println("ERROR: " + e.getMessage());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  HELPER METHODS
+    // ─────────────────────────────────────────────────────────────────────────
+
     /**
      * Reads an integer from the console, repeating until valid input in [min, max].
      */
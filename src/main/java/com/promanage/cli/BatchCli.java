@@ -0,0 +1,511 @@
+package com.promanage.cli;
+
+import com.promanage.config.DatabaseConfig;
+import com.promanage.dao.BulkInsertMode;
+import com.promanage.model.ExportReport;
+import com.promanage.model.ImportReport;
+import com.promanage.model.MonthlyRevenueSummary;
+import com.promanage.model.MultiWeekPlan;
+import com.promanage.model.Project;
+import com.promanage.model.RevenueForecast;
+import com.promanage.model.ScheduledProject;
+import com.promanage.server.ApiServer;
+import com.promanage.service.ExportService;
+import com.promanage.service.MultiWeekPlanner;
+import com.promanage.service.ProjectCsvImporter;
+import com.promanage.service.RevenueAnalyticsService;
+import com.promanage.service.RevenueAnalyticsService.WeekTotal;
+import com.promanage.service.SchedulerService;
+import com.promanage.util.CsvUtil;
+import com.promanage.util.JsonViews;
+import com.promanage.util.JsonWriter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Non-interactive commands for cron jobs and scripts:
+ *
+ *   java -jar promanage.jar schedule --weeks 2 --teams 3 --save
+ *   java -jar promanage.jar summary --format csv
+ *
+ * No menu, no prompts. Results go to stdout as JSON (default) or CSV,
+ * errors go to stderr, and the exit code tells the caller what happened:
+ *   0 = OK, 1 = database error, 2 = bad arguments or input, 3 = file error.
+ *
+ * Startup is kept small: schema migrations only run with the "migrate" command
+ * (the interactive menu runs them on every start), so a nightly job just
+ * connects, does its work and exits.
+ */
+public class BatchCli {
+
+    public static final int EXIT_OK       = 0;
+    public static final int EXIT_DB_ERROR = 1;
+    public static final int EXIT_USAGE    = 2;
+    public static final int EXIT_IO_ERROR = 3;
+
+    private static final String USAGE = """
+            Usage: promanage <command> [options]
+
+            Commands:
+              import <file.csv> [--mode copy|batch|multi-row] [--batch-size N]
+                       [--threads N] [--rejects FILE]
+                        Add projects from a CSV file: title,deadline,revenue[,duration]
+                        (a first line that is exactly that header is skipped). Invalid rows
+                        go to the reject file (default <file.csv>.rejects.csv)
+              schedule [--weeks N] [--teams N] [--save] [--format json|csv]
+                        Plan N weeks (default 1) starting this week; --save stores them
+              summary  [--format json|csv]   Monthly revenue summary
+              weeks    [--last N] [--format json|csv]
+                        Revenue and projects of the latest N saved weeks (default 8)
+              predict  [--format json|csv]   Next month's revenue prediction
+              export   [schedules|projects] [--week LABEL] [--format csv|jsonl]
+                       [--output FILE] [--gzip]
+                        Stream saved schedules (all weeks, or one) or all projects
+                        as CSV or JSON Lines, to stdout or a file; with --output a
+                        JSON report (rows, bytes, rows/sec) is printed
+              serve    [--port 8080] [--host 0.0.0.0] [--max-concurrent N] [--max-pool-waiters N]
+                        Run the JSON HTTP API until stopped (Ctrl+C); see ApiServer
+              migrate                        Create or upgrade the database tables
+                        (prints {"schemaVersion": N})
+              help                           Show this text
+
+            Exit codes: 0 OK, 1 database error, 2 bad arguments or input, 3 file error
+            """;
+
+    // Options (without "--") and how many plain arguments each command takes.
+    // Anything else is refused, so a typo like "--week" can't silently fall back to a default.
+    private record Command(Set<String> options, int maxPositional) {}
+
+    private static final Map<String, Command> COMMANDS = Map.of(
+            "import",   new Command(Set.of("mode", "batch-size", "threads", "rejects"), 1),
+            "schedule", new Command(Set.of("weeks", "teams", "save", "format"), 0),
+            "summary",  new Command(Set.of("format"), 0),
+            "weeks",    new Command(Set.of("last", "format"), 0),
+            "predict",  new Command(Set.of("format"), 0),
+            "export",   new Command(Set.of("week", "format", "output", "gzip"), 1),
+            "serve",    new Command(Set.of("port", "host", "max-concurrent", "max-pool-waiters"), 0),
+            "migrate",  new Command(Set.of(), 0));
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    private final MultiWeekPlanner        planner     = new MultiWeekPlanner();
+    private final RevenueAnalyticsService analytics   = new RevenueAnalyticsService();
+    private final ExportService           exporter    = new ExportService();
+
+    public BatchCli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Runs one command with System.out / System.err and returns the exit code.
+     */
+    public static int run(String[] args) {
+        return new BatchCli(System.out, System.err).execute(args);
+    }
+
+    public int execute(String[] args) {
+        if (args.length == 0) {
+            err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        // Refuse options and arguments the command doesn't know, with the usage text
+        Command command = COMMANDS.get(args[0]);
+        if (command != null) {
+            String problem = Options.check(args, command.options(), command.maxPositional());
+            if (problem != null) {
+                err.println("ERROR: " + problem);
+                err.print(USAGE);
+                return EXIT_USAGE;
+            }
+        }
+
+        try {
+            Options options = Options.parse(args);
+
+            int code = switch (args[0]) {
+                case "import"   -> importProjects(options);
+                case "schedule" -> schedule(options);
+                case "summary"  -> summary(options);
+                case "weeks"    -> weeks(options);
+                case "predict"  -> predict(options);
+                case "export"   -> export(options);
+                case "serve"    -> serve(options);
+                case "migrate"  -> migrate();
+                case "help", "--help", "-h" -> {
+                    out.print(USAGE);
+                    yield EXIT_OK;
+                }
+                default -> throw new IllegalArgumentException("Unknown command: " + args[0]);
+            };
+            out.flush();
+            return code;
+
+        } catch (IllegalArgumentException e) {
+            err.println("ERROR: " + e.getMessage());
+            err.println("Run 'promanage help' for usage.");
+            return EXIT_USAGE;
+        } catch (SQLException e) {
+            err.println("ERROR: Database: " + e.getMessage());
+            return EXIT_DB_ERROR;
+        } catch (IOException | UncheckedIOException e) {
+            err.println("ERROR: " + e.getMessage());
+            return EXIT_IO_ERROR;
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  COMMANDS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private int importProjects(Options options) throws SQLException, IOException {
+        Path           file      = Path.of(options.positional(0, "CSV file"));
+        BulkInsertMode mode      = parseMode(options.get("mode", "copy"));
+        int            batchSize = options.getInt("batch-size", ProjectCsvImporter.DEFAULT_BATCH_SIZE, 1, 1_000_000);
+        int            threads   = options.getInt("threads", Runtime.getRuntime().availableProcessors(), 1, 256);
+        String         rejects   = options.get("rejects", null);
+
+        ImportReport report = new ProjectCsvImporter(mode, batchSize, threads)
+                .importFile(file, rejects == null ? null : Path.of(rejects));
+
+        new JsonWriter(out)
+                .beginObject()
+                    .name("imported").value(report.getImported())
+                    .name("rejected").value(report.getRejected())
+                    .name("rejectFile").value(report.getRejectFile())
+                    .name("mode").value(mode.name())
+                    .name("chunks").value(report.getChunks())
+                    .name("seconds").value(report.getNanos() / 1e9)
+                    .name("rowsPerSecond").value(report.getRowsPerSecond())
+                .endObject();
+        out.println();
+        return EXIT_OK;
+    }
+
+    private int schedule(Options options) throws SQLException {
+        int     weeks  = options.getInt("weeks", 1, 1, MultiWeekPlanner.MAX_WEEKS);
+        int     teams  = options.getInt("teams", 1, 1, SchedulerService.MAX_TEAMS);
+        boolean save   = options.has("save");
+        String  format = options.format("json");
+
+        MultiWeekPlan plan = planner.planFromDatabase(weeks, teams);
+        if (save) {
+            planner.savePlan(plan);
+        }
+
+        if (format.equals("csv")) {
+            writeScheduleCsv(plan.getWeeks());
+        } else {
+            JsonViews.writePlan(new JsonWriter(out), plan, save);
+            out.println();
+        }
+        return EXIT_OK;
+    }
+
+    private int summary(Options options) throws SQLException {
+        String                      format    = options.format("json");
+        List<MonthlyRevenueSummary> summaries = analytics.getMonthlyRevenueSummary();
+
+        if (format.equals("csv")) {
+            out.println("year,month,month_name,weeks,projects,total_revenue");
+            for (MonthlyRevenueSummary s : summaries) {
+                out.println(CsvUtil.line(s.getYear(), s.getMonth(), s.getMonthName(), s.getWeeksRecorded(),
+                        s.getProjectsScheduled(), amount(s.getTotalRevenue())));
+            }
+        } else {
+            JsonViews.writeSummaries(new JsonWriter(out), summaries);
+            out.println();
+        }
+        return EXIT_OK;
+    }
+
+    private int weeks(Options options) throws SQLException {
+        int             last   = options.getInt("last", 8, 1, MultiWeekPlanner.MAX_WEEKS);
+        String          format = options.format("json");
+        List<WeekTotal> totals = analytics.getRecentWeekTotals(last);
+
+        if (format.equals("csv")) {
+            out.println("week,projects,revenue");
+            for (WeekTotal t : totals) {
+                out.println(CsvUtil.line(t.weekLabel(), t.projects(), amount(t.revenue())));
+            }
+        } else {
+            JsonViews.writeWeekTotals(new JsonWriter(out), totals);
+            out.println();
+        }
+        return EXIT_OK;
+    }
+
+    private int predict(Options options) throws SQLException {
+        String          format   = options.format("json");
+        RevenueForecast forecast = analytics.forecastNextMonthRevenue();
+
+        if (format.equals("csv")) {
+            out.println("year,month,predicted_revenue,lower_80,upper_80,lower_95,upper_95,weeks_of_data,based_on_week");
+            if (forecast != null) {
+                boolean interval = forecast.hasInterval();
+                out.println(CsvUtil.line(forecast.getYear(), forecast.getMonth(),
+                        amount(forecast.getPredictedRevenue()),
+                        interval ? amount(forecast.getLower80()) : null,
+                        interval ? amount(forecast.getUpper80()) : null,
+                        interval ? amount(forecast.getLower95()) : null,
+                        interval ? amount(forecast.getUpper95()) : null,
+                        forecast.getWeeksOfData(), forecast.getBasedOnWeek()));
+            }
+        } else {
+            JsonViews.writePrediction(new JsonWriter(out), forecast);
+            out.println();
+        }
+        return EXIT_OK;
+    }
+
+    // Streams rows from a database cursor, so memory use doesn't grow with the history
+    private int export(Options options) throws SQLException, IOException {
+        String                what   = options.positionalOr(0, "schedules");
+        String                week   = options.get("week", null);
+        ExportService.Format  format = parseExportFormat(options.get("format", "csv"));
+        boolean               gzip   = options.has("gzip");
+        String                output = options.get("output", null);
+
+        if (!what.equals("schedules") && !what.equals("projects")) {
+            throw new IllegalArgumentException("export what? schedules or projects");
+        }
+        if (week != null && what.equals("projects")) {
+            throw new IllegalArgumentException("--week only applies to schedules");
+        }
+
+        ExportReport report;
+        if (output != null) {
+            Path file = Path.of(output);
+            report = what.equals("projects")
+                    ? exporter.exportProjects(file, format, gzip)
+                    : exporter.exportSchedules(file, week, format, gzip);
+
+            new JsonWriter(out)
+                    .beginObject()
+                        .name("exported").value(report.getWhat())
+                        .name("file").value(report.getTarget())
+                        .name("format").value(report.getFormat())
+                        .name("gzip").value(gzip)
+                        .name("rows").value(report.getRows())
+                        .name("bytes").value(report.getBytes())
+                        .name("seconds").value(report.getNanos() / 1e9)
+                        .name("rowsPerSecond").value(report.getRowsPerSecond())
+                    .endObject();
+            out.println();
+        } else {
+            // stdout carries the data, so the numbers go to stderr
+            WritableByteChannel channel = Channels.newChannel(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len); // the default writes byte by byte
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush(); // keep stdout open for whoever prints next
+                }
+            });
+            report = what.equals("projects")
+                    ? exporter.exportProjects(channel, "stdout", format, gzip)
+                    : exporter.exportSchedules(channel, "stdout", week, format, gzip);
+            err.printf(Locale.ROOT, "Exported %d %s rows in %.2f s (%.0f rows/sec)%n",
+                    report.getRows(), report.getWhat(), report.getNanos() / 1e9, report.getRowsPerSecond());
+        }
+        return EXIT_OK;
+    }
+
+    private int serve(Options options) throws SQLException, IOException {
+        String host           = options.get("host", "0.0.0.0");
+        int    port           = options.getInt("port", ApiServer.DEFAULT_PORT, 0, 65_535);
+        int    maxConcurrent  = options.getInt("max-concurrent", ApiServer.DEFAULT_MAX_CONCURRENT, 1, 100_000);
+        int    maxPoolWaiters = options.getInt("max-pool-waiters", ApiServer.DEFAULT_MAX_POOL_WAITERS, 0, 100_000);
+
+        // A long-running server upgrades the schema once at startup, like the menu
+        DatabaseConfig.migrateDatabase(err);
+
+        ApiServer server = new ApiServer(host, port, maxConcurrent, maxPoolWaiters);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(2), "promanage-http-shutdown"));
+
+        err.println("Listening on http://" + host + ":" + server.getPort()
+                + " (virtual threads: " + (ApiServer.virtualThreadsAvailable() ? "yes" : "no")
+                + ", max concurrent requests: " + maxConcurrent + ")");
+
+        // Serve until the JVM is stopped; the shutdown hook lets running requests finish
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.stop(2);
+        }
+        return EXIT_OK;
+    }
+
+    private int migrate() throws SQLException {
+        // Progress lines go to stderr, so stdout only carries the JSON result
+        int version = DatabaseConfig.migrateDatabase(err);
+
+        new JsonWriter(out)
+                .beginObject()
+                    .name("schemaVersion").value(version)
+                .endObject();
+        out.println();
+        return EXIT_OK;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  OUTPUT HELPERS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void writeScheduleCsv(Map<String, List<ScheduledProject>> byWeek) {
+        out.println("week,day,day_name,team,project_code,title,deadline,duration,revenue");
+        for (Map.Entry<String, List<ScheduledProject>> e : byWeek.entrySet()) {
+            for (ScheduledProject sp : e.getValue()) {
+                Project p = sp.getProject();
+                out.println(CsvUtil.line(e.getKey(), sp.getAssignedDay(), sp.getDayName(), sp.getTeam(),
+                        p.getProjectCode(), p.getTitle(), p.getDeadline(), p.getDuration(), amount(p.getRevenue())));
+            }
+        }
+    }
+
+    // Money in CSV: plain digits, two decimals, no grouping
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  INPUT HELPERS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // "json" is accepted too: an export is always JSON Lines, never one big array
+    private static ExportService.Format parseExportFormat(String format) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv"           -> ExportService.Format.CSV;
+            case "jsonl", "json" -> ExportService.Format.JSON_LINES;
+            default -> throw new IllegalArgumentException("--format must be csv or jsonl");
+        };
+    }
+
+    private static BulkInsertMode parseMode(String mode) {
+        return switch (mode.toLowerCase(Locale.ROOT)) {
+            case "copy"      -> BulkInsertMode.COPY;
+            case "batch"     -> BulkInsertMode.BATCH;
+            case "multi-row" -> BulkInsertMode.MULTI_ROW_VALUES;
+            default -> throw new IllegalArgumentException("--mode must be copy, batch or multi-row");
+        };
+    }
+
+    private static int parseInt(String text, String what, int min, int max) {
+        try {
+            int value = Integer.parseInt(text.trim());
+            if (value < min || value > max) {
+                throw new IllegalArgumentException(what + " must be between " + min + " and " + max);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(what + " is not a number: '" + text + "'");
+        }
+    }
+
+    /**
+     * "--name value" pairs, "--flag" switches and plain positional arguments,
+     * everything after the command name.
+     */
+    static final class Options {
+
+        private static final List<String> FLAGS = List.of("save", "gzip");
+
+        private final Map<String, String> named      = new HashMap<>();
+        private final List<String>        positional = new ArrayList<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    options.positional.add(arg);
+                    continue;
+                }
+                String name = arg.substring(2);
+                if (FLAGS.contains(name)) {
+                    options.named.put(name, "true");
+                } else if (i + 1 < args.length) {
+                    options.named.put(name, args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Missing value for --" + name);
+                }
+            }
+            return options;
+        }
+
+        boolean has(String name) {
+            return named.containsKey(name);
+        }
+
+        String get(String name, String defaultValue) {
+            return named.getOrDefault(name, defaultValue);
+        }
+
+        int getInt(String name, int defaultValue, int min, int max) {
+            String value = named.get(name);
+            return value == null ? defaultValue : parseInt(value, "--" + name, min, max);
+        }
+
+        String format(String defaultFormat) {
+            String format = get("format", defaultFormat).toLowerCase(Locale.ROOT);
+            if (!format.equals("json") && !format.equals("csv")) {
+                throw new IllegalArgumentException("--format must be json or csv");
+            }
+            return format;
+        }
+
+        // Why the arguments don't fit the command, or null if they do. Reads them the
+        // same way as parse(), so "--week 4" is reported as --week, not as an argument.
+        static String check(String[] args, Set<String> allowed, int maxPositional) {
+            int positionals = 0;
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    if (++positionals > maxPositional) {
+                        return "Unexpected argument for " + args[0] + ": " + arg;
+                    }
+                    continue;
+                }
+                String name = arg.substring(2);
+                if (!allowed.contains(name)) {
+                    return "Unknown option for " + args[0] + ": " + arg;
+                }
+                if (!FLAGS.contains(name)) i++; // skip its value
+            }
+            return null;
+        }
+
+        String positionalOr(int index, String defaultValue) {
+            return index < positional.size() ? positional.get(index) : defaultValue;
+        }
+
+        String positional(int index, String what) {
+            if (index >= positional.size()) {
+                throw new IllegalArgumentException("Missing " + what);
+            }
+            return positional.get(index);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.promanage.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small, bounded JDBC connection pool.
+ *
+ * How it works:
+ *   - A fair Semaphore holds one permit per connection the pool may open (maxSize).
+ *     Borrowing takes a permit, returning the connection gives it back.
+ *   - Idle connections sit in a deque. The most recently returned one is handed out
+ *     first (LIFO), so the same few connections stay "warm".
+ *   - Every borrowed connection is validated with isValid() before it is handed out.
+ *   - A background housekeeper closes connections that were idle too long or have
+ *     passed their maximum lifetime.
+ *
+ * Callers get a wrapper around the real connection. Calling close() on the wrapper
+ * does NOT close the socket — it resets the connection and puts it back in the pool.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private final int  maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int  validationTimeoutSeconds;
+
+    private final Semaphore                              permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final ScheduledExecutorService               housekeeper;
+    private final AtomicBoolean                          shutdown = new AtomicBoolean(false);
+
+    // --- statistics ---
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger waitingThreads    = new AtomicInteger();
+    private final AtomicLong    borrowCount       = new AtomicLong();
+    private final AtomicLong    totalWaitNanos    = new AtomicLong();
+    private final AtomicLong    maxWaitNanos      = new AtomicLong();
+    private final AtomicLong    timeoutCount      = new AtomicLong();
+    private final AtomicLong    createdCount      = new AtomicLong();
+    private final AtomicLong    destroyedCount    = new AtomicLong();
+
+    public ConnectionPool(String url, String username, String password,
+                          int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+                          long maxLifetimeMillis, int validationTimeoutSeconds) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url                      = url;
+        this.username                 = username;
+        this.password                 = password;
+        this.maxSize                  = maxSize;
+        this.borrowTimeoutMillis      = borrowTimeoutMillis;
+        this.idleTimeoutMillis        = idleTimeoutMillis;
+        this.maxLifetimeMillis        = maxLifetimeMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits                  = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "promanage-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 2);
+        housekeeper.scheduleAtFixedRate(this::evictStaleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout if all connections are in use.
+     * The returned connection must be closed by the caller (try-with-resources).
+     */
+    public Connection getConnection() throws SQLException {
+        if (shutdown.get()) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        // Step 1: Wait for a free slot in the pool
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        waitingThreads.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+        recordWait(System.nanoTime() - waitStart);
+
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLTransientConnectionException("Timed out after " + borrowTimeoutMillis
+                    + " ms waiting for a database connection (pool size " + maxSize + ")", "08001");
+        }
+
+        // Step 2: Reuse a healthy idle connection, or open a new one
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (!isExpired(pooled, System.currentTimeMillis()) && isHealthy(pooled)) {
+                    break;
+                }
+                destroy(pooled);
+            }
+            if (pooled == null) {
+                pooled = open();
+            }
+
+            activeConnections.incrementAndGet();
+            borrowCount.incrementAndGet();
+            return pooled.lease();
+
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool counters.
+     */
+    public PoolStats getStats() {
+        long borrows = borrowCount.get();
+        return new PoolStats(
+                maxSize,
+                totalConnections.get(),
+                activeConnections.get(),
+                idle.size(),
+                waitingThreads.get(),
+                borrows,
+                timeoutCount.get(),
+                createdCount.get(),
+                destroyedCount.get(),
+                borrows == 0 ? 0 : totalWaitNanos.get() / borrows,
+                maxWaitNanos.get()
+        );
+    }
+
+    /**
+     * Closes every idle connection and stops the housekeeper.
+     * Connections still in use are closed when they are returned.
+     */
+    public void shutdown() {
+        if (!shutdown.compareAndSet(false, true)) return;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  INTERNALS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    // Called when a borrowed connection is closed by the caller
+    private void release(PooledConnection pooled, boolean broken) {
+        activeConnections.decrementAndGet();
+        try {
+            if (broken || shutdown.get() || isExpired(pooled, System.currentTimeMillis()) || !reset(pooled)) {
+                destroy(pooled);
+            } else {
+                pooled.lastUsedMillis = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Puts the connection back into the state a fresh connection would be in
+    private boolean reset(PooledConnection pooled) {
+        try {
+            Connection c = pooled.physical;
+            if (!c.getAutoCommit()) {
+                c.rollback();        // discard anything the borrower left uncommitted
+                c.setAutoCommit(true);
+            }
+            c.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isHealthy(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return now - pooled.createdMillis >= maxLifetimeMillis;
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // the connection is being thrown away anyway
+        }
+    }
+
+    // Runs periodically on the housekeeper thread
+    private void evictStaleConnections() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> it = idle.iterator();
+        while (it.hasNext()) {
+            PooledConnection pooled = it.next();
+            boolean stale = now - pooled.lastUsedMillis >= idleTimeoutMillis || isExpired(pooled, now);
+            // remove() only succeeds if no borrower grabbed it in the meantime
+            if (stale && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * One physical connection plus its bookkeeping.
+     * Each borrow gets a fresh proxy so a stale reference can't touch a connection
+     * that has already been handed to somebody else.
+     */
+    private final class PooledConnection {
+
+        private final Connection physical;
+        private final long       createdMillis;
+        private volatile long    lastUsedMillis;
+
+        PooledConnection(Connection physical) {
+            this.physical       = physical;
+            this.createdMillis  = System.currentTimeMillis();
+            this.lastUsedMillis = createdMillis;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+
+        private final PooledConnection pooled;
+        private final AtomicBoolean    closed = new AtomicBoolean(false);
+        private volatile boolean       broken;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (closed.compareAndSet(false, true)) {
+                        release(pooled, broken);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed.get() || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + pooled.physical + "]";
+                }
+                default -> { }
+            }
+
+            if (closed.get()) {
+                throw new SQLException("Connection has already been returned to the pool", "08003");
+            }
+
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQLState class 08 = connection exception: don't put this one back in the pool
+                if (cause instanceof SQLException sql && sql.getSQLState() != null
+                        && sql.getSQLState().startsWith("08")) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.promanage.config;
 
+import java.io.PrintStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 public class DatabaseConfig {
 
@@ -17,44 +17,105 @@ public class DatabaseConfig {
     private static final String PASSWORD = "kushagrakaneki";
     // ============================================================
 
-    private static final String URL = "jdbc:postgresql://" + HOST + ":" + PORT + "/" + DATABASE;
+    // ============================================================
+    // CONNECTION POOL SETTINGS
+    // ============================================================
+    private static final int  POOL_MAX_SIZE           = Integer.getInteger("promanage.db.poolSize", 10);
+    private static final long POOL_BORROW_TIMEOUT_MS  = 30_000;      // wait at most 30 s for a free connection
+    private static final long POOL_IDLE_TIMEOUT_MS    = 10 * 60_000; // close connections idle for 10 min
+    private static final long POOL_MAX_LIFETIME_MS    = 30 * 60_000; // recycle every connection after 30 min
+    private static final int  POOL_VALIDATION_TIMEOUT = 2;           // seconds, used by isValid() on borrow
+    // ============================================================
+
+    // Any of these can be overridden with -D system properties, e.g. to point a
+    // benchmark at a throwaway database:
+    //   -Dpromanage.db.url=jdbc:postgresql://localhost:5433/bench -Dpromanage.db.user=... -Dpromanage.db.password=...
+    //   -Dpromanage.db.pool=false        open a new physical connection per call (no pooling)
+    //   -Dpromanage.db.poolSize=32       pool size
+    //   -Dpromanage.db.slowQueryMs=200   log slow statements (see SlowQueryLog)
+    private static final String URL = System.getProperty("promanage.db.url",
+            "jdbc:postgresql://" + HOST + ":" + PORT + "/" + DATABASE);
+    private static final String USER = System.getProperty("promanage.db.user", USERNAME);
+    private static final String PASS = System.getProperty("promanage.db.password", PASSWORD);
+
+    private static volatile boolean poolEnabled = !"false".equals(System.getProperty("promanage.db.pool"));
 
+    // Created on first use, so nothing connects until a DAO actually needs the DB
+    private static class PoolHolder {
+        private static final ConnectionPool POOL = createPool();
+
+        private static ConnectionPool createPool() {
+            ConnectionPool pool = new ConnectionPool(URL, USER, PASS,
+                    POOL_MAX_SIZE, POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS,
+                    POOL_MAX_LIFETIME_MS, POOL_VALIDATION_TIMEOUT);
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "promanage-pool-shutdown"));
+            return pool;
+        }
+    }
+
+    /**
+     * Borrows a connection from the shared pool.
+     * Closing it (try-with-resources) returns it to the pool instead of disconnecting.
+     *
+     * With pooling switched off every call opens a brand-new physical connection,
+     * which is only useful to measure what the pool saves.
+     *
+     * With -Dpromanage.db.slowQueryMs set, the connection is wrapped so slow
+     * statements are logged (see SlowQueryLog).
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        return SlowQueryLog.wrap(getUnloggedConnection());
+    }
+
+    // Same as getConnection() but never watched by the slow-query log (used for its EXPLAINs)
+    static Connection getUnloggedConnection() throws SQLException {
+        if (!poolEnabled) {
+            return DriverManager.getConnection(URL, USER, PASS);
+        }
+        return PoolHolder.POOL.getConnection();
+    }
+
+    /**
+     * Switches pooling on or off at runtime (used by the DAO load harness).
+     */
+    public static void setPoolEnabled(boolean enabled) {
+        poolEnabled = enabled;
+    }
+
+    public static boolean isPoolEnabled() {
+        return poolEnabled;
+    }
+
+    /**
+     * Maximum number of pooled connections (-Dpromanage.db.poolSize, default 10).
+     */
+    public static int getPoolMaxSize() {
+        return POOL_MAX_SIZE;
     }
 
     /**
-     * Called once at startup to create all tables if they don't exist yet.
+     * Returns the current pool counters (active, idle, waiters, wait times...).
+     */
+    public static PoolStats getPoolStats() {
+        return PoolHolder.POOL.getStats();
+    }
+
+    /**
+     * Closes all pooled connections. Also runs automatically on JVM shutdown.
+     */
+    public static void shutdownPool() {
+        PoolHolder.POOL.shutdown();
+    }
+
+    /**
+     * Called once at startup to create or upgrade all tables (see SchemaMigrator).
+     * Prints what happened, and ends the program if the database can't be reached.
      */
     public static void initializeDatabase() {
-        String createProjects = """
-                CREATE TABLE IF NOT EXISTS projects (
-                    project_id   SERIAL PRIMARY KEY,
-                    project_code VARCHAR(10) UNIQUE NOT NULL,
-                    title        VARCHAR(255) NOT NULL,
-                    deadline     INT NOT NULL CHECK (deadline BETWEEN 1 AND 5),
-                    revenue      DECIMAL(12,2) NOT NULL CHECK (revenue > 0),
-                    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                )
-                """;
-
-        String createSchedules = """
-                CREATE TABLE IF NOT EXISTS schedules (
-                    schedule_id  SERIAL PRIMARY KEY,
-                    week_label   VARCHAR(20) NOT NULL,
-                    project_id   INT REFERENCES projects(project_id),
-                    assigned_day INT NOT NULL CHECK (assigned_day BETWEEN 1 AND 5),
-                    day_name     VARCHAR(10) NOT NULL,
-                    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                )
-                """;
-
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            stmt.execute(createProjects);
-            stmt.execute(createSchedules);
-            System.out.println("Database ready.");
+        try {
+
+            int version = migrateDatabase(System.out);
+            System.out.println("Database ready (schema version " + version + ").");
 
         } catch (SQLException e) {
             System.out.println("ERROR: Could not initialize database.");
@@ -66,4 +127,14 @@ public class DatabaseConfig {
             System.exit(1);
         }
     }
+
+    /**
+     * Creates or upgrades all tables and returns the schema version the database is now at.
+     * Progress lines go to {@code log}; failures are thrown, not printed.
+     */
+    public static int migrateDatabase(PrintStream log) throws SQLException {
+        try (Connection conn = getConnection()) {
+            return SchemaMigrator.migrate(conn, log);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.promanage.config;
+
+/**
+ * Point-in-time counters of the connection pool.
+ */
+public class PoolStats {
+
+    private final int  maxSize;
+    private final int  totalConnections;
+    private final int  activeConnections;
+    private final int  idleConnections;
+    private final int  waitingThreads;
+    private final long borrowCount;
+    private final long timeoutCount;
+    private final long createdCount;
+    private final long destroyedCount;
+    private final long avgWaitNanos;
+    private final long maxWaitNanos;
+
+    public PoolStats(int maxSize, int totalConnections, int activeConnections, int idleConnections,
+                     int waitingThreads, long borrowCount, long timeoutCount, long createdCount,
+                     long destroyedCount, long avgWaitNanos, long maxWaitNanos) {
+        this.maxSize           = maxSize;
+        this.totalConnections  = totalConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections   = idleConnections;
+        this.waitingThreads    = waitingThreads;
+        this.borrowCount       = borrowCount;
+        this.timeoutCount      = timeoutCount;
+        this.createdCount      = createdCount;
+        this.destroyedCount    = destroyedCount;
+        this.avgWaitNanos      = avgWaitNanos;
+        this.maxWaitNanos      = maxWaitNanos;
+    }
+
+    public int  getMaxSize()            { return maxSize; }
+    public int  getTotalConnections()   { return totalConnections; }
+    public int  getActiveConnections()  { return activeConnections; }
+    public int  getIdleConnections()    { return idleConnections; }
+    public int  getWaitingThreads()     { return waitingThreads; }
+    public long getBorrowCount()        { return borrowCount; }
+    public long getTimeoutCount()       { return timeoutCount; }
+    public long getCreatedCount()       { return createdCount; }
+    public long getDestroyedCount()     { return destroyedCount; }
+    public long getAvgWaitNanos()       { return avgWaitNanos; }
+    public long getMaxWaitNanos()       { return maxWaitNanos; }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "PoolStats{active=%d, idle=%d, total=%d/%d, waiters=%d, borrows=%d, timeouts=%d, "
+                        + "created=%d, destroyed=%d, avgWait=%.3fms, maxWait=%.3fms}",
+                activeConnections, idleConnections, totalConnections, maxSize, waitingThreads,
+                borrowCount, timeoutCount, createdCount, destroyedCount,
+                avgWaitNanos / 1_000_000.0, maxWaitNanos / 1_000_000.0);
+    }
+}
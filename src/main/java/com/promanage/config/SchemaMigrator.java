@@ -0,0 +1,388 @@
+package com.promanage.config;
+
+import com.promanage.dao.ScheduleDAO;
+import com.promanage.util.CodeGenerator;
+
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date, one numbered migration at a time.
+ *
+ * How it works:
+ *   - The table schema_version records every migration that has been applied.
+ *   - On startup every migration with a higher number than the recorded one runs,
+ *     each in its own transaction (PostgreSQL can roll back DDL), and is recorded.
+ *   - An advisory lock makes sure two copies of the program starting at the same
+ *     time don't both run the same migration.
+ *
+ * Never edit a migration that has been released: add a new one at the end of MIGRATIONS.
+ */
+public class SchemaMigrator {
+
+    // Any constant works, it only has to be the same for every copy of the program
+    private static final long MIGRATION_LOCK_KEY = 0x50524F4D414E41L; // "PROMANA"
+
+    private record Migration(int version, String description, List<String> statements) {}
+
+    private static final List<Migration> MIGRATIONS = List.of(
+
+            // 1: Everything initializeDatabase() used to create. Written so it also
+            //    works on databases created by older versions of the program.
+            new Migration(1, "Baseline: projects, schedules, code sequence, revenue rollup", List.of(
+                    """
+                    CREATE TABLE IF NOT EXISTS projects (
+                        project_id   SERIAL PRIMARY KEY,
+                        project_code VARCHAR(10) UNIQUE NOT NULL,
+                        title        VARCHAR(255) NOT NULL,
+                        deadline     INT NOT NULL CHECK (deadline BETWEEN 1 AND 366),
+                        duration     INT NOT NULL DEFAULT 1 CHECK (duration BETWEEN 1 AND 366),
+                        revenue      DECIMAL(12,2) NOT NULL CHECK (revenue > 0),
+                        created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """,
+                    """
+                    CREATE TABLE IF NOT EXISTS schedules (
+                        schedule_id  SERIAL PRIMARY KEY,
+                        week_label   VARCHAR(20) NOT NULL,
+                        project_id   INT REFERENCES projects(project_id),
+                        assigned_day INT NOT NULL CHECK (assigned_day BETWEEN 1 AND 366),
+                        day_name     VARCHAR(10) NOT NULL,
+                        team         INT NOT NULL DEFAULT 1 CHECK (team >= 1),
+                        created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """,
+                    // Databases from before multi-day projects: every project took one day
+                    "ALTER TABLE projects ADD COLUMN IF NOT EXISTS duration INT NOT NULL DEFAULT 1 "
+                            + "CHECK (duration BETWEEN 1 AND 366)",
+                    // Databases from before multi-team scheduling: everything was done by team 1
+                    "ALTER TABLE schedules ADD COLUMN IF NOT EXISTS team INT NOT NULL DEFAULT 1 CHECK (team >= 1)",
+                    // Databases created before multi-week horizons still have the old 1..5 checks.
+                    // Widen them once to 366 days (SchedulerService.MAX_HORIZON_DAYS).
+                    """
+                    DO $$
+                    BEGIN
+                        IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                                       WHERE conname = 'projects_deadline_check'
+                                         AND pg_get_constraintdef(oid) LIKE '%366%') THEN
+                            ALTER TABLE projects DROP CONSTRAINT IF EXISTS projects_deadline_check;
+                            ALTER TABLE projects ADD CONSTRAINT projects_deadline_check
+                                CHECK (deadline BETWEEN 1 AND 366);
+                        END IF;
+                        IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                                       WHERE conname = 'schedules_assigned_day_check'
+                                         AND pg_get_constraintdef(oid) LIKE '%366%') THEN
+                            ALTER TABLE schedules DROP CONSTRAINT IF EXISTS schedules_assigned_day_check;
+                            ALTER TABLE schedules ADD CONSTRAINT schedules_assigned_day_check
+                                CHECK (assigned_day BETWEEN 1 AND 366);
+                        END IF;
+                    END
+                    $$
+                    """,
+                    // Sequence behind CodeGenerator. Created once: at that moment old 3-digit codes
+                    // (PRJ007) are padded to 7 digits (PRJ0000007, what VARCHAR(10) holds; migration 5
+                    // pads further) so text order = number order, and the sequence starts after the
+                    // highest existing code.
+                    """
+                    DO $$
+                    BEGIN
+                        IF NOT EXISTS (SELECT 1 FROM pg_class WHERE relkind = 'S' AND relname = 'project_code_seq') THEN
+                            UPDATE projects
+                            SET project_code = 'PRJ' || LPAD(SUBSTRING(project_code FROM 4), %1$d, '0')
+                            WHERE project_code ~ '^PRJ[0-9]+$' AND LENGTH(project_code) < %1$d + 3;
+
+                            CREATE SEQUENCE project_code_seq INCREMENT BY %2$d MINVALUE 1;
+                            PERFORM setval('project_code_seq',
+                                           COALESCE((SELECT MAX(CAST(SUBSTRING(project_code FROM 4) AS BIGINT))
+                                                     FROM projects WHERE project_code ~ '^PRJ[0-9]+$'), 0) + 1,
+                                           false);
+                        END IF;
+                    END
+                    $$
+                    """.formatted(7, CodeGenerator.CODE_BLOCK_SIZE),
+                    // Pre-aggregated monthly totals, maintained by ScheduleDAO.saveSchedule()
+                    """
+                    CREATE TABLE IF NOT EXISTS monthly_revenue_rollup (
+                        year          INT NOT NULL,
+                        month         INT NOT NULL CHECK (month BETWEEN 1 AND 12),
+                        total_revenue DECIMAL(16,2) NOT NULL DEFAULT 0,
+                        projects      INT NOT NULL DEFAULT 0,
+                        weeks         INT NOT NULL DEFAULT 0,
+                        PRIMARY KEY (year, month)
+                    )
+                    """,
+                    // Weeks saved before the rollup existed. Without this the first save after
+                    // the upgrade would add one month and every earlier month would stay missing.
+                    """
+                    INSERT INTO monthly_revenue_rollup (year, month, total_revenue, projects, weeks)
+                    SELECT year, month, total_revenue, projects, weeks
+                    FROM (%s) totals
+                    WHERE NOT EXISTS (SELECT 1 FROM monthly_revenue_rollup)
+                    """.formatted(ScheduleDAO.MONTHLY_TOTALS_SQL)
+            )),
+
+            // 2: Week lookups, week deletes and the FK check on project deletes
+            //    no longer scan the whole schedules table
+            new Migration(2, "Index schedules by week_label and project_id", List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_schedules_week_label ON schedules (week_label)",
+                    "CREATE INDEX IF NOT EXISTS idx_schedules_project_id ON schedules (project_id)"
+            )),
+
+            // 3: Store the Monday of each week as a real DATE and split schedules into
+            //    one partition per year, so reads and writes of the current week only
+            //    touch the current year's partition and its (small) indexes.
+            //    PostgreSQL can't partition an existing table, so it is rebuilt.
+            new Migration(3, "Add schedules.week_start and partition schedules by year", List.of(
+                    // "Week-2026-09" → Monday of ISO week 9 of 2026. Labels that aren't
+                    // "Week-YYYY-WW" get -infinity and end up in the default partition.
+                    // Keep in sync with WeekLabelUtil.weekLabelFor().
+                    """
+                    CREATE OR REPLACE FUNCTION promanage_week_start(label TEXT) RETURNS DATE
+                    LANGUAGE sql IMMUTABLE AS $$
+                        SELECT CASE
+                            WHEN label !~ '^Week-[0-9]{4}-[0-9]{1,2}$'                  THEN DATE '-infinity'
+                            WHEN CAST(split_part(label, '-', 3) AS INT) NOT BETWEEN 1 AND 53 THEN DATE '-infinity'
+                            ELSE to_date(split_part(label, '-', 2) || '-' || LPAD(split_part(label, '-', 3), 2, '0'),
+                                         'IYYY-IW')
+                        END
+                    $$
+                    """,
+                    """
+                    CREATE TABLE schedules_partitioned (
+                        schedule_id  INT NOT NULL DEFAULT nextval('schedules_schedule_id_seq'),
+                        week_label   VARCHAR(20) NOT NULL,
+                        week_start   DATE NOT NULL,
+                        project_id   INT REFERENCES projects(project_id),
+                        assigned_day INT NOT NULL CONSTRAINT schedules_assigned_day_check
+                                         CHECK (assigned_day BETWEEN 1 AND 366),
+                        day_name     VARCHAR(10) NOT NULL,
+                        team         INT NOT NULL DEFAULT 1 CONSTRAINT schedules_team_check CHECK (team >= 1),
+                        created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (schedule_id, week_start)
+                    ) PARTITION BY RANGE (week_start)
+                    """,
+                    "CREATE TABLE schedules_default PARTITION OF schedules_partitioned DEFAULT",
+                    """
+                    INSERT INTO schedules_partitioned
+                        (schedule_id, week_label, week_start, project_id, assigned_day, day_name, team, created_at)
+                    SELECT schedule_id, week_label, promanage_week_start(week_label), project_id,
+                           assigned_day, day_name, team, created_at
+                    FROM schedules
+                    """,
+                    "ALTER SEQUENCE schedules_schedule_id_seq OWNED BY NONE",
+                    "DROP TABLE schedules",
+                    "ALTER TABLE schedules_partitioned RENAME TO schedules",
+                    "ALTER TABLE schedules RENAME CONSTRAINT schedules_partitioned_pkey TO schedules_pkey",
+                    "ALTER SEQUENCE schedules_schedule_id_seq OWNED BY schedules.schedule_id",
+                    // Creates the partition of one year. Rows of that year that were saved
+                    // into the default partition before it existed are moved into it.
+                    """
+                    CREATE OR REPLACE FUNCTION promanage_ensure_schedule_partition(yr INT) RETURNS VOID
+                    LANGUAGE plpgsql AS $$
+                    DECLARE
+                        part_name  TEXT := 'schedules_' || yr;
+                        year_start DATE := make_date(yr, 1, 1);
+                        next_year  DATE := make_date(yr + 1, 1, 1);
+                    BEGIN
+                        IF to_regclass(part_name) IS NOT NULL THEN
+                            RETURN;
+                        END IF;
+                        EXECUTE format('CREATE TABLE %I (LIKE schedules INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                                       part_name);
+                        EXECUTE format('WITH moved AS (DELETE FROM schedules_default '
+                                       || 'WHERE week_start >= %L AND week_start < %L RETURNING *) '
+                                       || 'INSERT INTO %I SELECT * FROM moved', year_start, next_year, part_name);
+                        EXECUTE format('ALTER TABLE schedules ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                                       part_name, year_start, next_year);
+                    END
+                    $$
+                    """,
+                    """
+                    DO $$
+                    DECLARE
+                        yr INT;
+                    BEGIN
+                        FOR yr IN
+                            SELECT DISTINCT CAST(EXTRACT(YEAR FROM week_start) AS INT)
+                            FROM schedules_default
+                            WHERE week_start <> DATE '-infinity'
+                            UNION
+                            SELECT generate_series(CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INT) - 1,
+                                                   CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INT) + 1)
+                        LOOP
+                            PERFORM promanage_ensure_schedule_partition(yr);
+                        END LOOP;
+                    END
+                    $$
+                    """,
+                    // Created on the parent, so every partition (also future ones) gets them
+                    "CREATE INDEX idx_schedules_week_label ON schedules (week_label)",
+                    "CREATE INDEX idx_schedules_project_id ON schedules (project_id)",
+                    "ANALYZE schedules"
+            )),
+
+            // 4: Holt-Winters forecast state, updated by every schedule save (see
+            //    RevenueForecastState). previous_state is the state before the last
+            //    week, so saving that week again can replace it instead of adding it twice.
+            new Migration(4, "Add revenue_forecast_state", List.of(
+                    """
+                    CREATE TABLE revenue_forecast_state (
+                        id              INT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+                        last_week_label VARCHAR(20) NOT NULL,
+                        last_week_start DATE NOT NULL,
+                        state           DOUBLE PRECISION[] NOT NULL,
+                        prev_week_label VARCHAR(20),
+                        prev_week_start DATE,
+                        previous_state  DOUBLE PRECISION[],
+                        stale           BOOLEAN NOT NULL DEFAULT FALSE,
+                        updated_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """
+            )),
+
+            // 5: VARCHAR(10) only held codes up to PRJ9999999. The column gets room for
+            //    CodeGenerator.CODE_DIGITS digits and every existing code is padded to
+            //    that width, so text order stays number order (PRJ0000042 → PRJ0000000042).
+            //    The sequence stops where the last whole block still fits, so running
+            //    out is a clear error instead of a longer code that sorts wrong.
+            new Migration(5, "Widen projects.project_code, re-pad codes and cap project_code_seq", List.of(
+                    "ALTER TABLE projects ALTER COLUMN project_code TYPE VARCHAR(%d)"
+                            .formatted(CodeGenerator.CODE_MAX_LENGTH),
+                    """
+                    UPDATE projects
+                    SET project_code = 'PRJ' || LPAD(SUBSTRING(project_code FROM 4), %1$d, '0')
+                    WHERE project_code ~ '^PRJ[0-9]+$' AND LENGTH(project_code) < %1$d + 3
+                    """.formatted(CodeGenerator.CODE_DIGITS),
+                    "ALTER SEQUENCE project_code_seq MAXVALUE %d"
+                            .formatted(CodeGenerator.MAX_CODE_NUMBER - CodeGenerator.CODE_BLOCK_SIZE + 1)
+            )),
+
+            // 6: One counter, bumped by every schedule save in its transaction. Each
+            //    program's schedule cache compares it with the value it last saw, so
+            //    saves by other programs (API server, cron, another menu) are noticed.
+            new Migration(6, "Add schedule_write_count", List.of(
+                    """
+                    CREATE TABLE schedule_write_count (
+                        id     INT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+                        writes BIGINT NOT NULL
+                    )
+                    """,
+                    "INSERT INTO schedule_write_count (id, writes) VALUES (1, 0)"
+            ))
+    );
+
+    /**
+     * Applies every migration the database doesn't have yet and makes sure the
+     * schedules partitions for this year and next year exist.
+     * Returns the schema version the database is now at.
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        return migrate(conn, System.out);
+    }
+
+    /**
+     * Same as above, with the progress lines ("Applying database migration ...")
+     * and warnings written to {@code log} instead of System.out.
+     */
+    public static int migrate(Connection conn, PrintStream log) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_lock(" + MIGRATION_LOCK_KEY + ")");
+        }
+
+        try {
+            // Step 1: Find out where the database is
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("""
+                        CREATE TABLE IF NOT EXISTS schema_version (
+                            version      INT PRIMARY KEY,
+                            description  VARCHAR(255) NOT NULL,
+                            applied_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                            execution_ms BIGINT NOT NULL
+                        )
+                        """);
+            }
+            int current = currentVersion(conn);
+            int latest  = MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+
+            if (current > latest) {
+                log.println("WARNING: Database schema version " + current
+                        + " is newer than this program knows (" + latest + ").");
+            }
+
+            // Step 2: Run the missing migrations, oldest first
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() > current) {
+                    apply(conn, migration, log);
+                    current = migration.version();
+                }
+            }
+
+            // Step 3: Partitions for the coming weeks
+            if (current >= 3) {
+                ensureSchedulePartitions(conn, LocalDate.now().getYear(), LocalDate.now().getYear() + 1);
+            }
+            return current;
+
+        } finally {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SELECT pg_advisory_unlock(" + MIGRATION_LOCK_KEY + ")");
+            }
+        }
+    }
+
+    /**
+     * Creates the yearly schedules partitions from {@code fromYear} to {@code toYear}
+     * if they don't exist yet. Schedules of years without a partition are still saved
+     * (into schedules_default), just not pruned as well.
+     */
+    public static void ensureSchedulePartitions(Connection conn, int fromYear, int toYear) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT promanage_ensure_schedule_partition(?)")) {
+            for (int year = fromYear; year <= toYear; year++) {
+                ps.setInt(1, year);
+                ps.executeQuery().close();
+            }
+        }
+    }
+
+    private static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs   = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void apply(Connection conn, Migration migration, PrintStream log) throws SQLException {
+        log.println("Applying database migration " + migration.version() + ": " + migration.description());
+        long start = System.nanoTime();
+
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements()) {
+                stmt.execute(sql);
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, execution_ms) VALUES (?, ?, ?)")) {
+                ps.setInt(1, migration.version());
+                ps.setString(2, migration.description());
+                ps.setLong(3, (System.nanoTime() - start) / 1_000_000);
+                ps.executeUpdate();
+            }
+            conn.commit();
+
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration " + migration.version() + " failed: " + e.getMessage(),
+                    e.getSQLState(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+}
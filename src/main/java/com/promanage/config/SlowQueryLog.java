@@ -0,0 +1,353 @@
+package com.promanage.config;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs every SQL statement that takes longer than a threshold, with its parameters.
+ *
+ * Switched on with system properties:
+ *
+ *   -Dpromanage.db.slowQueryMs=200            log statements slower than 200 ms (default off)
+ *   -Dpromanage.db.slowQueryLog=slow.log      log file (default slow-queries.log)
+ *   -Dpromanage.db.slowQueryLogMaxKb=10240    size at which the log moves to slow.log.1 (default 10 MB)
+ *   -Dpromanage.db.explain=true               also capture EXPLAIN (ANALYZE, BUFFERS) of slow reads
+ *
+ * DatabaseConfig wraps every connection it hands out with wrap(), so all SQL of
+ * ProjectDAO, ScheduleDAO, CodeGenerator and SchemaMigrator is observed. When the
+ * log is off, wrap() returns the connection unchanged and costs nothing.
+ *
+ * With explain on, the first slow run of each distinct read statement is explained
+ * once, in the background, on a separate read-only connection with the same
+ * parameters. The plan goes into the same log, followed by a hint for every
+ * sequential scan that threw away many rows, e.g.
+ *
+ *   HINT: Seq Scan on schedules removed 48,113 rows by filter (week_label = 'Week-2026-09'::text)
+ *         - an index on those columns may help
+ *
+ * Example log entry:
+ *
+ *   --- 2026-04-01T09:15:02.114 slow statement: 812.4 ms, sql hash 5e1a77c2
+ *   SELECT ... FROM schedules s JOIN projects p ... WHERE s.week_label = ?
+ *   params: 1='Week-2026-14', 2='Week-2026-14'
+ *
+ * Times are until execute...() returns; rows fetched later through a cursor are not included.
+ */
+public class SlowQueryLog {
+
+    private static final long    THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("promanage.db.slowQueryMs", -1));
+    private static final boolean ENABLED         = THRESHOLD_NANOS >= 0;
+    private static final boolean EXPLAIN         = Boolean.getBoolean("promanage.db.explain");
+    private static final Path    LOG_FILE        = Path.of(System.getProperty("promanage.db.slowQueryLog", "slow-queries.log"));
+    private static final long    LOG_MAX_BYTES   = Long.getLong("promanage.db.slowQueryLogMaxKb", 10 * 1024) * 1024;
+
+    // Each distinct statement is explained at most once, and at most this many in total
+    private static final int MAX_EXPLAINED = 1000;
+
+    // Sequential scans that drop at least this many rows get a hint
+    private static final long SEQ_SCAN_HINT_ROWS = 1000;
+
+    // Parameter values longer than this are cut off in the log
+    private static final int MAX_PARAM_CHARS = 200;
+
+    // Anything that could write, lock or consume a sequence is never run under EXPLAIN ANALYZE
+    private static final String[] WRITE_MARKERS = {
+        "INSERT", "UPDATE", "DELETE", "MERGE", " INTO ", "NEXTVAL", "SETVAL", "PG_ADVISORY", " SHARE", "REFRESH", ";"
+    };
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\S+)");
+    private static final Pattern FILTER   = Pattern.compile("^\\s*Filter: (.*)");
+    private static final Pattern REMOVED  = Pattern.compile("Rows Removed by Filter: (\\d+)");
+
+    private static final Object      LOG_LOCK  = new Object();
+    private static final Set<String> EXPLAINED = ConcurrentHashMap.newKeySet();
+
+    // One background thread; plans that don't fit in the queue are skipped
+    private static class ExplainHolder {
+        private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+                Thread t = new Thread(r, "promanage-explain");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns a connection whose statements are timed, or the same connection
+     * when the slow-query log is off.
+     */
+    public static Connection wrap(Connection conn) {
+        if (!ENABLED) return conn;
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(conn));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  PROXIES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // Wraps every statement the connection creates
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals"   -> { return proxy == args[0]; }
+                case "hashCode" -> { return System.identityHashCode(proxy); }
+                default         -> { }
+            }
+
+            Object result = call(target, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+
+            String   sql  = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                          : statement instanceof PreparedStatement ? PreparedStatement.class
+                          : Statement.class;
+            return Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    // Remembers parameters and times every execute...() call
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement            target;
+        private final String               preparedSql; // null for plain Statements
+        private final Map<Integer, Object> params = new TreeMap<>();
+        private int                        batchRows;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target      = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                String  sql   = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                boolean batch = name.contains("Batch");
+                long    start = System.nanoTime();
+                try {
+                    Object result = call(target, method, args);
+                    record(sql, System.nanoTime() - start, batch, null);
+                    return result;
+                } catch (SQLException e) {
+                    record(sql, System.nanoTime() - start, batch, e);
+                    throw e;
+                } finally {
+                    if (batch) batchRows = 0;
+                }
+            }
+
+            // setString(1, "x"), setInt(2, 5), setNull(3, Types.INTEGER), ...
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                params.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            } else if (name.equals("addBatch")) {
+                batchRows++;
+            } else if (name.equals("clearBatch")) {
+                batchRows = 0;
+            }
+            return call(target, method, args);
+        }
+
+        private void record(String sql, long nanos, boolean batch, SQLException failure) {
+            if (nanos < THRESHOLD_NANOS) return;
+
+            Map<Integer, Object> snapshot = new TreeMap<>(params);
+            logSlowStatement(sql, nanos, snapshot, batch ? batchRows : 0, failure);
+
+            if (EXPLAIN && failure == null && !batch && sql != null && isRead(sql)
+                    && EXPLAINED.size() < MAX_EXPLAINED && EXPLAINED.add(sql)) {
+                ExplainHolder.EXECUTOR.execute(() -> explain(sql, snapshot));
+            }
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  LOGGING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static void logSlowStatement(String sql, long nanos, Map<Integer, Object> params,
+                                         int batchRows, SQLException failure) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("--- ").append(LocalDateTime.now())
+          .append(String.format(Locale.ROOT, " slow statement: %.1f ms", nanos / 1e6));
+        if (sql != null) sb.append(", sql hash ").append(Integer.toHexString(sql.hashCode()));
+        sb.append('\n').append(sql != null ? sql.strip() : "(batch of plain statements)").append('\n');
+
+        if (!params.isEmpty()) {
+            sb.append(batchRows > 0 ? "params (last of " + batchRows + " batched rows): " : "params: ");
+            appendParams(sb, params);
+            sb.append('\n');
+        } else if (batchRows > 0) {
+            sb.append("batch of ").append(batchRows).append(" rows\n");
+        }
+        if (failure != null) {
+            sb.append("failed: ").append(failure.getMessage()).append('\n');
+        }
+        append(sb.toString());
+    }
+
+    private static void appendParams(StringBuilder sb, Map<Integer, Object> params) {
+        boolean first = true;
+        for (Map.Entry<Integer, Object> e : params.entrySet()) {
+            if (!first) sb.append(", ");
+            first = false;
+            sb.append(e.getKey()).append('=');
+
+            Object value = e.getValue();
+            if (value == null) {
+                sb.append("NULL");
+            } else {
+                String text = String.valueOf(value);
+                if (text.length() > MAX_PARAM_CHARS) text = text.substring(0, MAX_PARAM_CHARS) + "...";
+                if (value instanceof Number || value instanceof Boolean) sb.append(text);
+                else sb.append('\'').append(text).append('\'');
+            }
+        }
+    }
+
+    // Appends to the log file, moving it to <name>.1 once it is too big
+    private static void append(String entry) {
+        synchronized (LOG_LOCK) {
+            try {
+                if (Files.exists(LOG_FILE) && Files.size(LOG_FILE) + entry.length() > LOG_MAX_BYTES) {
+                    Path old = LOG_FILE.resolveSibling(LOG_FILE.getFileName() + ".1");
+                    Files.move(LOG_FILE, old, StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.writeString(LOG_FILE, entry, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                System.err.println("WARNING: Could not write slow-query log " + LOG_FILE + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  EXPLAIN
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // SELECT / WITH statements without anything that writes, locks or uses a sequence
+    static boolean isRead(String sql) {
+        String upper = sql.strip().toUpperCase(Locale.ROOT);
+        if (!upper.startsWith("SELECT") && !upper.startsWith("WITH")) return false;
+        for (String marker : WRITE_MARKERS) {
+            if (upper.contains(marker)) return false;
+        }
+        return true;
+    }
+
+    // Runs on the explain thread. ANALYZE really executes the query, so it runs in
+    // a read-only transaction that is always rolled back.
+    private static void explain(String sql, Map<Integer, Object> params) {
+        StringBuilder plan = new StringBuilder();
+        plan.append("--- ").append(LocalDateTime.now())
+            .append(" EXPLAIN (ANALYZE, BUFFERS) for sql hash ").append(Integer.toHexString(sql.hashCode()))
+            .append('\n');
+
+        try (Connection conn = DatabaseConfig.getUnloggedConnection()) {
+            conn.setReadOnly(true);
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                for (Map.Entry<Integer, Object> e : params.entrySet()) {
+                    ps.setObject(e.getKey(), e.getValue());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setReadOnly(false); // the pool doesn't reset this on return
+            }
+            appendHints(plan);
+
+        } catch (SQLException | RuntimeException e) {
+            plan.append("EXPLAIN failed: ").append(e.getMessage()).append('\n');
+        }
+        append(plan.toString());
+    }
+
+    // One hint per "Seq Scan on x" node whose filter dropped many rows
+    private static void appendHints(StringBuilder plan) {
+        String[] lines = plan.toString().split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            Matcher scan = SEQ_SCAN.matcher(lines[i]);
+            if (!scan.find()) continue;
+
+            String filter  = null;
+            long   removed = 0;
+            // The node's own detail lines follow it until the next node ("->")
+            for (int j = i + 1; j < lines.length && !lines[j].contains("->"); j++) {
+                Matcher f = FILTER.matcher(lines[j]);
+                Matcher r = REMOVED.matcher(lines[j]);
+                if (f.find()) filter = f.group(1);
+                if (r.find()) removed = Long.parseLong(r.group(1));
+            }
+            if (removed >= SEQ_SCAN_HINT_ROWS) {
+                plan.append(String.format(Locale.ROOT, "HINT: Seq Scan on %s removed %,d rows by filter %s%n"
+                        + "      - an index on those columns may help%n",
+                        scan.group(1), removed, filter != null ? filter : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.promanage.dao;
+
+import com.promanage.config.DatabaseConfig;
+import com.promanage.model.MonthlyRevenueSummary;
+import com.promanage.model.Project;
+import com.promanage.model.ProjectSnapshot;
+import com.promanage.model.ScheduledProject;
+import com.promanage.util.VirtualThreads;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The same calls as ProjectDAO / ScheduleDAO, but each one returns at once with a
+ * CompletableFuture and the query runs on its own (virtual, when available) thread.
+ *
+ * Independent reads can then run side by side instead of one after another:
+ *
+ *   AsyncDAO dao = new AsyncDAO();
+ *   CompletableFuture<List<MonthlyRevenueSummary>> months = dao.getMonthlyRevenueRollup();
+ *   CompletableFuture<ProjectSnapshot>             catalog = dao.getProjectSnapshot();
+ *   Map<String, List<ScheduledProject>> weeks = AsyncDAO.await(dao.getSchedulesByWeeks(labels));
+ *
+ * At most one query per pooled connection runs at a time (-Dpromanage.db.poolSize):
+ * further calls wait for a free slot on their own thread, so a large fan-out never
+ * piles up inside the connection pool and runs into its borrow timeout.
+ *
+ * A failed query completes its future exceptionally with the SQLException as the
+ * cause; await() unwraps it again.
+ */
+public class AsyncDAO {
+
+    // Shared by every AsyncDAO instance, so the limit holds for the whole program
+    private static final ExecutorService EXECUTOR = VirtualThreads.newPerTaskExecutor("promanage-dao");
+    private static final Semaphore       PERMITS  = new Semaphore(DatabaseConfig.getPoolMaxSize(), true);
+
+    /**
+     * A DAO call to run asynchronously.
+     */
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private final ProjectDAO  projectDAO  = new ProjectDAO();
+    private final ScheduleDAO scheduleDAO = new ScheduleDAO();
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  PROJECTS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Inserts the project; the future completes with the same object, its id set.
+     */
+    public CompletableFuture<Project> addProject(Project project) {
+        return supply(() -> {
+            projectDAO.addProject(project);
+            return project;
+        });
+    }
+
+    public CompletableFuture<List<Project>> getAllProjects() {
+        return supply(projectDAO::getAllProjects);
+    }
+
+    public CompletableFuture<ProjectSnapshot> getProjectSnapshot() {
+        return supply(projectDAO::getProjectSnapshot);
+    }
+
+    public CompletableFuture<Integer> countProjects() {
+        return supply(projectDAO::countProjects);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  SCHEDULES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    public CompletableFuture<Void> saveSchedules(Map<String, List<ScheduledProject>> schedulesByWeek) {
+        return supply(() -> {
+            scheduleDAO.saveSchedules(schedulesByWeek);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<String>> getAllWeekLabels() {
+        return supply(scheduleDAO::getAllWeekLabels);
+    }
+
+    public CompletableFuture<List<ScheduledProject>> getScheduleByWeek(String weekLabel) {
+        return supply(() -> scheduleDAO.getScheduleByWeek(weekLabel));
+    }
+
+    /**
+     * Loads several weeks at once (one query per week, run in parallel; cached
+     * weeks come straight from the schedule cache). The map keeps the order of
+     * weekLabels, without duplicates; weeks with nothing saved map to an empty list.
+     * If any week fails, the returned future fails.
+     */
+    public CompletableFuture<Map<String, List<ScheduledProject>>> getSchedulesByWeeks(Collection<String> weekLabels) {
+        List<String> weeks = new ArrayList<>(new LinkedHashSet<>(weekLabels));
+
+        List<CompletableFuture<List<ScheduledProject>>> loads = new ArrayList<>(weeks.size());
+        for (String week : weeks) {
+            loads.add(getScheduleByWeek(week));
+        }
+
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Map<String, List<ScheduledProject>> byWeek = new LinkedHashMap<>();
+            for (int i = 0; i < weeks.size(); i++) {
+                byWeek.put(weeks.get(i), loads.get(i).join());
+            }
+            return byWeek;
+        });
+    }
+
+    public CompletableFuture<List<MonthlyRevenueSummary>> getMonthlyRevenueRollup() {
+        return supply(scheduleDAO::getMonthlyRevenueRollup);
+    }
+
+    public CompletableFuture<List<MonthlyRevenueSummary>> getMonthlyRevenueTotals() {
+        return supply(scheduleDAO::getMonthlyRevenueTotals);
+    }
+
+    public CompletableFuture<Boolean> hasSchedules() {
+        return supply(scheduleDAO::hasSchedules);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  RUNNING AND WAITING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Runs any DAO call on the shared executor, within the connection limit.
+     */
+    public static <T> CompletableFuture<T> supply(SqlCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            try {
+                PERMITS.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(new SQLException("Interrupted while waiting for a database slot", e));
+                return;
+            }
+            try {
+                future.complete(call.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                PERMITS.release();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Waits for the future and returns its result, rethrowing a failed query's
+     * SQLException as itself (not wrapped in a CompletionException).
+     */
+    public static <T> T await(CompletableFuture<T> future) throws SQLException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sql) throw sql;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error error) throw error;
+            throw new SQLException(cause);
+        } catch (CancellationException e) {
+            throw new SQLException("Database call was cancelled", e);
+        }
+    }
+
+    /**
+     * Number of async DAO calls running a query right now.
+     */
+    public static int getRunningCalls() {
+        return DatabaseConfig.getPoolMaxSize() - PERMITS.availablePermits();
+    }
+}
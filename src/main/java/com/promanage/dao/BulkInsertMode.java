@@ -0,0 +1,16 @@
+package com.promanage.dao;
+
+/**
+ * How ProjectDAO.addProjects() sends rows to PostgreSQL.
+ */
+public enum BulkInsertMode {
+
+    /** One parameterized INSERT, sent as a JDBC batch (addBatch / executeBatch). */
+    BATCH,
+
+    /** One INSERT ... VALUES (...), (...), ... statement per batch. */
+    MULTI_ROW_VALUES,
+
+    /** PostgreSQL COPY FROM STDIN with ids reserved up front from the serial sequence. Fastest. */
+    COPY
+}
@@ -0,0 +1,50 @@
+package com.promanage.dao;
+
+/**
+ * Point-in-time counters of the schedule cache.
+ */
+public class CacheStats {
+
+    private final int  cachedWeeks;
+    private final long weight;
+    private final long maxWeight;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+
+    public CacheStats(int cachedWeeks, long weight, long maxWeight, long hitCount,
+                      long missCount, long evictionCount, long invalidationCount) {
+        this.cachedWeeks       = cachedWeeks;
+        this.weight            = weight;
+        this.maxWeight         = maxWeight;
+        this.hitCount          = hitCount;
+        this.missCount         = missCount;
+        this.evictionCount     = evictionCount;
+        this.invalidationCount = invalidationCount;
+    }
+
+    public int  getCachedWeeks()       { return cachedWeeks; }
+    public long getWeight()            { return weight; }
+    public long getMaxWeight()         { return maxWeight; }
+    public long getHitCount()          { return hitCount; }
+    public long getMissCount()         { return missCount; }
+    public long getEvictionCount()     { return evictionCount; }
+    public long getInvalidationCount() { return invalidationCount; }
+
+    /**
+     * Share of lookups answered from memory, 0.0 to 1.0.
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "CacheStats{weeks=%d, weight=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, invalidations=%d}",
+                cachedWeeks, weight, maxWeight, hitCount, missCount, getHitRate() * 100,
+                evictionCount, invalidationCount);
+    }
+}
@@ -0,0 +1,145 @@
+package com.promanage.dao;
+
+import com.promanage.model.Project;
+import com.promanage.model.ProjectSnapshot;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * All projects kept in memory, refreshed incrementally from the projects table.
+ *
+ * How it works:
+ *   - The first refresh loads the whole table. Every later refresh only asks for
+ *     rows with project_id above the highest id seen so far (the "watermark"),
+ *     so its cost depends on the number of new rows, not on the table size.
+ *   - Each refresh publishes a new immutable ProjectSnapshot. Readers just take
+ *     the current snapshot and never wait for a refresh to finish.
+ *
+ * Why there are "gaps":
+ *   project_id comes from a sequence, and ids are handed out when a row is inserted,
+ *   not when it commits. A slow transaction can commit id 10 after id 11 was already
+ *   seen, and a bulk COPY reserves its ids before sending the rows. So ids that are
+ *   missing below the watermark are remembered as gaps and asked for again on the
+ *   next refreshes, until GAP_GRACE_MILLIS has passed (after that the id almost
+ *   certainly belonged to a rolled-back insert).
+ *
+ * Projects are never updated or deleted by this program. If the table is changed
+ * by hand, call reload().
+ */
+public class ProjectCatalogue {
+
+    // How long a missing id is re-checked before it is assumed rolled back
+    static final long GAP_GRACE_MILLIS = 5 * 60_000;
+
+    // At most this many id ranges are re-checked per refresh; older ones are dropped
+    static final int MAX_GAP_RANGES = 256;
+
+    private final ProjectDAO     projectDAO;
+    private final ReentrantLock  refreshLock = new ReentrantLock();
+    private final Deque<IdRange> gaps        = new ArrayDeque<>(); // guarded by refreshLock, oldest first
+
+    private volatile ProjectSnapshot snapshot = ProjectSnapshot.empty();
+
+    public ProjectCatalogue(ProjectDAO projectDAO) {
+        this.projectDAO = projectDAO;
+    }
+
+    /**
+     * Returns the latest published snapshot without touching the database.
+     * Empty until the first refresh().
+     */
+    public ProjectSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Fetches projects added since the last refresh and returns the new snapshot.
+     * Concurrent callers wait for one another, readers of current() don't.
+     */
+    public ProjectSnapshot refresh() throws SQLException {
+        refreshLock.lock();
+        try {
+            ProjectSnapshot before = snapshot;
+            long            now    = System.currentTimeMillis();
+
+            // Step 1: Forget gaps that are too old to still be filled
+            gaps.removeIf(gap -> now - gap.foundMillis > GAP_GRACE_MILLIS);
+            while (gaps.size() > MAX_GAP_RANGES) gaps.pollFirst();
+
+            // Step 2: New rows above the watermark, plus late commits inside known gaps
+            List<Project> added = projectDAO.getProjectsAfter(before.getMaxProjectId(), gapBounds());
+            added.sort(Comparator.comparingInt(Project::getProjectId));
+
+            // Step 3: Update the gaps: close the ones that were filled, open new ones
+            int expected = before.getMaxProjectId() + 1;
+            for (Project p : added) {
+                int id = p.getProjectId();
+                if (id < expected) {
+                    fillGap(id, now);
+                } else {
+                    if (id > expected) gaps.addLast(new IdRange(expected, id - 1, now));
+                    expected = id + 1;
+                }
+            }
+
+            // Step 4: Publish
+            snapshot = before.append(added);
+            return snapshot;
+
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Throws everything away and loads the whole table again.
+     */
+    public ProjectSnapshot reload() throws SQLException {
+        refreshLock.lock();
+        try {
+            gaps.clear();
+            snapshot = ProjectSnapshot.empty();
+            return refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // [lo1, hi1, lo2, hi2, ...] of every gap still being watched
+    private int[] gapBounds() {
+        int[] bounds = new int[gaps.size() * 2];
+        int   i      = 0;
+        for (IdRange gap : gaps) {
+            bounds[i++] = gap.low;
+            bounds[i++] = gap.high;
+        }
+        return bounds;
+    }
+
+    // A late row arrived inside a gap: shrink or split that gap
+    private void fillGap(int id, long now) {
+        List<IdRange> pieces = new ArrayList<>(2);
+        Iterator<IdRange> it = gaps.iterator();
+        while (it.hasNext()) {
+            IdRange gap = it.next();
+            if (id < gap.low || id > gap.high) continue;
+
+            it.remove();
+            if (gap.low < id)  pieces.add(new IdRange(gap.low, id - 1, gap.foundMillis));
+            if (id < gap.high) pieces.add(new IdRange(id + 1, gap.high, gap.foundMillis));
+            break;
+        }
+        // The pieces are as old as the gap they came from, so they go back at the front
+        for (int i = pieces.size() - 1; i >= 0; i--) gaps.addFirst(pieces.get(i));
+    }
+
+    // Inclusive range of ids that have been handed out but not seen yet
+    private record IdRange(int low, int high, long foundMillis) {}
+}
@@ -1,19 +1,61 @@
 package com.promanage.dao;
 
 import com.promanage.config.DatabaseConfig;
+import com.promanage.metrics.CallMetrics;
+import com.promanage.metrics.MetricsRegistry;
+import com.promanage.metrics.SqlEvent;
+import com.promanage.model.BulkInsertReport;
 import com.promanage.model.Project;
+import com.promanage.model.ProjectSnapshot;
+import com.promanage.util.CodeGenerator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ProjectDAO {
 
+    // Rows fetched per round trip when streaming with a server-side cursor
+    private static final int FETCH_SIZE = 1000;
+
+    // Default rows per batch for addProjects()
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    // PostgreSQL allows at most 65535 bind parameters per statement (5 per project row)
+    private static final int MAX_MULTI_ROW_BATCH = 65535 / 5;
+
+    // In-memory copy of the projects table, shared by every ProjectDAO instance
+    private static final ProjectCatalogue CATALOGUE = new ProjectCatalogue(new ProjectDAO());
+
+    // Call counts and latencies of the public methods (see MetricsRegistry)
+    private static final CallMetrics ADD_PROJECT        = MetricsRegistry.call("ProjectDAO.addProject");
+    private static final CallMetrics ADD_PROJECTS       = MetricsRegistry.call("ProjectDAO.addProjects");
+    private static final CallMetrics GET_ALL_PROJECTS   = MetricsRegistry.call("ProjectDAO.getAllProjects");
+    private static final CallMetrics GET_SNAPSHOT       = MetricsRegistry.call("ProjectDAO.getProjectSnapshot");
+    private static final CallMetrics RELOAD_SNAPSHOT    = MetricsRegistry.call("ProjectDAO.reloadProjectSnapshot");
+    private static final CallMetrics COUNT_PROJECTS     = MetricsRegistry.call("ProjectDAO.countProjects");
+    private static final CallMetrics FOR_EACH_CANDIDATE = MetricsRegistry.call("ProjectDAO.forEachSchedulingCandidate");
+    private static final CallMetrics FOR_EACH_PROJECT   = MetricsRegistry.call("ProjectDAO.forEachProject");
+
     /**
      * Inserts a new project into the database.
      */
     public void addProject(Project project) throws SQLException {
-        String sql = "INSERT INTO projects (project_code, title, deadline, revenue) VALUES (?, ?, ?, ?)";
+        ADD_PROJECT.run(() -> insertProject(project));
+    }
+
+    private void insertProject(Project project) throws SQLException {
+        String sql = "INSERT INTO projects (project_code, title, deadline, duration, revenue) VALUES (?, ?, ?, ?, ?)";
 
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -21,7 +63,8 @@ public class ProjectDAO {
             ps.setString(1, project.getProjectCode());
             ps.setString(2, project.getTitle());
             ps.setInt(3, project.getDeadline());
-            ps.setDouble(4, project.getRevenue());
+            ps.setInt(4, project.getDuration());
+            ps.setDouble(5, project.getRevenue());
             ps.executeUpdate();
 
             // Get the auto-generated project_id back and set it on the object
@@ -32,13 +75,92 @@ public class ProjectDAO {
         }
     }
 
+    /**
+     * Inserts many projects at once using COPY, in batches of DEFAULT_BATCH_SIZE.
+     */
+    public BulkInsertReport addProjects(Collection<Project> projects) throws SQLException {
+        return addProjects(projects, BulkInsertMode.COPY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts many projects in one transaction, batchSize rows at a time.
+     *
+     * Projects without a project code get one here (one query for all of them).
+     * After the commit, every Project object has its generated project_id set.
+     * If any batch fails, nothing is inserted and no ids are assigned.
+     *
+     * The returned report has the rows and time of every batch.
+     */
+    public BulkInsertReport addProjects(Collection<Project> projects, BulkInsertMode mode,
+                                        int batchSize) throws SQLException {
+        return ADD_PROJECTS.time(() -> insertProjects(projects, mode, batchSize), BulkInsertReport::getTotalRows);
+    }
+
+    private BulkInsertReport insertProjects(Collection<Project> projects, BulkInsertMode mode,
+                                            int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (mode == BulkInsertMode.MULTI_ROW_VALUES) {
+            batchSize = Math.min(batchSize, MAX_MULTI_ROW_BATCH);
+        }
+
+        BulkInsertReport report = new BulkInsertReport(mode.name());
+        if (projects.isEmpty()) return report;
+
+        long start = System.nanoTime();
+        assignMissingCodes(projects);
+
+        List<Project> all = new ArrayList<>(projects);
+        int[]         ids = new int[all.size()];
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false); // all batches succeed or none do
+
+            try {
+                for (int from = 0; from < all.size(); from += batchSize) {
+                    List<Project> batch      = all.subList(from, Math.min(from + batchSize, all.size()));
+                    long          batchStart = System.nanoTime();
+
+                    switch (mode) {
+                        case BATCH            -> insertJdbcBatch(conn, batch, ids, from);
+                        case MULTI_ROW_VALUES -> insertMultiRow(conn, batch, ids, from);
+                        case COPY             -> insertCopy(conn, batch, ids, from);
+                    }
+
+                    report.addBatch(batch.size(), System.nanoTime() - batchStart);
+                }
+
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        // Only hand out ids once they really exist
+        for (int i = 0; i < all.size(); i++) {
+            all.get(i).setProjectId(ids[i]);
+        }
+
+        report.setTotalNanos(System.nanoTime() - start);
+        return report;
+    }
+
     /**
      * Returns all projects ordered by most recently added first.
      */
     public List<Project> getAllProjects() throws SQLException {
+        return GET_ALL_PROJECTS.time(this::loadAllProjects, List::size);
+    }
+
+    private List<Project> loadAllProjects() throws SQLException {
         String sql = "SELECT * FROM projects ORDER BY created_at DESC";
         List<Project> list = new ArrayList<>();
 
+        SqlEvent event = new SqlEvent();
+        event.begin();
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt  = conn.createStatement();
              ResultSet rs    = stmt.executeQuery(sql)) {
@@ -47,9 +169,293 @@ public class ProjectDAO {
                 list.add(mapRow(rs));
             }
         }
+        event.end("ProjectDAO.getAllProjects", sql, null, list.size());
+        return list;
+    }
+
+    /**
+     * Returns every project from the in-memory catalogue, after loading only the
+     * projects added since the previous call. Much cheaper than getAllProjects()
+     * once the catalogue is warm. The snapshot is read-only.
+     */
+    public ProjectSnapshot getProjectSnapshot() throws SQLException {
+        return GET_SNAPSHOT.time(CATALOGUE::refresh, ProjectSnapshot::size);
+    }
+
+    /**
+     * Returns the catalogue's last snapshot without asking the database for new rows.
+     */
+    public ProjectSnapshot getCachedProjectSnapshot() {
+        return CATALOGUE.current();
+    }
+
+    /**
+     * Drops the catalogue and loads the whole projects table again.
+     * Only needed if projects were changed or deleted outside this program.
+     */
+    public ProjectSnapshot reloadProjectSnapshot() throws SQLException {
+        return RELOAD_SNAPSHOT.time(CATALOGUE::reload, ProjectSnapshot::size);
+    }
+
+    /**
+     * Returns projects with project_id above {@code afterId}, plus those whose id lies
+     * in one of the ranges [gapBounds[0], gapBounds[1]], [gapBounds[2], gapBounds[3]], ...
+     * Used by ProjectCatalogue for its incremental refresh.
+     */
+    List<Project> getProjectsAfter(int afterId, int[] gapBounds) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM projects WHERE project_id > ?");
+        for (int i = 0; i < gapBounds.length; i += 2) {
+            sql.append(" OR project_id BETWEEN ? AND ?");
+        }
+
+        List<Project> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false); // stream the first (full) load through a cursor
+
+            try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setInt(1, afterId);
+                for (int i = 0; i < gapBounds.length; i++) {
+                    ps.setInt(i + 2, gapBounds[i]);
+                }
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        list.add(mapRow(rs));
+                    }
+                }
+                conn.commit();
+            }
+        }
         return list;
     }
 
+    /**
+     * Returns the number of projects in the table.
+     */
+    public int countProjects() throws SQLException {
+        return COUNT_PROJECTS.time(this::queryProjectCount, null);
+    }
+
+    private int queryProjectCount() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt  = conn.createStatement();
+             ResultSet rs    = stmt.executeQuery("SELECT COUNT(*) FROM projects")) {
+
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Streams the projects that can still win a slot in a schedule of the given
+     * horizon to the consumer, highest revenue first, without building a list.
+     *
+     * The database already drops hopeless projects: for each deadline d (capped at
+     * the horizon) only the top d × teams by revenue are sent, because at most that
+     * many projects can be placed on days 1..d. Rows arrive through a server-side
+     * cursor, FETCH_SIZE at a time.
+     *
+     * Ties on revenue are ordered newest first, like getAllProjects().
+     *
+     * The consumer returns false to stop reading (e.g. once every slot is filled);
+     * the rest of the rows are never fetched.
+     */
+    public void forEachSchedulingCandidate(int horizon, int teams, Predicate<Project> consumer) throws SQLException {
+        FOR_EACH_CANDIDATE.time(() -> streamSchedulingCandidates(horizon, teams, consumer), Long::longValue);
+    }
+
+    private long streamSchedulingCandidates(int horizon, int teams, Predicate<Project> consumer) throws SQLException {
+        String sql = """
+                SELECT project_id, project_code, title, deadline, duration, revenue, created_at
+                FROM (
+                    SELECT p.*,
+                           ROW_NUMBER() OVER (PARTITION BY LEAST(p.deadline, ?)
+                                              ORDER BY p.revenue DESC, p.created_at DESC, p.project_id DESC)
+                               AS rank_in_deadline
+                    FROM projects p
+                ) ranked
+                WHERE rank_in_deadline <= LEAST(deadline, ?) * ?
+                ORDER BY revenue DESC, created_at DESC, project_id DESC
+                """;
+
+        long rows = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false); // PostgreSQL only uses a cursor inside a transaction
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setInt(1, horizon);
+                ps.setInt(2, horizon);
+                ps.setInt(3, teams);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    boolean more = true;
+                    while (more && rs.next()) {
+                        more = consumer.test(mapRow(rs));
+                        rows++;
+                    }
+                }
+                conn.commit();
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Streams every project ordered by id, FETCH_SIZE rows per round trip,
+     * without building a list of all of them.
+     */
+    public void forEachProject(Consumer<Project> consumer) throws SQLException {
+        FOR_EACH_PROJECT.time(() -> streamProjects(consumer), Long::longValue);
+    }
+
+    private long streamProjects(Consumer<Project> consumer) throws SQLException {
+        String sql = "SELECT * FROM projects ORDER BY project_id";
+
+        long rows = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false); // PostgreSQL only uses a cursor inside a transaction
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setFetchSize(FETCH_SIZE);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(mapRow(rs));
+                        rows++;
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return rows;
+    }
+
+    // Gives every project without a code the next free code, using one query for all of them
+    private void assignMissingCodes(Collection<Project> projects) throws SQLException {
+        int missing = 0;
+        for (Project p : projects) {
+            if (p.getProjectCode() == null) missing++;
+        }
+        if (missing == 0) return;
+
+        List<String> codes = CodeGenerator.generateProjectCodes(missing);
+        int next = 0;
+        for (Project p : projects) {
+            if (p.getProjectCode() == null) {
+                p.setProjectCode(codes.get(next++));
+            }
+        }
+    }
+
+    // BATCH: the single-row INSERT, queued with addBatch() and sent together
+    private void insertJdbcBatch(Connection conn, List<Project> batch, int[] ids, int offset) throws SQLException {
+        String sql = "INSERT INTO projects (project_code, title, deadline, duration, revenue) VALUES (?, ?, ?, ?, ?)";
+
+        try (PreparedStatement ps = conn.prepareStatement(sql, new String[]{"project_id"})) {
+            for (Project p : batch) {
+                ps.setString(1, p.getProjectCode());
+                ps.setString(2, p.getTitle());
+                ps.setInt(3, p.getDeadline());
+                ps.setInt(4, p.getDuration());
+                ps.setDouble(5, p.getRevenue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                int i = offset;
+                while (keys.next()) {
+                    ids[i++] = keys.getInt(1);
+                }
+            }
+        }
+    }
+
+    // MULTI_ROW_VALUES: INSERT ... VALUES (?,?,?,?,?), (?,?,?,?,?), ... RETURNING project_id
+    private void insertMultiRow(Connection conn, List<Project> batch, int[] ids, int offset) throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO projects (project_code, title, deadline, duration, revenue) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+        }
+        sql.append(" RETURNING project_id, project_code");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int param = 1;
+            for (Project p : batch) {
+                ps.setString(param++, p.getProjectCode());
+                ps.setString(param++, p.getTitle());
+                ps.setInt(param++, p.getDeadline());
+                ps.setInt(param++, p.getDuration());
+                ps.setDouble(param++, p.getRevenue());
+            }
+
+            // RETURNING row order isn't guaranteed, so match ids back by the unique code
+            Map<String, Integer> idByCode = new HashMap<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    idByCode.put(rs.getString("project_code"), rs.getInt("project_id"));
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                ids[offset + i] = idByCode.get(batch.get(i).getProjectCode());
+            }
+        }
+    }
+
+    // COPY: reserve ids from the serial sequence, then stream the rows as CSV
+    private void insertCopy(Connection conn, List<Project> batch, int[] ids, int offset) throws SQLException {
+        String idSql = "SELECT nextval(pg_get_serial_sequence('projects', 'project_id')) FROM generate_series(1, ?)";
+
+        try (PreparedStatement ps = conn.prepareStatement(idSql)) {
+            ps.setInt(1, batch.size());
+            try (ResultSet rs = ps.executeQuery()) {
+                int i = offset;
+                while (rs.next()) {
+                    ids[i++] = rs.getInt(1);
+                }
+            }
+        }
+
+        StringBuilder csv = new StringBuilder(batch.size() * 64);
+        for (int i = 0; i < batch.size(); i++) {
+            Project p = batch.get(i);
+            csv.append(ids[offset + i]).append(',');
+            appendCsvField(csv, p.getProjectCode()).append(',');
+            appendCsvField(csv, p.getTitle()).append(',');
+            csv.append(p.getDeadline()).append(',');
+            csv.append(p.getDuration()).append(',');
+            csv.append(BigDecimal.valueOf(p.getRevenue()).toPlainString()).append('\n');
+        }
+
+        String copySql = "COPY projects (project_id, project_code, title, deadline, duration, revenue) FROM STDIN WITH (FORMAT csv)";
+        try {
+            CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+            copy.copyIn(copySql, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into projects failed: " + e.getMessage(), e);
+        }
+    }
+
+    // Quotes a CSV field, doubling any quotes inside it
+    private static StringBuilder appendCsvField(StringBuilder csv, String value) {
+        if (value == null) return csv; // empty unquoted field = NULL in COPY csv
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') csv.append('"');
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
     // Converts one ResultSet row into a Project object
     private Project mapRow(ResultSet rs) throws SQLException {
         Project p = new Project();
@@ -57,6 +463,7 @@ public class ProjectDAO {
         p.setProjectCode(rs.getString("project_code"));
         p.setTitle(rs.getString("title"));
         p.setDeadline(rs.getInt("deadline"));
+        p.setDuration(rs.getInt("duration"));
         p.setRevenue(rs.getDouble("revenue"));
         p.setCreatedAt(rs.getTimestamp("created_at"));
         return p;
@@ -0,0 +1,191 @@
+package com.promanage.dao;
+
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory cache of saved weekly schedules, keyed by week label, plus a cached
+ * list of all week labels.
+ *
+ * How it works:
+ *   - Entries are kept in least-recently-used order. Each entry "weighs" as many
+ *     units as it has rows (+1), and when the total weight goes over maxWeight the
+ *     oldest entries are evicted, so a few huge weeks can't fill the heap.
+ *   - Writers call invalidate() after their transaction commits. Every invalidation
+ *     bumps a generation counter; a reader that started loading before the write
+ *     hands its generation to put(), and its (possibly old) result is dropped
+ *     instead of being cached.
+ *   - Other programs (the API server, a cron job, another menu) save too. Readers
+ *     pass the database's schedule write count to syncWithDatabase(); if it moved
+ *     on since the last call, everything cached is dropped.
+ *
+ * Every caller gets its own copy of a cached week (in an unmodifiable list), so
+ * changing a ScheduledProject or Project never changes the cache.
+ * All methods are synchronized: the work inside is tiny compared to a DB round trip.
+ */
+public class ScheduleCache {
+
+    private final long maxWeight;
+
+    private final LinkedHashMap<String, List<ScheduledProject>> weeks = new LinkedHashMap<>(16, 0.75f, true);
+    private List<String> weekLabels; // null = not cached
+    private long         weight;
+    private long         generation;
+    private long         databaseWrites = -1; // schedule_write_count the entries belong to, -1 = not checked yet
+
+    // --- statistics ---
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param maxWeight maximum number of cached schedule rows; 0 disables caching
+     */
+    public ScheduleCache(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Cache weight must not be negative");
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the cached schedule of a week, or null (a miss) if it isn't cached.
+     */
+    public synchronized List<ScheduledProject> getWeek(String weekLabel) {
+        List<ScheduledProject> cached = weeks.get(weekLabel);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(cached);
+    }
+
+    /**
+     * Returns the cached week label list, or null (a miss) if it isn't cached.
+     */
+    public synchronized List<String> getWeekLabels() {
+        if (weekLabels != null) hits++; else misses++;
+        return weekLabels;
+    }
+
+    /**
+     * The generation to pass to put...() for a load that starts now.
+     */
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a week loaded from the database, unless a write happened since
+     * {@code loadedAtGeneration}. Returns the list to hand out (unmodifiable,
+     * not shared with the cache).
+     */
+    public synchronized List<ScheduledProject> putWeek(String weekLabel, List<ScheduledProject> schedule,
+                                                       long loadedAtGeneration) {
+        List<ScheduledProject> loaded = Collections.unmodifiableList(schedule);
+        long entryWeight = weightOf(loaded);
+        if (loadedAtGeneration != generation || entryWeight > maxWeight) {
+            return loaded;
+        }
+
+        List<ScheduledProject> previous = weeks.put(weekLabel, copyOf(schedule));
+        if (previous != null) weight -= weightOf(previous);
+        weight += entryWeight;
+        evictIfNeeded();
+        return loaded;
+    }
+
+    /**
+     * Caches the week label list, unless a write happened since {@code loadedAtGeneration}.
+     */
+    public synchronized List<String> putWeekLabels(List<String> labels, long loadedAtGeneration) {
+        List<String> frozen = List.copyOf(labels);
+        if (loadedAtGeneration == generation && maxWeight > 0) {
+            weekLabels = frozen;
+        }
+        return frozen;
+    }
+
+    /**
+     * Forgets the given weeks and the label list. Call after the write has committed.
+     */
+    public synchronized void invalidate(Iterable<String> changedWeekLabels) {
+        generation++;
+        invalidations++;
+        weekLabels = null;
+        for (String label : changedWeekLabels) {
+            List<ScheduledProject> removed = weeks.remove(label);
+            if (removed != null) weight -= weightOf(removed);
+        }
+    }
+
+    /**
+     * Call with the database's current schedule write count. If another program
+     * saved schedules since the last call, everything cached is dropped.
+     */
+    public synchronized void syncWithDatabase(long writes) {
+        if (writes != databaseWrites) {
+            clear();
+            databaseWrites = writes;
+        }
+    }
+
+    /**
+     * Call after this program's own save committed, with the write count it set.
+     * If nothing else was saved in between, the count is taken over without
+     * dropping the rest of the cache (invalidate() handles the saved weeks).
+     */
+    public synchronized void ownWriteCommitted(long writes) {
+        if (databaseWrites == writes - 1) {
+            databaseWrites = writes;
+        }
+    }
+
+    /**
+     * Empties the cache (e.g. after the schedules table was changed outside this program).
+     */
+    public synchronized void clear() {
+        generation++;
+        invalidations++;
+        weekLabels = null;
+        weeks.clear();
+        weight = 0;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(weeks.size(), weight, maxWeight, hits, misses, evictions, invalidations);
+    }
+
+    // Drops least-recently-used weeks until the total weight fits again
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, List<ScheduledProject>>> it = weeks.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            weight -= weightOf(it.next().getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    // Fresh ScheduledProject and Project objects, so callers never share the cached ones
+    private static List<ScheduledProject> copyOf(List<ScheduledProject> schedule) {
+        List<ScheduledProject> copy = new ArrayList<>(schedule.size());
+        for (ScheduledProject sp : schedule) {
+            Project project = sp.getProject() == null ? null : new Project(sp.getProject());
+            copy.add(new ScheduledProject(project, sp.getAssignedDay(), sp.getDayName(), sp.getTeam()));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static long weightOf(List<ScheduledProject> schedule) {
+        return schedule.size() + 1L;
+    }
+}
@@ -1,50 +1,172 @@
 package com.promanage.dao;
 
 import com.promanage.config.DatabaseConfig;
+import com.promanage.metrics.CallMetrics;
+import com.promanage.metrics.MetricsRegistry;
+import com.promanage.metrics.SqlEvent;
+import com.promanage.model.MonthlyRevenueSummary;
 import com.promanage.model.Project;
+import com.promanage.model.RevenueForecastState;
 import com.promanage.model.ScheduledProject;
+import com.promanage.util.WeekLabelUtil;
 
+import java.math.BigDecimal;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class ScheduleDAO {
 
+    // Shared by every ScheduleDAO instance. Size = max cached schedule rows,
+    // override with -Dpromanage.cache.scheduleRows (0 switches caching off).
+    private static final ScheduleCache CACHE =
+            new ScheduleCache(Long.getLong("promanage.cache.scheduleRows", 100_000L));
+
+    // How long reads trust the cache before asking the database whether another program
+    // saved schedules, override with -Dpromanage.cache.checkMillis (0 = before every read)
+    private static final long CHECK_NANOS =
+            Long.getLong("promanage.cache.checkMillis", 1_000L) * 1_000_000L;
+
+    private static volatile boolean checkedOnce;
+    private static volatile long    lastCheckNanos;
+
+    // Rows fetched per round trip when streaming with a server-side cursor
+    private static final int FETCH_SIZE = 10_000;
+
+    // Call counts and latencies of the public methods (see MetricsRegistry)
+    private static final CallMetrics SAVE_SCHEDULES       = MetricsRegistry.call("ScheduleDAO.saveSchedules");
+    private static final CallMetrics GET_ALL_SCHEDULES    = MetricsRegistry.call("ScheduleDAO.getAllSchedules");
+    private static final CallMetrics FOR_EACH_SCHEDULE    = MetricsRegistry.call("ScheduleDAO.forEachSchedule");
+    private static final CallMetrics GET_WEEK             = MetricsRegistry.call("ScheduleDAO.getScheduleByWeek");
+    private static final CallMetrics FOR_EACH_REVENUE_ROW = MetricsRegistry.call("ScheduleDAO.forEachRevenueRow");
+    private static final CallMetrics GET_WEEK_LABELS      = MetricsRegistry.call("ScheduleDAO.getAllWeekLabels");
+    private static final CallMetrics GET_MONTHLY_TOTALS   = MetricsRegistry.call("ScheduleDAO.getMonthlyRevenueTotals");
+    private static final CallMetrics GET_MONTHLY_ROLLUP   = MetricsRegistry.call("ScheduleDAO.getMonthlyRevenueRollup");
+    private static final CallMetrics REBUILD_ROLLUP       = MetricsRegistry.call("ScheduleDAO.rebuildMonthlyRevenueRollup");
+    private static final CallMetrics HAS_SCHEDULES        = MetricsRegistry.call("ScheduleDAO.hasSchedules");
+    private static final CallMetrics GET_FORECAST         = MetricsRegistry.call("ScheduleDAO.getRevenueForecastState");
+    private static final CallMetrics REBUILD_FORECAST     = MetricsRegistry.call("ScheduleDAO.rebuildRevenueForecastState");
+
+    // Same week → month mapping as WeekLabelUtil.toYearMonth(), done by the database.
+    // SchemaMigrator fills the rollup with it when the table is created.
+    public static final String MONTHLY_TOTALS_SQL = """
+            WITH weeks AS (
+                SELECT CAST(split_part(s.week_label, '-', 2) AS INT) AS yr,
+                       CAST(split_part(s.week_label, '-', 3) AS INT) AS wk,
+                       COALESCE(SUM(p.revenue), 0)                   AS week_revenue,
+                       COUNT(p.project_id)                           AS project_count
+                FROM schedules s
+                LEFT JOIN projects p ON s.project_id = p.project_id
+                WHERE s.week_label ~ '%s'
+                GROUP BY s.week_label
+            )
+            SELECT yr                                                    AS year,
+                   LEAST(GREATEST(CAST(CEIL(wk / 4.333) AS INT), 1), 12) AS month,
+                   SUM(week_revenue)                                     AS total_revenue,
+                   SUM(project_count)                                    AS projects,
+                   COUNT(*)                                              AS weeks
+            FROM weeks
+            GROUP BY 1, 2
+            """.formatted(WeekLabelUtil.WEEK_LABEL_REGEX);
+
     /**
      * Saves a weekly schedule to the database.
      * If a schedule already exists for that week, it is replaced.
+     *
+     * The monthly_revenue_rollup row for the week's month is updated in the same
+     * transaction: the replaced week's revenue/projects are subtracted and the
+     * new week's are added, so the rollup always matches the schedules table.
+     * The revenue forecast state takes in the week's total the same way.
      */
     public void saveSchedule(String weekLabel, List<ScheduledProject> schedule) throws SQLException {
-        String deleteSql = "DELETE FROM schedules WHERE week_label = ?";
-        String insertSql = "INSERT INTO schedules (week_label, project_id, assigned_day, day_name) VALUES (?, ?, ?, ?)";
+        saveSchedules(Map.of(weekLabel, schedule));
+    }
+
+    /**
+     * Saves several weekly schedules in ONE transaction: either every week is
+     * replaced or none is. Rows of all weeks go out in a single JDBC batch.
+     * The monthly rollup and the forecast are updated exactly as in saveSchedule().
+     */
+    public void saveSchedules(Map<String, List<ScheduledProject>> schedulesByWeek) throws SQLException {
+        SAVE_SCHEDULES.run(() -> writeSchedules(schedulesByWeek));
+    }
+
+    private void writeSchedules(Map<String, List<ScheduledProject>> schedulesByWeek) throws SQLException {
+        String lockSql   = "SELECT pg_advisory_xact_lock(hashtext(?))";
+        String insertSql = "INSERT INTO schedules (week_label, week_start, project_id, assigned_day, day_name, team) "
+                + "VALUES (?, promanage_week_start(?), ?, ?, ?, ?)";
+
+        // Always lock weeks in the same order so two multi-week saves can't deadlock
+        List<String> weekLabels = new ArrayList<>(new TreeSet<>(schedulesByWeek.keySet()));
+        if (weekLabels.isEmpty()) return;
 
         try (Connection conn = DatabaseConfig.getConnection()) {
             conn.setAutoCommit(false); // Start transaction
 
             try {
-                // Delete old entries for this week
-                try (PreparedStatement del = conn.prepareStatement(deleteSql)) {
-                    del.setString(1, weekLabel);
-                    del.executeUpdate();
+                // Serialize concurrent saves of the same week, otherwise both would
+                // subtract the same old totals from the rollup
+                try (PreparedStatement lock = conn.prepareStatement(lockSql)) {
+                    for (String weekLabel : weekLabels) {
+                        lock.setString(1, weekLabel);
+                        lock.executeQuery().close();
+                    }
                 }
 
-                // Insert new entries
+                // Delete old entries for these weeks, remembering what they were worth
+                Map<String, WeekTotals> removed = new HashMap<>();
+                for (String weekLabel : weekLabels) {
+                    removed.put(weekLabel, deleteWeek(conn, weekLabel));
+                }
+
+                // Insert new entries of every week in one batch
+                SqlEvent insertEvent = new SqlEvent();
+                insertEvent.begin();
+                int inserted = 0;
                 try (PreparedStatement ins = conn.prepareStatement(insertSql)) {
-                    for (ScheduledProject sp : schedule) {
-                        ins.setString(1, weekLabel);
-                        ins.setInt(2, sp.getProject().getProjectId());
-                        ins.setInt(3, sp.getAssignedDay());
-                        ins.setString(4, sp.getDayName());
-                        ins.addBatch();
+                    for (String weekLabel : weekLabels) {
+                        for (ScheduledProject sp : schedulesByWeek.get(weekLabel)) {
+                            ins.setString(1, weekLabel);
+                            ins.setString(2, weekLabel);
+                            ins.setInt(3, sp.getProject().getProjectId());
+                            ins.setInt(4, sp.getAssignedDay());
+                            ins.setString(5, sp.getDayName());
+                            ins.setInt(6, sp.getTeam());
+                            ins.addBatch();
+                            inserted++;
+                        }
                     }
                     ins.executeBatch();
                 }
+                insertEvent.end("ScheduleDAO.insertSchedules", insertSql, String.join(",", weekLabels), inserted);
+
+                // Move each month's rollup from the old week totals to the new ones
+                for (String weekLabel : weekLabels) {
+                    WeekTotals added = readWeekTotals(conn, weekLabel);
+                    applyRollupDelta(conn, weekLabel, removed.get(weekLabel), added);
+                }
+
+                // Feed the new week totals into the revenue forecast
+                updateForecastState(conn, weekLabels);
+
+                // Tell every program's cache (this one included) that schedules changed
+                long writes = bumpWriteCount(conn);
 
                 conn.commit();
+                CACHE.ownWriteCommitted(writes);
 
             } catch (SQLException e) {
                 conn.rollback();
                 throw e;
+            } finally {
+                // After the commit (or a failed one whose outcome is unknown) cached
+                // copies of these weeks are out of date
+                CACHE.invalidate(weekLabels);
             }
         }
     }
@@ -53,28 +175,105 @@ public class ScheduleDAO {
      * Retrieves all saved schedules with project details, ordered by week and day.
      */
     public List<ScheduledProject> getAllSchedules() throws SQLException {
+        return GET_ALL_SCHEDULES.time(this::loadAllSchedules, List::size);
+    }
+
+    private List<ScheduledProject> loadAllSchedules() throws SQLException {
         String sql = """
-                SELECT s.week_label, s.assigned_day, s.day_name,
-                       p.project_id, p.project_code, p.title, p.deadline, p.revenue, p.created_at
+                SELECT s.week_label, s.assigned_day, s.day_name, s.team,
+                       p.project_id, p.project_code, p.title, p.deadline, p.duration, p.revenue, p.created_at
                 FROM schedules s
                 JOIN projects p ON s.project_id = p.project_id
-                ORDER BY s.week_label, s.assigned_day
+                ORDER BY s.week_label, s.assigned_day, s.team
                 """;
 
         return fetchScheduledProjects(sql);
     }
 
+    /**
+     * Receives one schedule row at a time from forEachSchedule().
+     */
+    @FunctionalInterface
+    public interface ScheduleRowConsumer {
+        void accept(String weekLabel, ScheduledProject row);
+    }
+
+    /**
+     * Streams saved schedules with project details in the same order as
+     * getAllSchedules(), FETCH_SIZE rows per round trip, so the caller never
+     * holds more than one row. Pass a week label to stream one week, or null for all.
+     *
+     * The whole stream is read in one transaction, so it is a consistent snapshot
+     * even if schedules are saved meanwhile.
+     */
+    public void forEachSchedule(String weekLabel, ScheduleRowConsumer consumer) throws SQLException {
+        FOR_EACH_SCHEDULE.time(() -> streamSchedules(weekLabel, consumer), Long::longValue);
+    }
+
+    private long streamSchedules(String weekLabel, ScheduleRowConsumer consumer) throws SQLException {
+        String sql = """
+                SELECT s.week_label, s.assigned_day, s.day_name, s.team,
+                       p.project_id, p.project_code, p.title, p.deadline, p.duration, p.revenue, p.created_at
+                FROM schedules s
+                JOIN projects p ON s.project_id = p.project_id
+                """
+                + (weekLabel != null ? "WHERE s.week_start = promanage_week_start(?) AND s.week_label = ?\n" : "")
+                + "ORDER BY s.week_label, s.assigned_day, s.team";
+
+        long rows = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false); // PostgreSQL only uses a cursor inside a transaction
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setFetchSize(FETCH_SIZE);
+                if (weekLabel != null) {
+                    ps.setString(1, weekLabel);
+                    ps.setString(2, weekLabel);
+                }
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(rs.getString("week_label"), mapRow(rs));
+                        rows++;
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return rows;
+    }
+
     /**
      * Retrieves the schedule for a specific week label.
+     * Served from the schedule cache when possible; the returned list is read-only.
      */
     public List<ScheduledProject> getScheduleByWeek(String weekLabel) throws SQLException {
+        return GET_WEEK.time(() -> cachedScheduleByWeek(weekLabel), List::size);
+    }
+
+    private List<ScheduledProject> cachedScheduleByWeek(String weekLabel) throws SQLException {
+        checkForOutsideWrites();
+        List<ScheduledProject> cached = CACHE.getWeek(weekLabel);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = CACHE.currentGeneration();
+        return CACHE.putWeek(weekLabel, loadScheduleByWeek(weekLabel), generation);
+    }
+
+    private List<ScheduledProject> loadScheduleByWeek(String weekLabel) throws SQLException {
         String sql = """
-                SELECT s.week_label, s.assigned_day, s.day_name,
-                       p.project_id, p.project_code, p.title, p.deadline, p.revenue, p.created_at
+                SELECT s.week_label, s.assigned_day, s.day_name, s.team,
+                       p.project_id, p.project_code, p.title, p.deadline, p.duration, p.revenue, p.created_at
                 FROM schedules s
                 JOIN projects p ON s.project_id = p.project_id
-                WHERE s.week_label = ?
-                ORDER BY s.assigned_day
+                WHERE s.week_start = promanage_week_start(?) AND s.week_label = ?
+                ORDER BY s.assigned_day, s.team
                 """;
 
         List<ScheduledProject> list = new ArrayList<>();
@@ -83,6 +282,7 @@ public class ScheduleDAO {
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, weekLabel);
+            ps.setString(2, weekLabel);
             ResultSet rs = ps.executeQuery();
 
             while (rs.next()) {
@@ -92,10 +292,71 @@ public class ScheduleDAO {
         return list;
     }
 
+    /**
+     * Receives one schedule row at a time from forEachRevenueRow().
+     */
+    @FunctionalInterface
+    public interface RevenueRowConsumer {
+        void accept(String weekLabel, int assignedDay, int projectId, long revenueCents);
+    }
+
+    /**
+     * Streams every schedule row with only the columns analytics need
+     * (week, day, project, revenue in paise), FETCH_SIZE rows per round trip,
+     * without building any Project objects.
+     */
+    public void forEachRevenueRow(RevenueRowConsumer consumer) throws SQLException {
+        FOR_EACH_REVENUE_ROW.time(() -> streamRevenueRows(consumer), Long::longValue);
+    }
+
+    private long streamRevenueRows(RevenueRowConsumer consumer) throws SQLException {
+        String sql = """
+                SELECT s.week_label, s.assigned_day, s.project_id,
+                       CAST(ROUND(p.revenue * 100) AS BIGINT) AS revenue_cents
+                FROM schedules s
+                JOIN projects p ON s.project_id = p.project_id
+                """;
+
+        long rows = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false); // PostgreSQL only uses a cursor inside a transaction
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setFetchSize(FETCH_SIZE);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getLong(4));
+                        rows++;
+                    }
+                }
+                conn.commit();
+            }
+        }
+        return rows;
+    }
+
     /**
      * Returns all distinct week labels saved in the database.
+     * Served from the schedule cache when possible; the returned list is read-only.
      */
     public List<String> getAllWeekLabels() throws SQLException {
+        return GET_WEEK_LABELS.time(this::cachedWeekLabels, List::size);
+    }
+
+    private List<String> cachedWeekLabels() throws SQLException {
+        checkForOutsideWrites();
+        List<String> cached = CACHE.getWeekLabels();
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = CACHE.currentGeneration();
+        return CACHE.putWeekLabels(loadAllWeekLabels(), generation);
+    }
+
+    private List<String> loadAllWeekLabels() throws SQLException {
         String sql    = "SELECT DISTINCT week_label FROM schedules ORDER BY week_label";
         List<String> labels = new ArrayList<>();
 
@@ -110,6 +371,507 @@ public class ScheduleDAO {
         return labels;
     }
 
+    /**
+     * Returns revenue, project count and week count per month, computed by the
+     * database in a single query (no per-week round trips).
+     *
+     * The week → month mapping is the same approximation as WeekLabelUtil.toYearMonth():
+     *   "Week-2024-10" → year 2024, month = ceil(10 / 4.333) = 3, clamped to 1..12.
+     * Labels that don't match "Week-YYYY-WW" are skipped.
+     */
+    public List<MonthlyRevenueSummary> getMonthlyRevenueTotals() throws SQLException {
+        return GET_MONTHLY_TOTALS.time(this::loadMonthlyRevenueTotals, List::size);
+    }
+
+    private List<MonthlyRevenueSummary> loadMonthlyRevenueTotals() throws SQLException {
+        String sql = MONTHLY_TOTALS_SQL + "ORDER BY 1, 2";
+
+        List<MonthlyRevenueSummary> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt  = conn.createStatement();
+             ResultSet rs    = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                list.add(mapSummaryRow(rs));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Reads the pre-aggregated monthly totals kept up to date by saveSchedule().
+     * Cost depends on the number of months, not on how many weeks are saved.
+     */
+    public List<MonthlyRevenueSummary> getMonthlyRevenueRollup() throws SQLException {
+        return GET_MONTHLY_ROLLUP.time(this::loadMonthlyRevenueRollup, List::size);
+    }
+
+    private List<MonthlyRevenueSummary> loadMonthlyRevenueRollup() throws SQLException {
+        String sql = """
+                SELECT year, month, total_revenue, projects, weeks
+                FROM monthly_revenue_rollup
+                WHERE weeks > 0
+                ORDER BY year, month
+                """;
+
+        List<MonthlyRevenueSummary> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt  = conn.createStatement();
+             ResultSet rs    = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                list.add(mapSummaryRow(rs));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Recomputes monthly_revenue_rollup from the schedules and projects tables.
+     * Use this if the rollup and the base tables ever drift apart.
+     * Returns the number of months written.
+     */
+    public int rebuildMonthlyRevenueRollup() throws SQLException {
+        return REBUILD_ROLLUP.time(this::recomputeMonthlyRevenueRollup, Integer::longValue);
+    }
+
+    private int recomputeMonthlyRevenueRollup() throws SQLException {
+        String insertSql = "INSERT INTO monthly_revenue_rollup (year, month, total_revenue, projects, weeks) "
+                + MONTHLY_TOTALS_SQL;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (Statement stmt = conn.createStatement()) {
+                // Block schedule writes until the new rollup is committed
+                stmt.execute("LOCK TABLE schedules IN SHARE MODE");
+                stmt.executeUpdate("DELETE FROM monthly_revenue_rollup");
+                int months = stmt.executeUpdate(insertSql);
+
+                conn.commit();
+                return months;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns the revenue forecast state kept up to date by saveSchedule(), or null
+     * if there is none yet or it is stale (an older week was changed). In that case
+     * rebuildRevenueForecastState() recomputes it once from the saved weeks.
+     */
+    public RevenueForecastState getRevenueForecastState() throws SQLException {
+        return GET_FORECAST.time(this::loadRevenueForecastState, null);
+    }
+
+    private RevenueForecastState loadRevenueForecastState() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            ForecastRow row = readForecastRow(conn);
+            return row == null || row.stale() ? null : row.current();
+        }
+    }
+
+    /**
+     * Replays every saved week, oldest first, into a fresh forecast state.
+     * Returns the number of weeks replayed.
+     */
+    public int rebuildRevenueForecastState() throws SQLException {
+        return REBUILD_FORECAST.time(this::recomputeRevenueForecastState, Integer::longValue);
+    }
+
+    private int recomputeRevenueForecastState() throws SQLException {
+        String sql = """
+                SELECT s.week_start, MIN(s.week_label) AS week_label, COALESCE(SUM(p.revenue), 0) AS revenue
+                FROM schedules s
+                LEFT JOIN projects p ON s.project_id = p.project_id
+                WHERE s.week_start <> DATE '-infinity'
+                GROUP BY s.week_start
+                ORDER BY s.week_start
+                """;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                // Saves wait until the rebuilt state is committed, then add their weeks on top
+                lockForecastState(conn);
+
+                RevenueForecastState current  = null;
+                RevenueForecastState previous = null;
+                int                  weeks    = 0;
+
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs   = stmt.executeQuery(sql)) {
+
+                    while (rs.next()) {
+                        String    label   = rs.getString("week_label");
+                        LocalDate start   = rs.getDate("week_start").toLocalDate();
+                        double    revenue = rs.getBigDecimal("revenue").doubleValue();
+
+                        previous = current;
+                        current  = current == null ? RevenueForecastState.first(label, start, revenue)
+                                                   : current.update(label, start, revenue);
+                        weeks++;
+                    }
+                }
+
+                writeForecastRow(conn, current, previous, false);
+                conn.commit();
+                return weeks;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns hit/miss/eviction counters of the schedule cache.
+     */
+    public static CacheStats getCacheStats() {
+        return CACHE.getStats();
+    }
+
+    /**
+     * A number that changes whenever schedules are saved, by this program or (noticed
+     * within promanage.cache.checkMillis) another one, so in-memory copies of schedule
+     * data (e.g. ScheduleColumnStore) can tell they are out of date.
+     */
+    public static long getScheduleWriteCount() throws SQLException {
+        checkForOutsideWrites();
+        return CACHE.currentGeneration();
+    }
+
+    // Drops the cache if schedule_write_count moved on since the last look.
+    // Asks the database at most once per CHECK_NANOS; two threads checking at once is harmless.
+    private static void checkForOutsideWrites() throws SQLException {
+        long now = System.nanoTime();
+        if (checkedOnce && now - lastCheckNanos < CHECK_NANOS) {
+            return;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs   = stmt.executeQuery("SELECT writes FROM schedule_write_count WHERE id = 1")) {
+            CACHE.syncWithDatabase(rs.next() ? rs.getLong(1) : 0);
+        }
+        lastCheckNanos = now;
+        checkedOnce    = true;
+    }
+
+    // Adds one to schedule_write_count and returns the new value
+    private static long bumpWriteCount(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs   = stmt.executeQuery(
+                     "UPDATE schedule_write_count SET writes = writes + 1 WHERE id = 1 RETURNING writes")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Empties the schedule cache right away. Saves by other copies of this program
+     * are noticed on their own; this is for changes made by hand in the database.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Returns true if at least one schedule row has been saved.
+     */
+    public boolean hasSchedules() throws SQLException {
+        return HAS_SCHEDULES.time(this::querySchedulesExist, null);
+    }
+
+    private boolean querySchedulesExist() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt  = conn.createStatement();
+             ResultSet rs    = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM schedules)")) {
+
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    // Revenue and project count of one week, as seen by the rollup
+    private record WeekTotals(boolean exists, BigDecimal revenue, int projects) {}
+
+    // Deletes a week's rows and returns what they contributed to the rollup
+    private WeekTotals deleteWeek(Connection conn, String weekLabel) throws SQLException {
+        String sql = """
+                WITH removed AS (
+                    DELETE FROM schedules
+                    WHERE week_start = promanage_week_start(?) AND week_label = ?
+                    RETURNING project_id
+                )
+                SELECT COUNT(*) AS row_count, COALESCE(SUM(p.revenue), 0) AS revenue, COUNT(p.project_id) AS projects
+                FROM removed r
+                LEFT JOIN projects p ON r.project_id = p.project_id
+                """;
+
+        SqlEvent event = new SqlEvent();
+        event.begin();
+        WeekTotals removed = queryWeekTotals(conn, sql, weekLabel);
+        event.end("ScheduleDAO.deleteWeek", sql, weekLabel, removed.projects());
+        return removed;
+    }
+
+    private WeekTotals readWeekTotals(Connection conn, String weekLabel) throws SQLException {
+        String sql = """
+                SELECT COUNT(*) AS row_count, COALESCE(SUM(p.revenue), 0) AS revenue, COUNT(p.project_id) AS projects
+                FROM schedules s
+                LEFT JOIN projects p ON s.project_id = p.project_id
+                WHERE s.week_start = promanage_week_start(?) AND s.week_label = ?
+                """;
+        return queryWeekTotals(conn, sql, weekLabel);
+    }
+
+    // Both queries filter on week_start (so only one partition is read) and week_label
+    private WeekTotals queryWeekTotals(Connection conn, String sql, String weekLabel) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, weekLabel);
+            ps.setString(2, weekLabel);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new WeekTotals(rs.getInt("row_count") > 0, rs.getBigDecimal("revenue"), rs.getInt("projects"));
+            }
+        }
+    }
+
+    // Adds (after - before) to the rollup row of the week's month
+    private void applyRollupDelta(Connection conn, String weekLabel,
+                                  WeekTotals before, WeekTotals after) throws SQLException {
+        int[] yearMonth = WeekLabelUtil.toYearMonth(weekLabel);
+        if (yearMonth == null) return; // same labels as MONTHLY_TOTALS_SQL skips, so a rebuild gives the same rows
+
+        BigDecimal revenueDelta = after.revenue().subtract(before.revenue());
+        int    projectDelta = after.projects() - before.projects();
+        int    weekDelta    = (after.exists() ? 1 : 0) - (before.exists() ? 1 : 0);
+
+        if (revenueDelta.signum() == 0 && projectDelta == 0 && weekDelta == 0) return;
+
+        String sql = """
+                INSERT INTO monthly_revenue_rollup (year, month, total_revenue, projects, weeks)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (year, month) DO UPDATE SET
+                    total_revenue = monthly_revenue_rollup.total_revenue + EXCLUDED.total_revenue,
+                    projects      = monthly_revenue_rollup.projects      + EXCLUDED.projects,
+                    weeks         = monthly_revenue_rollup.weeks         + EXCLUDED.weeks
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, yearMonth[0]);
+            ps.setInt(2, yearMonth[1]);
+            ps.setBigDecimal(3, revenueDelta);
+            ps.setInt(4, projectDelta);
+            ps.setInt(5, weekDelta);
+
+            SqlEvent event = new SqlEvent();
+            event.begin();
+            int rows = ps.executeUpdate();
+            event.end("ScheduleDAO.applyRollupDelta", sql, weekLabel, rows);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  REVENUE FORECAST STATE
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // The forecast row: the state after the latest week, the state before it, and
+    // whether an older week was changed since (then only a rebuild can fix it)
+    private record ForecastRow(RevenueForecastState current, RevenueForecastState previous, boolean stale) {}
+
+    // Feeds saved weeks into revenue_forecast_state, oldest first, O(1) per week.
+    //   - a week after the latest one   → update() with its total
+    //   - the latest week saved again   → start over from the previous state
+    //   - an older week                 → mark the state stale
+    // A week is one Monday: all labels of that date count together (e.g. "Week-2026-9"
+    // and "Week-2026-09"), the same as rebuildRevenueForecastState().
+    private void updateForecastState(Connection conn, List<String> savedWeeks) throws SQLException {
+        // Step 1: Only weeks with a real date take part, in date order
+        TreeSet<LocalDate> mondays = new TreeSet<>();
+        for (String weekLabel : savedWeeks) {
+            LocalDate start = WeekLabelUtil.weekStart(weekLabel);
+            if (start != null) mondays.add(start);
+        }
+        if (mondays.isEmpty()) return;
+
+        // Step 2: One save at a time, so two saves never start from the same state
+        lockForecastState(conn);
+        ForecastRow row = readForecastRow(conn);
+        if (row != null && row.stale()) return;
+
+        RevenueForecastState current  = row == null ? null : row.current();
+        RevenueForecastState previous = row == null ? null : row.previous();
+
+        // No state yet but older weeks exist (e.g. a database from before the forecast):
+        // starting from just these weeks would ignore that history for good
+        boolean stale = row == null && hasOtherWeeks(conn, mondays);
+
+        // Step 3: Apply the weeks
+        for (LocalDate start : mondays) {
+            if (stale) break;
+
+            MondayTotal week = readMondayTotal(conn, start);
+            if (current == null || start.isAfter(current.getLastWeekStart())) {
+                if (week == null) continue; // an empty new week teaches nothing
+                previous = current;
+                current  = current == null ? RevenueForecastState.first(week.label(), start, week.revenue())
+                                           : current.update(week.label(), start, week.revenue());
+
+            } else if (start.equals(current.getLastWeekStart()) && (previous != null || current.getWeeks() == 1)) {
+                if (week != null) {
+                    current = previous == null ? RevenueForecastState.first(week.label(), start, week.revenue())
+                                               : previous.update(week.label(), start, week.revenue());
+                } else {
+                    current  = previous; // the latest week was emptied
+                    previous = null;
+                }
+
+            } else {
+                stale = true;
+            }
+        }
+
+        if (stale && current == null) {
+            // Nothing to keep, but the row must exist to say "rebuild me"
+            MondayTotal week = readMondayTotal(conn, mondays.first());
+            current = RevenueForecastState.first(week == null ? "" : week.label(), mondays.first(),
+                    week == null ? 0 : week.revenue());
+        }
+        writeForecastRow(conn, current, previous, stale);
+    }
+
+    // Revenue of every schedule row on one Monday, or null if the week is empty
+    private record MondayTotal(String label, double revenue) {}
+
+    private MondayTotal readMondayTotal(Connection conn, LocalDate weekStart) throws SQLException {
+        String sql = """
+                SELECT MIN(s.week_label) AS week_label, COALESCE(SUM(p.revenue), 0) AS revenue, COUNT(*) AS row_count
+                FROM schedules s
+                LEFT JOIN projects p ON s.project_id = p.project_id
+                WHERE s.week_start = ?
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDate(1, Date.valueOf(weekStart));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                if (rs.getInt("row_count") == 0) return null;
+                return new MondayTotal(rs.getString("week_label"), rs.getBigDecimal("revenue").doubleValue());
+            }
+        }
+    }
+
+    // True if schedules has a dated week other than the given Mondays
+    private boolean hasOtherWeeks(Connection conn, Set<LocalDate> mondays) throws SQLException {
+        String sql = """
+                SELECT EXISTS (
+                    SELECT 1 FROM schedules
+                    WHERE week_start <> DATE '-infinity' AND NOT (week_start = ANY (?))
+                )
+                """;
+
+        Date[] dates = new Date[mondays.size()];
+        int    i     = 0;
+        for (LocalDate monday : mondays) dates[i++] = Date.valueOf(monday);
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("date", dates));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    // Self-conflicting lock mode: saves and rebuilds take turns, readers are not blocked
+    private void lockForecastState(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("LOCK TABLE revenue_forecast_state IN SHARE ROW EXCLUSIVE MODE");
+        }
+    }
+
+    private ForecastRow readForecastRow(Connection conn) throws SQLException {
+        String sql = """
+                SELECT last_week_label, last_week_start, state,
+                       prev_week_label, prev_week_start, previous_state, stale
+                FROM revenue_forecast_state
+                WHERE id = 1
+                """;
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs   = stmt.executeQuery(sql)) {
+
+            if (!rs.next()) return null;
+
+            RevenueForecastState current = RevenueForecastState.fromArray(
+                    rs.getString("last_week_label"), rs.getDate("last_week_start").toLocalDate(),
+                    toDoubles(rs.getArray("state")));
+            RevenueForecastState previous = rs.getArray("previous_state") == null ? null
+                    : RevenueForecastState.fromArray(
+                            rs.getString("prev_week_label"), rs.getDate("prev_week_start").toLocalDate(),
+                            toDoubles(rs.getArray("previous_state")));
+
+            // A state in an unknown layout counts as stale, so it gets rebuilt
+            return new ForecastRow(current, previous, rs.getBoolean("stale") || current == null);
+        }
+    }
+
+    private void writeForecastRow(Connection conn, RevenueForecastState current,
+                                  RevenueForecastState previous, boolean stale) throws SQLException {
+        if (current == null) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM revenue_forecast_state");
+            }
+            return;
+        }
+
+        String sql = """
+                INSERT INTO revenue_forecast_state (id, last_week_label, last_week_start, state,
+                                                    prev_week_label, prev_week_start, previous_state, stale)
+                VALUES (1, ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (id) DO UPDATE SET
+                    last_week_label = EXCLUDED.last_week_label,
+                    last_week_start = EXCLUDED.last_week_start,
+                    state           = EXCLUDED.state,
+                    prev_week_label = EXCLUDED.prev_week_label,
+                    prev_week_start = EXCLUDED.prev_week_start,
+                    previous_state  = EXCLUDED.previous_state,
+                    stale           = EXCLUDED.stale,
+                    updated_at      = CURRENT_TIMESTAMP
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, current.getLastWeekLabel());
+            ps.setDate(2, Date.valueOf(current.getLastWeekStart()));
+            ps.setArray(3, toSqlArray(conn, current.toArray()));
+            ps.setString(4, previous == null ? null : previous.getLastWeekLabel());
+            ps.setDate(5, previous == null ? null : Date.valueOf(previous.getLastWeekStart()));
+            ps.setArray(6, previous == null ? null : toSqlArray(conn, previous.toArray()));
+            ps.setBoolean(7, stale);
+            ps.executeUpdate();
+        }
+    }
+
+    private static Array toSqlArray(Connection conn, double[] values) throws SQLException {
+        Double[] boxed = new Double[values.length];
+        for (int i = 0; i < values.length; i++) boxed[i] = values[i];
+        return conn.createArrayOf("float8", boxed);
+    }
+
+    private static double[] toDoubles(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) result[i] = ((Number) values[i]).doubleValue();
+        return result;
+    }
+
     // Helper: run a query and map results to ScheduledProject list
     private List<ScheduledProject> fetchScheduledProjects(String sql) throws SQLException {
         List<ScheduledProject> list = new ArrayList<>();
@@ -132,9 +894,24 @@ public class ScheduleDAO {
         p.setProjectCode(rs.getString("project_code"));
         p.setTitle(rs.getString("title"));
         p.setDeadline(rs.getInt("deadline"));
+        p.setDuration(rs.getInt("duration"));
         p.setRevenue(rs.getDouble("revenue"));
         p.setCreatedAt(rs.getTimestamp("created_at"));
 
-        return new ScheduledProject(p, rs.getInt("assigned_day"), rs.getString("day_name"));
+        return new ScheduledProject(p, rs.getInt("assigned_day"), rs.getString("day_name"), rs.getInt("team"));
+    }
+
+    // Converts one aggregated row (year, month, total_revenue, projects, weeks) into a summary
+    private MonthlyRevenueSummary mapSummaryRow(ResultSet rs) throws SQLException {
+        int year  = rs.getInt("year");
+        int month = rs.getInt("month");
+        return new MonthlyRevenueSummary(
+                year,
+                month,
+                WeekLabelUtil.monthName(month),
+                rs.getDouble("total_revenue"),
+                rs.getInt("projects"),
+                rs.getInt("weeks")
+        );
     }
 }
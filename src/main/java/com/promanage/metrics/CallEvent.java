@@ -0,0 +1,34 @@
+package com.promanage.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one call of an instrumented method
+ * (every name in MetricsRegistry, e.g. "ProjectDAO.getAllProjects").
+ *
+ * Committed by CallMetrics, so a recording shows each DAO / scheduler call on
+ * its thread next to GC pauses and allocation samples. Without a running
+ * recording begin() and commit() do nothing.
+ */
+@Name("com.promanage.Call")
+@Label("ProManage Call")
+@Category({"ProManage", "Calls"})
+@Description("One call of a ProjectDAO, ScheduleDAO, CodeGenerator or SchedulerService method")
+@StackTrace(false)
+public class CallEvent extends Event {
+
+    @Label("Call")
+    String call;
+
+    @Label("Rows")
+    @Description("Rows returned (projects scheduled for SchedulerService)")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,155 @@
+package com.promanage.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Call count, error count, rows and a latency histogram for one entry point,
+ * e.g. "ScheduleDAO.getScheduleByWeek". Get one from MetricsRegistry.call() and
+ * keep it in a static field:
+ *
+ *   private static final CallMetrics GET_ALL = MetricsRegistry.call("ProjectDAO.getAllProjects");
+ *
+ *   public List<Project> getAllProjects() throws SQLException {
+ *       return GET_ALL.time(this::loadAllProjects, List::size);
+ *   }
+ *
+ * Recording is lock-free and allocates nothing beyond a capturing lambda and a
+ * CallEvent, which the JIT usually removes when no JFR recording is running.
+ */
+public class CallMetrics implements CallMetricsMBean {
+
+    /** A timed call that returns something. */
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /** A timed call that returns nothing. */
+    @FunctionalInterface
+    public interface TimedRun<E extends Exception> {
+        void run() throws E;
+    }
+
+    /** Everything about one call at one moment; latencies in nanoseconds. */
+    public record Snapshot(String name, long calls, long errors, long rows, long totalNanos,
+                           long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+
+        public double meanNanos() {
+            return calls == 0 ? 0 : (double) totalNanos / calls;
+        }
+    }
+
+    private final String           name;
+    private final LongAdder        calls   = new LongAdder();
+    private final LongAdder        errors  = new LongAdder();
+    private final LongAdder        rows    = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    CallMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Runs the call, recording its latency, and rows = rowCounter(result)
+     * (rowCounter may be null). An exception is counted as an error and rethrown.
+     * Also emits a CallEvent for Java Flight Recorder.
+     */
+    public <T, E extends Exception> T time(TimedCall<T, E> call, ToLongFunction<? super T> rowCounter) throws E {
+        CallEvent event = new CallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T    result;
+        try {
+            result = call.call();
+        } catch (Throwable t) {
+            failure(start);
+            commit(event, 0, true);
+            throw t;
+        }
+        long rowCount = rowCounter == null || result == null ? 0 : rowCounter.applyAsLong(result);
+        success(start, rowCount);
+        commit(event, rowCount, false);
+        return result;
+    }
+
+    /**
+     * Runs a call without a result; rows are not counted.
+     */
+    public <E extends Exception> void run(TimedRun<E> call) throws E {
+        CallEvent event = new CallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            call.run();
+        } catch (Throwable t) {
+            failure(start);
+            commit(event, 0, true);
+            throw t;
+        }
+        success(start, 0);
+        commit(event, 0, false);
+    }
+
+    /**
+     * Records a successful call that started at startNanos (System.nanoTime()).
+     */
+    public void success(long startNanos, long rowCount) {
+        latency.record(System.nanoTime() - startNanos);
+        calls.increment();
+        if (rowCount != 0) rows.add(rowCount);
+    }
+
+    /**
+     * Records a failed call that started at startNanos (System.nanoTime()).
+     */
+    public void failure(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+        calls.increment();
+        errors.increment();
+    }
+
+    // Only fills the JFR event in when a recording is running and wants it
+    private void commit(CallEvent event, long rowCount, boolean failed) {
+        if (event.shouldCommit()) {
+            event.call   = name;
+            event.rows   = rowCount;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] p = latency.percentiles(0.50, 0.95, 0.99);
+        return new Snapshot(name, calls.sum(), errors.sum(), rows.sum(), latency.getSumNanos(),
+                p[0], p[1], p[2], latency.getMaxNanos());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  JMX
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Override public String getName()        { return name; }
+    @Override public long   getCalls()       { return calls.sum(); }
+    @Override public long   getErrors()      { return errors.sum(); }
+    @Override public long   getRows()        { return rows.sum(); }
+    @Override public double getTotalMillis() { return latency.getSumNanos() / 1e6; }
+    @Override public double getMaxMicros()   { return latency.getMaxNanos() / 1e3; }
+    @Override public double getP50Micros()   { return latency.percentiles(0.50)[0] / 1e3; }
+    @Override public double getP95Micros()   { return latency.percentiles(0.95)[0] / 1e3; }
+    @Override public double getP99Micros()   { return latency.percentiles(0.99)[0] / 1e3; }
+
+    @Override
+    public double getMeanMicros() {
+        long n = latency.getCount();
+        return n == 0 ? 0 : latency.getSumNanos() / 1e3 / n;
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        rows.reset();
+        latency.reset();
+    }
+}
@@ -0,0 +1,21 @@
+package com.promanage.metrics;
+
+/**
+ * What JMX shows for one instrumented call (see CallMetrics).
+ * Appears in JConsole / VisualVM under com.promanage → Calls.
+ */
+public interface CallMetricsMBean {
+
+    String getName();
+    long   getCalls();
+    long   getErrors();
+    long   getRows();
+    double getTotalMillis();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP95Micros();
+    double getP99Micros();
+    double getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,172 @@
+package com.promanage.metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * All CallMetrics of the program, by name.
+ *
+ * Every metric is also registered as a JMX MBean named
+ * "com.promanage:type=Calls,name=<call>", so JConsole / VisualVM can watch them
+ * live, and can be dumped periodically as a text table or CSV:
+ *
+ *   -Dpromanage.metrics.dump=stdout            (or a file path, appended to)
+ *   -Dpromanage.metrics.dumpSeconds=60         (default 60)
+ *   -Dpromanage.metrics.format=text|csv        (default text)
+ *
+ * Both the dump and snapshot() list the calls with the most total time first,
+ * which is the one that dominates.
+ */
+public class MetricsRegistry {
+
+    private static final ConcurrentMap<String, CallMetrics> CALLS = new ConcurrentHashMap<>();
+
+    private static final String CSV_HEADER = "time,call,calls,errors,rows,total_ms,mean_us,p50_us,p95_us,p99_us,max_us";
+
+    private static ScheduledExecutorService reporter;
+
+    /**
+     * Returns the metrics for a call name, creating (and registering) them on first use.
+     */
+    public static CallMetrics call(String name) {
+        return CALLS.computeIfAbsent(name, n -> {
+            CallMetrics metrics = new CallMetrics(n);
+            registerMBean(metrics);
+            return metrics;
+        });
+    }
+
+    /**
+     * Every call, the most total time first.
+     */
+    public static List<CallMetrics.Snapshot> snapshot() {
+        List<CallMetrics.Snapshot> snapshots = new ArrayList<>(CALLS.size());
+        for (CallMetrics metrics : CALLS.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(CallMetrics.Snapshot::totalNanos).reversed()
+                                 .thenComparing(CallMetrics.Snapshot::name));
+        return snapshots;
+    }
+
+    public static void resetAll() {
+        for (CallMetrics metrics : CALLS.values()) {
+            metrics.reset();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  DUMPS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Calls that ran at least once, as an aligned table.
+     */
+    public static String formatText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-46s %9s %7s %10s %11s %10s %10s %10s %10s %11s%n",
+                "Call", "Calls", "Errors", "Rows", "Total ms", "Mean us", "p50 us", "p95 us", "p99 us", "Max us"));
+        for (CallMetrics.Snapshot s : snapshot()) {
+            if (s.calls() == 0) continue;
+            sb.append(String.format(Locale.ROOT, "%-46s %9d %7d %10d %11.1f %10.1f %10.1f %10.1f %10.1f %11.1f%n",
+                    s.name(), s.calls(), s.errors(), s.rows(), s.totalNanos() / 1e6, s.meanNanos() / 1e3,
+                    s.p50Nanos() / 1e3, s.p95Nanos() / 1e3, s.p99Nanos() / 1e3, s.maxNanos() / 1e3));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Calls that ran at least once, one CSV line each, stamped with the current time.
+     */
+    public static String formatCsv(boolean header) {
+        String        time = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        StringBuilder sb   = new StringBuilder();
+        if (header) sb.append(CSV_HEADER).append('\n');
+        for (CallMetrics.Snapshot s : snapshot()) {
+            if (s.calls() == 0) continue;
+            sb.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    time, s.name(), s.calls(), s.errors(), s.rows(), s.totalNanos() / 1e6, s.meanNanos() / 1e3,
+                    s.p50Nanos() / 1e3, s.p95Nanos() / 1e3, s.p99Nanos() / 1e3, s.maxNanos() / 1e3));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Starts the periodic dump if -Dpromanage.metrics.dump is set. Safe to call more than once.
+     */
+    public static void startReporterFromSystemProperties() {
+        String target = System.getProperty("promanage.metrics.dump");
+        if (target == null || target.isBlank()) return;
+
+        long    seconds = Long.getLong("promanage.metrics.dumpSeconds", 60);
+        boolean csv     = "csv".equalsIgnoreCase(System.getProperty("promanage.metrics.format", "text"));
+        startReporter(target, Math.max(1, seconds), csv);
+    }
+
+    /**
+     * Dumps all metrics every {@code seconds} to "stdout", "stderr" or a file (appended),
+     * and once more when the JVM exits.
+     */
+    public static synchronized void startReporter(String target, long seconds, boolean csv) {
+        if (reporter != null) return;
+
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "promanage-metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        Runnable dump = () -> dump(target, csv);
+        reporter.scheduleAtFixedRate(dump, seconds, seconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(dump, "promanage-metrics-final-dump"));
+    }
+
+    private static synchronized void dump(String target, boolean csv) {
+        try {
+            if (target.equals("stdout") || target.equals("stderr")) {
+                PrintStream out = target.equals("stdout") ? System.out : System.err;
+                out.print(csv ? formatCsv(true) : "--- metrics " + LocalDateTime.now() + " ---\n" + formatText());
+                out.flush();
+            } else {
+                Path    file    = Path.of(target);
+                boolean newFile = !Files.exists(file) || Files.size(file) == 0;
+                String  text    = csv ? formatCsv(newFile) : "--- metrics " + LocalDateTime.now() + " ---\n" + formatText();
+                Files.writeString(file, text, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("WARNING: Could not write metrics to " + target + ": " + e.getMessage());
+        }
+    }
+
+    // Registration failures (e.g. no JMX in a restricted JVM) only cost the JMX view
+    private static void registerMBean(CallMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName  name   = new ObjectName("com.promanage:type=Calls,name=" + metrics.getName());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException | RuntimeException e) {
+            System.err.println("WARNING: Could not register JMX bean for " + metrics.getName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.promanage.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one stage of a SchedulerService run:
+ *
+ *   "sort"    sorting the projects by revenue
+ *   "assign"  placing them on days (FreeSlotFinder / CapacitySlotTree)
+ *
+ * Example: a slow planning run whose "sort" events are short but whose
+ * surrounding ProjectDAO.getAllProjects call (see CallEvent) is long spent its
+ * time reading projects, not scheduling them.
+ */
+@Name("com.promanage.Scheduling")
+@Label("ProManage Scheduling Stage")
+@Category({"ProManage", "Scheduling"})
+@Description("One stage (sort or assign) of a greedy scheduling run")
+@StackTrace(false)
+public class SchedulingEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Algorithm")
+    @Description("\"greedy\" (one team) or \"capacity\" (several teams per day)")
+    String algorithm;
+
+    @Label("Projects")
+    int projects;
+
+    @Label("Horizon")
+    @Description("Working days planned")
+    int horizon;
+
+    @Label("Slots")
+    @Description("Free slots (days × teams) at the start of the run")
+    int slots;
+
+    @Label("Slots Filled")
+    int slotsFilled;
+
+    /**
+     * Fills in the fields and commits, if a recording wants this event.
+     */
+    public void end(String stage, String algorithm, int projects, int horizon, int slots, int slotsFilled) {
+        if (shouldCommit()) {
+            this.stage       = stage;
+            this.algorithm   = algorithm;
+            this.projects    = projects;
+            this.horizon     = horizon;
+            this.slots       = slots;
+            this.slotsFilled = slotsFilled;
+            commit();
+        }
+    }
+}
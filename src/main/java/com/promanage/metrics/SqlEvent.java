@@ -0,0 +1,57 @@
+package com.promanage.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one SQL statement (or batch) run by a DAO.
+ *
+ * Carries a hash of the SQL text instead of the text itself, so events of the
+ * same statement can be grouped cheaply. Usage:
+ *
+ *   SqlEvent event = new SqlEvent();
+ *   event.begin();
+ *   int rows = ps.executeUpdate();
+ *   event.end("ScheduleDAO.deleteWeek", sql, weekLabel, rows);
+ *
+ * Without a running recording end() only checks one flag.
+ */
+@Name("com.promanage.Sql")
+@Label("ProManage SQL Statement")
+@Category({"ProManage", "Database"})
+@Description("One SQL statement or batch run by ProjectDAO / ScheduleDAO")
+@StackTrace(false)
+public class SqlEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("SQL Hash")
+    @Description("String.hashCode() of the SQL text, in hex")
+    String sqlHash;
+
+    @Label("Week Label")
+    @Description("Week(s) the statement touched, if any")
+    String weekLabel;
+
+    @Label("Rows")
+    @Description("Rows read, inserted or deleted")
+    long rows;
+
+    /**
+     * Fills in the fields and commits, if a recording wants this event.
+     */
+    public void end(String operation, String sql, String weekLabel, long rows) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.sqlHash   = Integer.toHexString(sql.hashCode());
+            this.weekLabel = weekLabel;
+            this.rows      = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.promanage.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Timing of one ProjectDAO.addProjects() call, overall and per batch.
+ */
+public class BulkInsertReport {
+
+    private final String            mode;
+    private final List<BatchTiming> batches = new ArrayList<>();
+    private long                    totalNanos;
+
+    public BulkInsertReport(String mode) {
+        this.mode = mode;
+    }
+
+    public void addBatch(int rows, long nanos) {
+        batches.add(new BatchTiming(batches.size() + 1, rows, nanos));
+    }
+
+    public void setTotalNanos(long totalNanos) { this.totalNanos = totalNanos; }
+
+    public String            getMode()       { return mode; }
+    public List<BatchTiming> getBatches()    { return Collections.unmodifiableList(batches); }
+    public long              getTotalNanos() { return totalNanos; }
+
+    public int getTotalRows() {
+        int rows = 0;
+        for (BatchTiming b : batches) rows += b.getRows();
+        return rows;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond(getTotalRows(), totalNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkInsertReport{mode=%s, rows=%d, batches=%d, time=%.1fms, rows/sec=%.0f}",
+                mode, getTotalRows(), batches.size(), totalNanos / 1_000_000.0, getRowsPerSecond());
+    }
+
+    private static double rowsPerSecond(int rows, long nanos) {
+        return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Rows and time of a single batch.
+     */
+    public static class BatchTiming {
+
+        private final int  batchNumber;
+        private final int  rows;
+        private final long nanos;
+
+        public BatchTiming(int batchNumber, int rows, long nanos) {
+            this.batchNumber = batchNumber;
+            this.rows        = rows;
+            this.nanos       = nanos;
+        }
+
+        public int    getBatchNumber()   { return batchNumber; }
+        public int    getRows()          { return rows; }
+        public long   getNanos()         { return nanos; }
+        public double getRowsPerSecond() { return rowsPerSecond(rows, nanos); }
+    }
+}
@@ -0,0 +1,41 @@
+package com.promanage.model;
+
+/**
+ * Result of one ExportService call: how many rows went out, how big the
+ * output became and how long it took.
+ */
+public class ExportReport {
+
+    private final String what;
+    private final String format;
+    private final String target;
+    private final long   rows;
+    private final long   bytes;
+    private final long   nanos;
+
+    public ExportReport(String what, String format, String target, long rows, long bytes, long nanos) {
+        this.what   = what;
+        this.format = format;
+        this.target = target;
+        this.rows   = rows;
+        this.bytes  = bytes;
+        this.nanos  = nanos;
+    }
+
+    public String getWhat()   { return what; }
+    public String getFormat() { return format; }
+    public String getTarget() { return target; }
+    public long   getRows()   { return rows; }
+    public long   getBytes()  { return bytes; }
+    public long   getNanos()  { return nanos; }
+
+    public double getRowsPerSecond() {
+        return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExportReport{what=%s, format=%s, target=%s, rows=%d, bytes=%d, time=%.1fms, rows/sec=%.0f}",
+                what, format, target, rows, bytes, nanos / 1_000_000.0, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,48 @@
+package com.promanage.model;
+
+/**
+ * Result of one ProjectCsvImporter run: rows read, imported and rejected,
+ * and how fast it went.
+ */
+public class ImportReport {
+
+    private final String file;
+    private final long   bytes;
+    private final int    chunks;
+    private final long   rowsRead;
+    private final long   imported;
+    private final long   rejected;
+    private final String rejectFile; // null when nothing was rejected
+    private final long   nanos;
+
+    public ImportReport(String file, long bytes, int chunks, long rowsRead, long imported,
+                        long rejected, String rejectFile, long nanos) {
+        this.file       = file;
+        this.bytes      = bytes;
+        this.chunks     = chunks;
+        this.rowsRead   = rowsRead;
+        this.imported   = imported;
+        this.rejected   = rejected;
+        this.rejectFile = rejectFile;
+        this.nanos      = nanos;
+    }
+
+    public String getFile()       { return file; }
+    public long   getBytes()      { return bytes; }
+    public int    getChunks()     { return chunks; }
+    public long   getRowsRead()   { return rowsRead; }
+    public long   getImported()   { return imported; }
+    public long   getRejected()   { return rejected; }
+    public String getRejectFile() { return rejectFile; }
+    public long   getNanos()      { return nanos; }
+
+    public double getRowsPerSecond() {
+        return nanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportReport{file=%s, rows=%d, imported=%d, rejected=%d, time=%.1fms, rows/sec=%.0f}",
+                file, rowsRead, imported, rejected, nanos / 1_000_000.0, getRowsPerSecond());
+    }
+}
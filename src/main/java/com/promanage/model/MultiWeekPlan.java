@@ -0,0 +1,41 @@
+package com.promanage.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedules for several consecutive weeks, plus the projects that didn't fit into any of them.
+ */
+public class MultiWeekPlan {
+
+    private final Map<String, List<ScheduledProject>> weeks;
+    private final int                                 candidateCount;
+    private final int                                 leftOverCount;
+
+    public MultiWeekPlan(Map<String, List<ScheduledProject>> weeks, int candidateCount, int leftOverCount) {
+        this.weeks          = weeks;
+        this.candidateCount = candidateCount;
+        this.leftOverCount  = leftOverCount;
+    }
+
+    // Week label → schedule, in week order
+    public Map<String, List<ScheduledProject>> getWeeks() { return Collections.unmodifiableMap(weeks); }
+
+    public int getCandidateCount() { return candidateCount; }
+    public int getLeftOverCount()  { return leftOverCount; }
+
+    public int getScheduledCount() {
+        int count = 0;
+        for (List<ScheduledProject> week : weeks.values()) count += week.size();
+        return count;
+    }
+
+    public double getTotalRevenue() {
+        double total = 0;
+        for (List<ScheduledProject> week : weeks.values()) {
+            for (ScheduledProject sp : week) total += sp.getProject().getRevenue();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,42 @@
+package com.promanage.model;
+
+import java.util.List;
+
+/**
+ * Result of DurationScheduleOptimizer: the schedule plus how good it is known to be.
+ */
+public class OptimizedSchedule {
+
+    private final List<ScheduledProject> schedule;
+    private final double                 totalRevenue;
+    private final double                 greedyRevenue;
+    private final boolean                provenOptimal;
+    private final long                   nodesExplored;
+    private final long                   elapsedMillis;
+
+    public OptimizedSchedule(List<ScheduledProject> schedule, double totalRevenue, double greedyRevenue,
+                             boolean provenOptimal, long nodesExplored, long elapsedMillis) {
+        this.schedule      = schedule;
+        this.totalRevenue  = totalRevenue;
+        this.greedyRevenue = greedyRevenue;
+        this.provenOptimal = provenOptimal;
+        this.nodesExplored = nodesExplored;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<ScheduledProject> getSchedule()      { return schedule; }
+    public double                 getTotalRevenue()  { return totalRevenue; }
+    public double                 getGreedyRevenue() { return greedyRevenue; }
+    public boolean                isProvenOptimal()  { return provenOptimal; }
+    public long                   getNodesExplored() { return nodesExplored; }
+    public long                   getElapsedMillis() { return elapsedMillis; }
+
+    /**
+     * How much better this schedule is than the greedy one, as a fraction of this
+     * schedule's revenue. 0.25 means the greedy leaves 25% of the revenue on the table.
+     */
+    public double getOptimalityGap() {
+        if (totalRevenue <= 0) return 0;
+        return (totalRevenue - greedyRevenue) / totalRevenue;
+    }
+}
@@ -8,6 +8,7 @@ public class Project {
     private String    projectCode;
     private String    title;
     private int       deadline;
+    private int       duration = 1; // working days the project takes
     private double    revenue;
     private Timestamp createdAt;
 
@@ -22,6 +23,17 @@ public class Project {
         this.revenue     = revenue;
     }
 
+    // Copy, so a cached project can be handed out without sharing it
+    public Project(Project other) {
+        this.projectId   = other.projectId;
+        this.projectCode = other.projectCode;
+        this.title       = other.title;
+        this.deadline    = other.deadline;
+        this.duration    = other.duration;
+        this.revenue     = other.revenue;
+        this.createdAt   = other.createdAt;
+    }
+
     // --- getters & setters ---
 
     public int getProjectId()           { return projectId; }
@@ -36,6 +48,9 @@ public class Project {
     public int getDeadline()                { return deadline; }
     public void setDeadline(int deadline)   { this.deadline = deadline; }
 
+    public int getDuration()                { return duration; }
+    public void setDuration(int duration)   { this.duration = duration; }
+
     public double getRevenue()              { return revenue; }
     public void setRevenue(double revenue)  { this.revenue = revenue; }
 
@@ -44,7 +59,7 @@ public class Project {
 
     @Override
     public String toString() {
-        return String.format("Project{code='%s', title='%s', deadline=%d, revenue=%.2f}",
-                projectCode, title, deadline, revenue);
+        return String.format("Project{code='%s', title='%s', deadline=%d, duration=%d, revenue=%.2f}",
+                projectCode, title, deadline, duration, revenue);
     }
 }
@@ -0,0 +1,114 @@
+package com.promanage.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An immutable view of every project known at one moment.
+ *
+ * Projects are stored in "chunks": each refresh of the catalogue adds one chunk with
+ * the projects it found, so a new snapshot shares all old chunks with the previous one
+ * and costs only as much as the new rows. Small trailing chunks are merged so there
+ * are never more than about log2(n) of them.
+ *
+ * Snapshots are never modified after creation, so any number of threads can read one
+ * without locking. The Project objects inside are shared: don't change them.
+ */
+public class ProjectSnapshot {
+
+    private static final ProjectSnapshot EMPTY = new ProjectSnapshot(new Project[0][], 0, 0, 0);
+
+    private final Project[][] chunks;  // oldest chunk first, each chunk in arrival order
+    private final int         size;
+    private final int         maxProjectId;
+    private final long        version;
+
+    private ProjectSnapshot(Project[][] chunks, int size, int maxProjectId, long version) {
+        this.chunks       = chunks;
+        this.size         = size;
+        this.maxProjectId = maxProjectId;
+        this.version      = version;
+    }
+
+    public static ProjectSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a new snapshot with {@code added} appended. This snapshot is left untouched.
+     */
+    public ProjectSnapshot append(List<Project> added) {
+        if (added.isEmpty()) return this;
+
+        int newMax = maxProjectId;
+        for (Project p : added) newMax = Math.max(newMax, p.getProjectId());
+
+        Project[][] next = Arrays.copyOf(chunks, chunks.length + 1);
+        next[chunks.length] = added.toArray(new Project[0]);
+        int count = next.length;
+
+        // Keep chunk sizes at least doubling towards the front: O(log n) chunks,
+        // and every project is copied O(log n) times over the catalogue's life
+        while (count >= 2 && next[count - 2].length <= 2 * next[count - 1].length) {
+            Project[] merged = Arrays.copyOf(next[count - 2], next[count - 2].length + next[count - 1].length);
+            System.arraycopy(next[count - 1], 0, merged, next[count - 2].length, next[count - 1].length);
+            next[count - 2] = merged;
+            count--;
+        }
+
+        return new ProjectSnapshot(Arrays.copyOf(next, count), size + added.size(), newMax, version + 1);
+    }
+
+    public int size()            { return size; }
+    public boolean isEmpty()     { return size == 0; }
+    public int getMaxProjectId() { return maxProjectId; }
+
+    /**
+     * Increases by one with every refresh that found new projects.
+     */
+    public long getVersion()     { return version; }
+
+    /**
+     * Calls the consumer for every project, most recently loaded first.
+     */
+    public void forEachNewestFirst(Consumer<Project> consumer) {
+        for (int c = chunks.length - 1; c >= 0; c--) {
+            Project[] chunk = chunks[c];
+            for (int i = chunk.length - 1; i >= 0; i--) {
+                consumer.accept(chunk[i]);
+            }
+        }
+    }
+
+    /**
+     * Read-only list of every project, most recently loaded first (close to the
+     * created_at order of ProjectDAO.getAllProjects()). No copying is done.
+     */
+    public List<Project> newestFirst() {
+        return new AbstractList<>() {
+            @Override
+            public Project get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+                }
+                // Walk chunks from the newest; there are only O(log n) of them
+                int remaining = index;
+                for (int c = chunks.length - 1; c >= 0; c--) {
+                    Project[] chunk = chunks[c];
+                    if (remaining < chunk.length) {
+                        return chunk[chunk.length - 1 - remaining];
+                    }
+                    remaining -= chunk.length;
+                }
+                throw new IllegalStateException("Snapshot size does not match its chunks");
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
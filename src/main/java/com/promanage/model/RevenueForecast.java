@@ -0,0 +1,58 @@
+package com.promanage.model;
+
+/**
+ * Predicted revenue of one month, with 80% and 95% prediction intervals
+ * (see RevenueForecastState.forecastNextMonth()).
+ *
+ * The intervals are only meaningful once a few weeks have been saved;
+ * hasInterval() is false before that and the bounds equal the prediction.
+ */
+public class RevenueForecast {
+
+    // Weeks of history needed before the error estimate means anything
+    public static final int MIN_WEEKS_FOR_INTERVAL = 4;
+
+    private final int    year;
+    private final int    month;
+    private final String monthName;
+    private final double predictedRevenue;
+    private final double lower80;
+    private final double upper80;
+    private final double lower95;
+    private final double upper95;
+    private final int    weeksOfData;
+    private final int    weeksForecast;
+    private final String basedOnWeek;
+
+    public RevenueForecast(int year, int month, String monthName, double predictedRevenue,
+                           double lower80, double upper80, double lower95, double upper95,
+                           int weeksOfData, int weeksForecast, String basedOnWeek) {
+        this.year             = year;
+        this.month            = month;
+        this.monthName        = monthName;
+        this.predictedRevenue = predictedRevenue;
+        this.lower80          = lower80;
+        this.upper80          = upper80;
+        this.lower95          = lower95;
+        this.upper95          = upper95;
+        this.weeksOfData      = weeksOfData;
+        this.weeksForecast    = weeksForecast;
+        this.basedOnWeek      = basedOnWeek;
+    }
+
+    public int    getYear()             { return year; }
+    public int    getMonth()            { return month; }
+    public String getMonthName()        { return monthName; }
+    public double getPredictedRevenue() { return predictedRevenue; }
+    public double getLower80()          { return lower80; }
+    public double getUpper80()          { return upper80; }
+    public double getLower95()          { return lower95; }
+    public double getUpper95()          { return upper95; }
+    public int    getWeeksOfData()      { return weeksOfData; }
+    public int    getWeeksForecast()    { return weeksForecast; }
+    public String getBasedOnWeek()      { return basedOnWeek; }
+
+    public boolean hasInterval() {
+        return weeksOfData >= MIN_WEEKS_FOR_INTERVAL;
+    }
+}
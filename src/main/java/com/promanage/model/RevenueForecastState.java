@@ -0,0 +1,206 @@
+package com.promanage.model;
+
+import com.promanage.util.WeekLabelUtil;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.Arrays;
+
+/**
+ * Holt-Winters exponential smoothing over weekly revenue, with two seasonal
+ * patterns: the position of a week inside its month (month-end weeks may earn
+ * more) and the month of the year.
+ *
+ * The whole history is summed up in a handful of numbers:
+ *
+ *   level        revenue of a typical week right now
+ *   trend        change of the level per week
+ *   weekOfMonth  extra revenue of the 1st, 2nd, ... week of a month (6 slots)
+ *   monthOfYear  extra revenue of a week in January, February, ... (12 slots)
+ *   errorVar     smoothed squared error of past one-week-ahead forecasts
+ *
+ * Saving a week calls update() once: O(1), no history is read. Forecasting the
+ * next month adds up level + trend + seasonal parts over its 4-6 weeks, also O(1).
+ *
+ * Example (only level and trend, no seasonality yet):
+ *   level 1,00,000, trend +2,000 per week, next month = weeks 3..6 ahead
+ *   → 1,06,000 + 1,08,000 + 1,10,000 + 1,12,000 = 4,36,000
+ *
+ * Months use the same week → month approximation as the monthly summary
+ * (WeekLabelUtil.monthOfWeek()). States are immutable.
+ */
+public class RevenueForecastState {
+
+    // Smoothing factors: how much one new week moves each part (0 = never, 1 = completely)
+    private static final double ALPHA       = 0.3;  // level
+    private static final double BETA        = 0.1;  // trend
+    private static final double GAMMA_WEEK  = 0.1;  // week-of-month pattern
+    private static final double GAMMA_MONTH = 0.2;  // month-of-year pattern
+    private static final double ERROR_DECAY = 0.1;  // weight of the newest squared error
+
+    private static final int WEEK_SLOTS  = 6;  // weeks 1..6 of a month (December can have 6)
+    private static final int MONTH_SLOTS = 12;
+
+    // z-scores of the two-sided 80% and 95% normal intervals
+    private static final double Z80 = 1.2816;
+    private static final double Z95 = 1.9600;
+
+    // Layout of toArray(): weeks, level, trend, errorVar, weekOfMonth[6], monthOfYear[12]
+    private static final int ARRAY_LENGTH = 4 + WEEK_SLOTS + MONTH_SLOTS;
+
+    private final String    lastWeekLabel;
+    private final LocalDate lastWeekStart;
+    private final int       weeks;
+    private final double    level;
+    private final double    trend;
+    private final double    errorVar;
+    private final double[]  weekOfMonth;
+    private final double[]  monthOfYear;
+
+    private RevenueForecastState(String lastWeekLabel, LocalDate lastWeekStart, int weeks,
+                                 double level, double trend, double errorVar,
+                                 double[] weekOfMonth, double[] monthOfYear) {
+        this.lastWeekLabel = lastWeekLabel;
+        this.lastWeekStart = lastWeekStart;
+        this.weeks         = weeks;
+        this.level         = level;
+        this.trend         = trend;
+        this.errorVar      = errorVar;
+        this.weekOfMonth   = weekOfMonth;
+        this.monthOfYear   = monthOfYear;
+    }
+
+    /**
+     * The state after the very first saved week: level = its revenue, no trend, no seasonality.
+     */
+    public static RevenueForecastState first(String weekLabel, LocalDate weekStart, double revenue) {
+        return new RevenueForecastState(weekLabel, weekStart, 1, revenue, 0, 0,
+                new double[WEEK_SLOTS], new double[MONTH_SLOTS]);
+    }
+
+    /**
+     * Adds the revenue of a week after lastWeekStart and returns the new state.
+     * Skipped weeks (nothing saved) just let the trend run on.
+     */
+    public RevenueForecastState update(String weekLabel, LocalDate weekStart, double revenue) {
+        int steps = (int) ChronoUnit.WEEKS.between(lastWeekStart, weekStart);
+        if (steps < 1) {
+            throw new IllegalArgumentException(weekLabel + " is not after " + lastWeekLabel);
+        }
+
+        int    weekNum  = weekStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+        int    w        = WeekLabelUtil.weekOfMonth(weekNum);
+        int    m        = WeekLabelUtil.monthOfWeek(weekNum) - 1;
+        double expected = level + steps * trend + weekOfMonth[w] + monthOfYear[m];
+        double error    = revenue - expected;
+
+        // Step 1: Level and trend from the revenue without its seasonal parts
+        double newLevel = ALPHA * (revenue - weekOfMonth[w] - monthOfYear[m])
+                        + (1 - ALPHA) * (level + steps * trend);
+        double newTrend = BETA * (newLevel - level) / steps + (1 - BETA) * trend;
+
+        // Step 2: Each seasonal slot learns what is left after level and the other pattern
+        double[] newWeekOfMonth = weekOfMonth.clone();
+        double[] newMonthOfYear = monthOfYear.clone();
+        newWeekOfMonth[w] = GAMMA_WEEK  * (revenue - newLevel - monthOfYear[m]) + (1 - GAMMA_WEEK)  * weekOfMonth[w];
+        newMonthOfYear[m] = GAMMA_MONTH * (revenue - newLevel - weekOfMonth[w]) + (1 - GAMMA_MONTH) * monthOfYear[m];
+
+        // Step 3: Error estimate; a plain average until there are enough errors to smooth
+        int    errors      = weeks; // one-week-ahead errors seen so far, including this one
+        double decay       = Math.max(ERROR_DECAY, 1.0 / errors);
+        double newErrorVar = (1 - decay) * errorVar + decay * error * error;
+
+        return new RevenueForecastState(weekLabel, weekStart, weeks + 1, newLevel, newTrend, newErrorVar,
+                newWeekOfMonth, newMonthOfYear);
+    }
+
+    /**
+     * Predicts the month after the month of the last saved week.
+     *
+     * Each of its weeks h weeks ahead is forecast as level + h × trend + seasonal parts.
+     * The interval uses Holt's h-step error growth, 1 + Σ (α(1 + jβ))², and treats the
+     * weekly errors of one month as fully correlated, so it errs on the wide side.
+     */
+    public RevenueForecast forecastNextMonth() {
+        // Step 1: Which month comes next
+        int lastWeekNum = lastWeekStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+        int lastYear    = lastWeekStart.get(IsoFields.WEEK_BASED_YEAR);
+        int lastMonth   = WeekLabelUtil.monthOfWeek(lastWeekNum);
+        int year        = lastMonth == 12 ? lastYear + 1 : lastYear;
+        int month       = lastMonth == 12 ? 1 : lastMonth + 1;
+
+        // Step 2: Add up the forecast of every week of that month
+        double sigma     = Math.sqrt(errorVar);
+        double predicted = 0;
+        double spread    = 0; // standard deviation of the month total
+        int    count     = 0;
+        int    weeksInYr = WeekLabelUtil.weeksInYear(year);
+        LocalDate week1  = LocalDate.of(year, 1, 4).with(DayOfWeek.MONDAY);
+
+        for (int weekNum = 1; weekNum <= weeksInYr; weekNum++) {
+            if (WeekLabelUtil.monthOfWeek(weekNum) != month) continue;
+
+            int h = (int) ChronoUnit.WEEKS.between(lastWeekStart, week1.plusWeeks(weekNum - 1));
+            predicted += level + h * trend
+                       + weekOfMonth[WeekLabelUtil.weekOfMonth(weekNum)] + monthOfYear[month - 1];
+            spread    += sigma * Math.sqrt(errorGrowth(h));
+            count++;
+        }
+
+        predicted = Math.max(0, predicted);
+        if (weeks < RevenueForecast.MIN_WEEKS_FOR_INTERVAL) {
+            spread = 0;
+        }
+        return new RevenueForecast(year, month, WeekLabelUtil.monthName(month), predicted,
+                Math.max(0, predicted - Z80 * spread), predicted + Z80 * spread,
+                Math.max(0, predicted - Z95 * spread), predicted + Z95 * spread,
+                weeks, count, lastWeekLabel);
+    }
+
+    // Variance of an h-week-ahead forecast, in units of the one-week error variance
+    private static double errorGrowth(int h) {
+        double growth = 1;
+        for (int j = 1; j < h; j++) {
+            double c = ALPHA * (1 + j * BETA);
+            growth += c * c;
+        }
+        return growth;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  PERSISTENCE (revenue_forecast_state, see ScheduleDAO)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Every number of the state, for a DOUBLE PRECISION[] column.
+     */
+    public double[] toArray() {
+        double[] a = new double[ARRAY_LENGTH];
+        a[0] = weeks;
+        a[1] = level;
+        a[2] = trend;
+        a[3] = errorVar;
+        System.arraycopy(weekOfMonth, 0, a, 4, WEEK_SLOTS);
+        System.arraycopy(monthOfYear, 0, a, 4 + WEEK_SLOTS, MONTH_SLOTS);
+        return a;
+    }
+
+    /**
+     * Rebuilds a state from toArray(). Returns null if the array has the wrong length
+     * (e.g. written by a different version), so the caller can rebuild from history.
+     */
+    public static RevenueForecastState fromArray(String lastWeekLabel, LocalDate lastWeekStart, double[] a) {
+        if (a == null || a.length != ARRAY_LENGTH) return null;
+        return new RevenueForecastState(lastWeekLabel, lastWeekStart, (int) a[0], a[1], a[2], a[3],
+                Arrays.copyOfRange(a, 4, 4 + WEEK_SLOTS),
+                Arrays.copyOfRange(a, 4 + WEEK_SLOTS, ARRAY_LENGTH));
+    }
+
+    public String    getLastWeekLabel() { return lastWeekLabel; }
+    public LocalDate getLastWeekStart() { return lastWeekStart; }
+    public int       getWeeks()         { return weeks; }
+    public double    getLevel()         { return level; }
+    public double    getTrend()         { return trend; }
+}
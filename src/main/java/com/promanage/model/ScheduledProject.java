@@ -5,11 +5,17 @@ public class ScheduledProject {
     private Project project;
     private int     assignedDay;
     private String  dayName;
+    private int     team;
 
     public ScheduledProject(Project project, int assignedDay, String dayName) {
+        this(project, assignedDay, dayName, 1);
+    }
+
+    public ScheduledProject(Project project, int assignedDay, String dayName, int team) {
         this.project     = project;
         this.assignedDay = assignedDay;
         this.dayName     = dayName;
+        this.team        = team;
     }
 
     public Project getProject()               { return project; }
@@ -20,4 +26,7 @@ public class ScheduledProject {
 
     public String getDayName()               { return dayName; }
     public void setDayName(String dayName)   { this.dayName = dayName; }
+
+    public int getTeam()            { return team; }
+    public void setTeam(int team)   { this.team = team; }
 }
@@ -0,0 +1,417 @@
+package com.promanage.server;
+
+import com.promanage.config.DatabaseConfig;
+import com.promanage.config.PoolStats;
+import com.promanage.dao.ProjectDAO;
+import com.promanage.dao.ScheduleDAO;
+import com.promanage.metrics.MetricsRegistry;
+import com.promanage.model.MultiWeekPlan;
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import com.promanage.service.MultiWeekPlanner;
+import com.promanage.service.RevenueAnalyticsService;
+import com.promanage.service.SchedulerService;
+import com.promanage.util.CodeGenerator;
+import com.promanage.util.JsonReader;
+import com.promanage.util.JsonViews;
+import com.promanage.util.JsonWriter;
+import com.promanage.util.VirtualThreads;
+import com.promanage.util.WeekLabelUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JSON-over-HTTP access to the scheduler, on the JDK's built-in HTTP server.
+ *
+ *   GET  /api/health                     status, requests in flight, pool counters
+ *   POST /api/projects                   {"title":..,"deadline":..,"revenue":..,"duration":..}
+ *   POST /api/schedules?weeks=1&teams=1&save=false
+ *                                        plan N weeks from this week (and save them)
+ *   GET  /api/schedules/{week}           a saved week, e.g. Week-2026-09 (or "current")
+ *   GET  /api/weeks?last=8               totals of the latest saved weeks
+ *   GET  /api/summary                    monthly revenue summary
+ *   GET  /api/prediction                 next month's revenue forecast with 80% / 95% intervals
+ *   GET  /api/metrics                    call counts and latency percentiles (see MetricsRegistry)
+ *
+ * Every request runs on its own thread: a virtual thread when the JVM has them
+ * (Java 21+), otherwise a cached platform thread. Two limits protect the
+ * database:
+ *   - at most maxConcurrent requests are worked on at once; the rest get
+ *     429 Too Many Requests immediately instead of queueing up;
+ *   - requests that need the database also get 429 while more than
+ *     maxPoolWaiters threads are already waiting for a pooled connection.
+ * Both 429 answers carry "Retry-After: 1".
+ */
+public class ApiServer {
+
+    public static final int DEFAULT_PORT             = 8080;
+    public static final int DEFAULT_MAX_CONCURRENT   = 64;
+
+    // More threads than this waiting for a pooled connection → 429 for database requests
+    public static final int DEFAULT_MAX_POOL_WAITERS = 16;
+
+    // Larger request bodies are refused with 413
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    // Same range as the CHECK constraint and DECIMAL(12,2) type of projects.revenue
+    private static final BigDecimal MIN_REVENUE = new BigDecimal("0.01");
+    private static final BigDecimal MAX_REVENUE = new BigDecimal("9999999999.99");
+
+    private final HttpServer      server;
+    private final ExecutorService executor;
+    private final Semaphore       permits;
+    private final int             maxConcurrent;
+    private final int             maxPoolWaiters;
+    private final AtomicInteger   rejected = new AtomicInteger();
+
+    private final ProjectDAO              projectDAO  = new ProjectDAO();
+    private final ScheduleDAO             scheduleDAO = new ScheduleDAO();
+    private final MultiWeekPlanner        planner     = new MultiWeekPlanner();
+    private final RevenueAnalyticsService analytics   = new RevenueAnalyticsService();
+
+    // What one endpoint does; runs with a concurrency permit held
+    @FunctionalInterface
+    private interface Endpoint {
+        Response handle(HttpExchange exchange) throws SQLException, IOException;
+    }
+
+    private record Response(int status, String body) {}
+
+    public ApiServer(String host, int port, int maxConcurrent, int maxPoolWaiters) throws IOException {
+        if (maxConcurrent < 1) throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        if (maxPoolWaiters < 0) throw new IllegalArgumentException("maxPoolWaiters must not be negative");
+
+        this.maxConcurrent  = maxConcurrent;
+        this.maxPoolWaiters = maxPoolWaiters;
+        this.permits        = new Semaphore(maxConcurrent);
+        this.executor       = VirtualThreads.newPerTaskExecutor("promanage-http");
+        this.server         = HttpServer.create(new InetSocketAddress(host, port), 0);
+
+        route("/api/health",     "GET",  false, this::health);
+        route("/api/projects",   "POST", true,  this::addProject);
+        route("/api/schedules",  null,   true,  this::schedules);
+        route("/api/weeks",      "GET",  true,  this::weeks);
+        route("/api/summary",    "GET",  true,  this::summary);
+        route("/api/prediction", "GET",  true,  this::prediction);
+        route("/api/metrics",    "GET",  false, this::metrics);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, gives running ones up to delaySeconds to finish.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * True when requests run on virtual threads (needs Java 21+).
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VirtualThreads.available();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ENDPOINTS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private Response health(HttpExchange exchange) {
+        StringBuilder sb   = new StringBuilder();
+        JsonWriter    json = new JsonWriter(sb).beginObject()
+                .name("status").value("ok")
+                .name("virtualThreads").value(virtualThreadsAvailable())
+                .name("inFlight").value(maxConcurrent - permits.availablePermits())
+                .name("maxConcurrent").value(maxConcurrent)
+                .name("rejected").value(rejected.get());
+        if (DatabaseConfig.isPoolEnabled()) {
+            PoolStats pool = DatabaseConfig.getPoolStats();
+            json.name("pool").beginObject()
+                    .name("active").value(pool.getActiveConnections())
+                    .name("idle").value(pool.getIdleConnections())
+                    .name("max").value(pool.getMaxSize())
+                    .name("waiting").value(pool.getWaitingThreads())
+                .endObject();
+        }
+        json.endObject();
+        return new Response(200, sb.toString());
+    }
+
+    private Response addProject(HttpExchange exchange) throws SQLException, IOException {
+        Map<String, Object> body = JsonReader.parseObject(readBody(exchange));
+
+        String title    = stringField(body, "title").trim();
+        int    deadline = intField(body, "deadline", null, 1, SchedulerService.MAX_HORIZON_DAYS);
+        double revenue  = revenueField(body);
+        int    duration = intField(body, "duration", 1, 1, deadline);
+        if (title.isEmpty() || title.codePointCount(0, title.length()) > 255) {
+            throw new IllegalArgumentException("title must be 1 to 255 characters");
+        }
+
+        Project project = new Project(CodeGenerator.generateProjectCode(), title, deadline, revenue);
+        project.setDuration(duration);
+        projectDAO.addProject(project);
+
+        StringBuilder sb = new StringBuilder();
+        JsonViews.writeProject(new JsonWriter(sb), project);
+        return new Response(201, sb.toString());
+    }
+
+    // POST /api/schedules plans, GET /api/schedules/{week} reads a saved week
+    private Response schedules(HttpExchange exchange) throws SQLException {
+        String path   = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+
+        if (path.equals("/api/schedules") || path.equals("/api/schedules/")) {
+            if (!method.equals("POST")) return methodNotAllowed(exchange, "POST");
+
+            Map<String, String> query = query(exchange);
+            int     weeks = queryInt(query, "weeks", 1, 1, MultiWeekPlanner.MAX_WEEKS);
+            int     teams = queryInt(query, "teams", 1, 1, SchedulerService.MAX_TEAMS);
+            boolean save  = Boolean.parseBoolean(query.getOrDefault("save", "false"));
+
+            MultiWeekPlan plan = planner.planFromDatabase(weeks, teams);
+            if (save) {
+                planner.savePlan(plan);
+            }
+
+            StringBuilder sb = new StringBuilder();
+            JsonViews.writePlan(new JsonWriter(sb), plan, save);
+            return new Response(save ? 201 : 200, sb.toString());
+        }
+
+        if (!method.equals("GET")) return methodNotAllowed(exchange, "GET");
+
+        String week = path.substring("/api/schedules/".length());
+        if (week.equals("current")) {
+            week = WeekLabelUtil.weekLabelFor(LocalDate.now());
+        }
+        if (week.isEmpty() || week.contains("/")) {
+            return error(404, "Not found");
+        }
+
+        List<ScheduledProject> rows = scheduleDAO.getScheduleByWeek(week);
+        if (rows.isEmpty()) {
+            return error(404, "No saved schedule for " + week);
+        }
+        StringBuilder sb = new StringBuilder();
+        JsonViews.writeWeek(new JsonWriter(sb), week, rows);
+        return new Response(200, sb.toString());
+    }
+
+    private Response weeks(HttpExchange exchange) throws SQLException {
+        int last = queryInt(query(exchange), "last", 8, 1, MultiWeekPlanner.MAX_WEEKS);
+
+        StringBuilder sb = new StringBuilder();
+        JsonViews.writeWeekTotals(new JsonWriter(sb), analytics.getRecentWeekTotals(last));
+        return new Response(200, sb.toString());
+    }
+
+    private Response summary(HttpExchange exchange) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        JsonViews.writeSummaries(new JsonWriter(sb), analytics.getMonthlyRevenueSummary());
+        return new Response(200, sb.toString());
+    }
+
+    private Response prediction(HttpExchange exchange) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        JsonViews.writePrediction(new JsonWriter(sb), analytics.forecastNextMonthRevenue());
+        return new Response(200, sb.toString());
+    }
+
+    private Response metrics(HttpExchange exchange) {
+        StringBuilder sb = new StringBuilder();
+        JsonViews.writeCallMetrics(new JsonWriter(sb), MetricsRegistry.snapshot());
+        return new Response(200, sb.toString());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  PLUMBING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // method == null lets the endpoint check the method itself
+    private void route(String path, String method, boolean usesDatabase, Endpoint endpoint) {
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                Response response;
+                if (method != null && !method.equals(exchange.getRequestMethod())) {
+                    response = methodNotAllowed(exchange, method);
+                } else if (!permits.tryAcquire()) {
+                    response = tooManyRequests(exchange, "Too many requests in progress");
+                } else {
+                    try {
+                        response = usesDatabase && databaseSaturated()
+                                ? tooManyRequests(exchange, "Database busy")
+                                : invoke(endpoint, exchange);
+                    } finally {
+                        permits.release();
+                    }
+                }
+                send(exchange, response);
+            }
+        });
+    }
+
+    private Response invoke(Endpoint endpoint, HttpExchange exchange) {
+        try {
+            return endpoint.handle(exchange);
+        } catch (IllegalArgumentException e) {
+            return error(400, e.getMessage());
+        } catch (BodyTooLargeException e) {
+            return error(413, e.getMessage());
+        } catch (SQLTransientConnectionException e) {
+            // No pooled connection within the borrow timeout
+            return error(503, "Database busy: " + e.getMessage());
+        } catch (SQLException e) {
+            return error(500, "Database: " + e.getMessage());
+        } catch (IOException e) {
+            return error(400, "Could not read request: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // A bug, not the client's fault: details go to the server's stderr only
+            System.err.println("ERROR: " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath()
+                    + " failed: " + e);
+            return error(500, "Internal server error");
+        }
+    }
+
+    // Backpressure: too many threads already queue for a pooled connection
+    private boolean databaseSaturated() {
+        return DatabaseConfig.isPoolEnabled()
+                && DatabaseConfig.getPoolStats().getWaitingThreads() > maxPoolWaiters;
+    }
+
+    private Response tooManyRequests(HttpExchange exchange, String message) {
+        rejected.incrementAndGet();
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        return error(429, message);
+    }
+
+    private static Response methodNotAllowed(HttpExchange exchange, String allowed) {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        return error(405, "Use " + allowed);
+    }
+
+    private static Response error(int status, String message) {
+        StringBuilder sb = new StringBuilder();
+        new JsonWriter(sb).beginObject().name("error").value(message).endObject();
+        return new Response(status, sb.toString());
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException() {
+            super("Request body larger than " + MAX_BODY_BYTES + " bytes");
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) throw new BodyTooLargeException();
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) return params;
+
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String name  = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "true" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private static int queryInt(Map<String, String> query, String name, int defaultValue, int min, int max) {
+        String value = query.get(name);
+        if (value == null) return defaultValue;
+        try {
+            return checkRange(Integer.parseInt(value.trim()), name, min, max);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: '" + value + "'");
+        }
+    }
+
+    private static String stringField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof String s)) {
+            throw new IllegalArgumentException(name + " is required and must be a string");
+        }
+        return s;
+    }
+
+    // Whole number field; defaultValue == null makes it required
+    private static int intField(Map<String, Object> body, String name, Integer defaultValue, int min, int max) {
+        Object value = body.get(name);
+        if (value == null && defaultValue != null) return defaultValue;
+        if (!(value instanceof Double d) || d != Math.rint(d)) {
+            throw new IllegalArgumentException(name + " is required and must be a whole number");
+        }
+        return checkRange((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, d)), name, min, max);
+    }
+
+    // Rounded half up to paise like the CSV importer, so DECIMAL(12,2) stores exactly what was checked
+    private static double revenueField(Map<String, Object> body) {
+        Object value = body.get("revenue");
+        if (!(value instanceof Double d) || d.isNaN() || d.isInfinite()) {
+            throw new IllegalArgumentException("revenue is required and must be a number");
+        }
+        BigDecimal revenue = BigDecimal.valueOf(d).setScale(2, RoundingMode.HALF_UP);
+        if (revenue.compareTo(MIN_REVENUE) < 0) {
+            throw new IllegalArgumentException("revenue must be at least 0.01");
+        }
+        if (revenue.compareTo(MAX_REVENUE) > 0) {
+            throw new IllegalArgumentException("revenue must be at most 9999999999.99");
+        }
+        return revenue.doubleValue();
+    }
+
+    private static int checkRange(int value, String name, int min, int max) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT,
+                    "%s must be between %d and %d", name, min, max));
+        }
+        return value;
+    }
+}
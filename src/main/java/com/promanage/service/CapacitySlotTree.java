@@ -0,0 +1,77 @@
+package com.promanage.service;
+
+/**
+ * Segment tree over the days of a horizon where every day can take several
+ * projects (one per delivery team).
+ *
+ * Each leaf holds the remaining capacity of one day, and each inner node the
+ * maximum of its children. To find the latest day ≤ deadline that still has
+ * room, we walk down the tree preferring the right child and skipping every
+ * subtree whose maximum is 0 — O(log d) per lookup, O(log d) per update.
+ *
+ * Example (3 days, capacities [2, 1, 2], day 3 already full):
+ *   leaves = [2, 1, 0]
+ *   latestDayWithCapacity(3) → day 2
+ */
+public class CapacitySlotTree {
+
+    private final int[] capacity;  // capacity[d - 1] = teams available on day d
+    private final int[] remaining; // tree of remaining capacity, root at index 1
+    private final int   leaves;    // number of leaves, a power of two ≥ number of days
+
+    public CapacitySlotTree(int[] dailyCapacity) {
+        this.capacity = dailyCapacity.clone();
+
+        int size = 1;
+        while (size < dailyCapacity.length) size <<= 1;
+        this.leaves    = size;
+        this.remaining = new int[2 * size];
+
+        for (int i = 0; i < dailyCapacity.length; i++) {
+            remaining[size + i] = Math.max(0, dailyCapacity[i]);
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            remaining[node] = Math.max(remaining[2 * node], remaining[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Returns the latest day in [1, deadline] with at least one free team, or 0 if none.
+     * Deadlines beyond the horizon are treated as the last day.
+     */
+    public int latestDayWithCapacity(int deadline) {
+        int last = Math.min(deadline, capacity.length) - 1; // as a 0-based leaf index
+        if (last < 0) return 0;
+
+        int index = findLast(1, 0, leaves - 1, last);
+        return index + 1;
+    }
+
+    /**
+     * Uses one team on the given day and returns the team number (1 = first team).
+     */
+    public int take(int day) {
+        int leaf = leaves + day - 1;
+        if (remaining[leaf] <= 0) {
+            throw new IllegalStateException("Day " + day + " has no free team left");
+        }
+
+        int team = capacity[day - 1] - remaining[leaf] + 1;
+
+        remaining[leaf]--;
+        for (int node = leaf >> 1; node >= 1; node >>= 1) {
+            remaining[node] = Math.max(remaining[2 * node], remaining[2 * node + 1]);
+        }
+        return team;
+    }
+
+    // Rightmost leaf index ≤ last inside [lo, hi] with remaining capacity, or -1
+    private int findLast(int node, int lo, int hi, int last) {
+        if (lo > last || remaining[node] == 0) return -1;
+        if (lo == hi) return lo;
+
+        int mid   = (lo + hi) >>> 1;
+        int right = findLast(2 * node + 1, mid + 1, hi, last);
+        return right != -1 ? right : findLast(2 * node, lo, mid, last);
+    }
+}
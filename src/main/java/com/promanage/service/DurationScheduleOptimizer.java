@@ -0,0 +1,180 @@
+package com.promanage.service;
+
+import com.promanage.model.OptimizedSchedule;
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Schedules projects that take more than one day (Project.duration) on a single team.
+ *
+ * With multi-day projects the revenue-first greedy is no longer optimal: one big
+ * project can block several smaller ones that together pay more. This class finds
+ * the best schedule exactly with a dynamic program over the horizon
+ * (the Lawler & Moore algorithm for "maximize revenue of on-time jobs"):
+ *
+ *   1. Any set of projects that can all finish on time can be run in deadline
+ *      order (earliest deadline first), back to back from day 1.
+ *   2. So go through the projects in deadline order and keep, for every number of
+ *      busy days t, the best revenue: best[t] = max(best[t], best[t - duration] + revenue),
+ *      allowed only while t ≤ deadline.
+ *
+ * That is O(projects × horizon) steps ("nodes"). If the node or time budget runs
+ * out first, the DP stops; what it has is still the best schedule of the projects
+ * processed so far, and we return it or the greedy schedule, whichever pays more.
+ *
+ * Every result carries the revenue of the greedy schedule so the optimality gap
+ * can be reported. The greedy is SchedulerService.generateOptimalSchedule()'s rule
+ * (highest revenue first, skip what no longer fits) extended to multi-day projects;
+ * when every project takes one day both give the same revenue.
+ */
+public class DurationScheduleOptimizer {
+
+    public static final long DEFAULT_NODE_BUDGET    = 50_000_000L;
+    public static final long DEFAULT_TIME_BUDGET_MS = 2_000;
+
+    /**
+     * Optimizes with the default node and time budgets.
+     */
+    public OptimizedSchedule optimize(List<Project> projects, int horizon) {
+        return optimize(projects, horizon, DEFAULT_NODE_BUDGET, DEFAULT_TIME_BUDGET_MS);
+    }
+
+    /**
+     * Finds the highest-revenue schedule of multi-day projects within the horizon.
+     * Stops early once nodeBudget DP steps or timeBudgetMillis have been used.
+     */
+    public OptimizedSchedule optimize(List<Project> projects, int horizon, long nodeBudget, long timeBudgetMillis) {
+        if (horizon < 1 || horizon > SchedulerService.MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException(
+                    "Horizon must be between 1 and " + SchedulerService.MAX_HORIZON_DAYS + " days, got " + horizon);
+        }
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + timeBudgetMillis * 1_000_000L;
+
+        // Step 1: Drop projects that can't finish on time even if started on day 1
+        List<Project> fitting = new ArrayList<>();
+        for (Project p : projects) {
+            if (p.getDuration() >= 1 && p.getDuration() <= lastDay(p, horizon)) {
+                fitting.add(p);
+            }
+        }
+
+        // Step 2: The greedy schedule is the baseline and the fallback
+        List<Project> greedy        = greedySelection(fitting, horizon);
+        double        greedyRevenue = totalRevenue(greedy);
+
+        // Step 3: Exact DP in deadline order
+        List<Project> byDeadline = new ArrayList<>(fitting);
+        byDeadline.sort(Comparator.comparingInt((Project p) -> lastDay(p, horizon)));
+
+        double[]     best      = new double[horizon + 1]; // best[t] = revenue with exactly t busy days
+        List<BitSet> takenAt   = new ArrayList<>();       // takenAt.get(j).get(t) = project j used for best[t]
+        long         nodes     = 0;
+        boolean      completed = true;
+
+        Arrays.fill(best, Double.NEGATIVE_INFINITY);
+        best[0] = 0;
+
+        for (Project p : byDeadline) {
+            int last     = lastDay(p, horizon);
+            int duration = p.getDuration();
+            int steps    = last - duration + 1;
+
+            if (nodes + steps > nodeBudget || System.nanoTime() > deadlineNanos) {
+                completed = false; // out of budget: keep the best of what we have
+                break;
+            }
+
+            BitSet taken = new BitSet(last + 1);
+            for (int t = last; t >= duration; t--) {
+                double with = best[t - duration] + p.getRevenue();
+                if (with > best[t]) {
+                    best[t] = with;
+                    taken.set(t);
+                }
+            }
+            takenAt.add(taken);
+            nodes += steps;
+        }
+
+        // Step 4: Walk back through the DP to find which projects were used
+        int bestT = 0;
+        for (int t = 1; t <= horizon; t++) {
+            if (best[t] > best[bestT]) bestT = t;
+        }
+
+        List<Project> exact = new ArrayList<>();
+        for (int j = takenAt.size() - 1, t = bestT; j >= 0 && t > 0; j--) {
+            if (takenAt.get(j).get(t)) {
+                Project p = byDeadline.get(j);
+                exact.add(p);
+                t -= p.getDuration();
+            }
+        }
+
+        List<Project> chosen = totalRevenue(exact) >= greedyRevenue ? exact : greedy;
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        return new OptimizedSchedule(sequence(chosen, horizon), totalRevenue(chosen), greedyRevenue,
+                completed, nodes, elapsedMillis);
+    }
+
+    // Highest revenue first; a project is kept if everything kept so far still finishes on time
+    private List<Project> greedySelection(List<Project> projects, int horizon) {
+        List<Project> sorted = new ArrayList<>(projects);
+        sorted.sort(Comparator.comparingDouble(Project::getRevenue).reversed());
+
+        List<Project> kept = new ArrayList<>(); // always in deadline order
+        for (Project candidate : sorted) {
+            int insertAt = 0;
+            while (insertAt < kept.size() && lastDay(kept.get(insertAt), horizon) <= lastDay(candidate, horizon)) {
+                insertAt++;
+            }
+            kept.add(insertAt, candidate);
+
+            if (!finishesOnTime(kept, horizon)) {
+                kept.remove(insertAt);
+            }
+        }
+        return kept;
+    }
+
+    private boolean finishesOnTime(List<Project> inDeadlineOrder, int horizon) {
+        int busyDays = 0;
+        for (Project p : inDeadlineOrder) {
+            busyDays += p.getDuration();
+            if (busyDays > lastDay(p, horizon)) return false;
+        }
+        return true;
+    }
+
+    // Runs the chosen projects back to back in deadline order starting on day 1
+    private List<ScheduledProject> sequence(List<Project> chosen, int horizon) {
+        List<Project> ordered = new ArrayList<>(chosen);
+        ordered.sort(Comparator.comparingInt((Project p) -> lastDay(p, horizon)));
+
+        List<ScheduledProject> schedule = new ArrayList<>();
+        int day = 1;
+        for (Project p : ordered) {
+            schedule.add(new ScheduledProject(p, day, SchedulerService.dayName(day)));
+            day += p.getDuration();
+        }
+        return schedule;
+    }
+
+    private static int lastDay(Project p, int horizon) {
+        return Math.min(p.getDeadline(), horizon);
+    }
+
+    private static double totalRevenue(List<Project> projects) {
+        double total = 0;
+        for (Project p : projects) total += p.getRevenue();
+        return total;
+    }
+}
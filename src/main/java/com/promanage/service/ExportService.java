@@ -0,0 +1,217 @@
+package com.promanage.service;
+
+import com.promanage.dao.ProjectDAO;
+import com.promanage.dao.ScheduleDAO;
+import com.promanage.model.ExportReport;
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import com.promanage.util.ChannelTextWriter;
+import com.promanage.util.CsvUtil;
+import com.promanage.util.JsonWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Streams saved schedules or projects straight from a database cursor into a
+ * CSV or JSON Lines file (optionally gzip-compressed).
+ *
+ * Nothing is collected in a list: each row is written to a fixed-size buffer
+ * as soon as it arrives, so memory use is the same for 1 week or 10 years of
+ * history. Example:
+ *
+ *   ExportReport r = new ExportService().exportSchedules(Path.of("history.csv.gz"), null, Format.CSV, true);
+ *   System.out.println(r.getRowsPerSecond() + " rows/sec");
+ *
+ * Files are written to "<name>.tmp" first and renamed when complete, so a
+ * failed export never leaves a half-written file under the real name.
+ */
+public class ExportService {
+
+    /** Output formats. JSON Lines = one JSON object per line. */
+    public enum Format {
+        CSV("csv"),
+        JSON_LINES("jsonl");
+
+        private final String label;
+
+        Format(String label) { this.label = label; }
+
+        public String getLabel() { return label; }
+    }
+
+    private static final String SCHEDULE_CSV_HEADER = "week,day,day_name,team,project_code,title,deadline,duration,revenue";
+    private static final String PROJECT_CSV_HEADER  = "project_id,project_code,title,deadline,duration,revenue,created_at";
+
+    private final ScheduleDAO scheduleDAO = new ScheduleDAO();
+    private final ProjectDAO  projectDAO  = new ProjectDAO();
+
+    /**
+     * Exports saved schedules (all weeks when weekLabel is null) to a file.
+     */
+    public ExportReport exportSchedules(Path file, String weekLabel, Format format, boolean gzip)
+            throws SQLException, IOException {
+        Path tmp = tempFileFor(file);
+        try {
+            ExportReport report = exportSchedules(FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), file.toString(), weekLabel, format, gzip);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return report;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Exports saved schedules to any channel (e.g. Channels.newChannel(System.out)).
+     * The channel is closed when done.
+     */
+    public ExportReport exportSchedules(WritableByteChannel channel, String target, String weekLabel,
+                                        Format format, boolean gzip) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+
+        ChannelTextWriter writer = new ChannelTextWriter(channel, gzip);
+        try (writer) {
+            JsonWriter json = new JsonWriter(writer);
+            if (format == Format.CSV) {
+                writer.write(SCHEDULE_CSV_HEADER);
+                writer.write('\n');
+            }
+
+            scheduleDAO.forEachSchedule(weekLabel, (week, sp) -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeScheduleCsv(writer, week, sp);
+                    } else {
+                        writeScheduleJson(json, writer, week, sp);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // unwrapped below
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return new ExportReport("schedules", format.getLabel(), target, rows[0],
+                writer.getBytesWritten(), System.nanoTime() - start);
+    }
+
+    /**
+     * Exports every project to a file.
+     */
+    public ExportReport exportProjects(Path file, Format format, boolean gzip) throws SQLException, IOException {
+        Path tmp = tempFileFor(file);
+        try {
+            ExportReport report = exportProjects(FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), file.toString(), format, gzip);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return report;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Exports every project to any channel. The channel is closed when done.
+     */
+    public ExportReport exportProjects(WritableByteChannel channel, String target, Format format, boolean gzip)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+
+        ChannelTextWriter writer = new ChannelTextWriter(channel, gzip);
+        try (writer) {
+            JsonWriter json = new JsonWriter(writer);
+            if (format == Format.CSV) {
+                writer.write(PROJECT_CSV_HEADER);
+                writer.write('\n');
+            }
+
+            projectDAO.forEachProject(p -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeProjectCsv(writer, p);
+                    } else {
+                        writeProjectJson(json, writer, p);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // unwrapped below
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return new ExportReport("projects", format.getLabel(), target, rows[0],
+                writer.getBytesWritten(), System.nanoTime() - start);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ROW WRITERS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // Same columns as the CLI "schedule --format csv" output
+    private static void writeScheduleCsv(Writer out, String week, ScheduledProject sp) throws IOException {
+        Project p = sp.getProject();
+        out.write(CsvUtil.line(week, sp.getAssignedDay(), sp.getDayName(), sp.getTeam(),
+                p.getProjectCode(), p.getTitle(), p.getDeadline(), p.getDuration(), amount(p.getRevenue())));
+        out.write('\n');
+    }
+
+    private static void writeScheduleJson(JsonWriter json, Writer out, String week, ScheduledProject sp)
+            throws IOException {
+        Project p = sp.getProject();
+        json.beginObject()
+                .name("week").value(week)
+                .name("day").value(sp.getAssignedDay())
+                .name("dayName").value(sp.getDayName())
+                .name("team").value(sp.getTeam())
+                .name("code").value(p.getProjectCode())
+                .name("title").value(p.getTitle())
+                .name("deadline").value(p.getDeadline())
+                .name("duration").value(p.getDuration())
+                .name("revenue").value(p.getRevenue())
+            .endObject();
+        out.write('\n');
+    }
+
+    private static void writeProjectCsv(Writer out, Project p) throws IOException {
+        out.write(CsvUtil.line(p.getProjectId(), p.getProjectCode(), p.getTitle(), p.getDeadline(),
+                p.getDuration(), amount(p.getRevenue()), p.getCreatedAt()));
+        out.write('\n');
+    }
+
+    private static void writeProjectJson(JsonWriter json, Writer out, Project p) throws IOException {
+        json.beginObject()
+                .name("id").value(p.getProjectId())
+                .name("code").value(p.getProjectCode())
+                .name("title").value(p.getTitle())
+                .name("deadline").value(p.getDeadline())
+                .name("duration").value(p.getDuration())
+                .name("revenue").value(p.getRevenue())
+                .name("createdAt").value(p.getCreatedAt() == null ? null : p.getCreatedAt().toString())
+            .endObject();
+        out.write('\n');
+    }
+
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static Path tempFileFor(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+}
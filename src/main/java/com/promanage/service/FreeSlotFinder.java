@@ -0,0 +1,51 @@
+package com.promanage.service;
+
+/**
+ * Disjoint-set ("union-find") structure that answers:
+ * "what is the latest free day at or before day d?"
+ *
+ * Every day points to a parent. A free day is its own parent; a taken day points
+ * to the day before it. Following parents from d therefore lands on the latest
+ * free day ≤ d, and day 0 is a sentinel meaning "no free day left".
+ *
+ * With path compression each lookup is near-constant time (inverse Ackermann),
+ * instead of scanning backwards day by day.
+ *
+ * Example (5 days, days 4 and 5 taken):
+ *   parent = [0, 1, 2, 3, 3, 4]
+ *   latestFreeAtOrBefore(5) → 5 → 4 → 3  (day 3 is free)
+ */
+public class FreeSlotFinder {
+
+    private final int[] parent;
+
+    public FreeSlotFinder(int days) {
+        parent = new int[days + 1];
+        for (int d = 0; d <= days; d++) {
+            parent[d] = d;
+        }
+    }
+
+    /**
+     * Returns the latest free day in [1, day], or 0 if every one of them is taken.
+     * Days beyond the horizon are treated as the last day.
+     */
+    public int latestFreeAtOrBefore(int day) {
+        int d = Math.min(day, parent.length - 1);
+        if (d <= 0) return 0;
+
+        // Find the root, halving the path as we go
+        while (parent[d] != d) {
+            parent[d] = parent[parent[d]];
+            d = parent[d];
+        }
+        return d;
+    }
+
+    /**
+     * Marks a free day as taken by linking it to the day before it.
+     */
+    public void take(int day) {
+        parent[day] = day - 1;
+    }
+}
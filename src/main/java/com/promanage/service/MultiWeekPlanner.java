@@ -0,0 +1,121 @@
+package com.promanage.service;
+
+import com.promanage.dao.ProjectDAO;
+import com.promanage.dao.ScheduleDAO;
+import com.promanage.model.MultiWeekPlan;
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import com.promanage.util.WeekLabelUtil;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans the next K weeks in one go.
+ *
+ * The K weeks are one horizon of 5 × K working days, and the normal greedy picks
+ * the projects for all of it at once, so a well-paid project with a late deadline
+ * can't take a week-1 day that a project due this week needed. Deadlines are
+ * working days from the start of week 1.
+ *
+ * The greedy puts each project on the latest day before its deadline. The chosen
+ * projects are then moved as early as possible, in deadline order, so week 1 fills
+ * up first; every project still finishes by its deadline. Day d of the horizon
+ * becomes day (d - 1) % 5 + 1 of week (d - 1) / 5 + 1.
+ *
+ * Example (1 team, 2 weeks):
+ *   5 projects due day 10 paying 200, 5 projects due day 5 paying 100
+ *   → week 1: the five due day 5, week 2: the five due day 10 = 1,500
+ */
+public class MultiWeekPlanner {
+
+    public static final int MAX_WEEKS = 52;
+
+    private final SchedulerService schedulerSvc = new SchedulerService();
+    private final ProjectDAO       projectDAO   = new ProjectDAO();
+    private final ScheduleDAO      scheduleDAO  = new ScheduleDAO();
+
+    /**
+     * Plans {@code weeks} weeks starting with the current one, reading candidates from the DB.
+     *
+     * Uses SchedulerService.generateOptimalScheduleFromDatabase() over the 5 × K day
+     * horizon, so only the projects that can still win a day are loaded.
+     */
+    public MultiWeekPlan planFromDatabase(int weeks, int teams) throws SQLException {
+        validate(weeks, teams);
+
+        int                    horizon      = weeks * SchedulerService.WORK_WEEK_DAYS;
+        List<ScheduledProject> schedule     = schedulerSvc.generateOptimalScheduleFromDatabase(horizon, teams);
+        int                    projectCount = projectDAO.countProjects();
+
+        return new MultiWeekPlan(splitIntoWeeks(schedule, LocalDate.now(), teams),
+                projectCount, projectCount - schedule.size());
+    }
+
+    /**
+     * Plans {@code weeks} consecutive weeks, the first being the week of {@code firstWeek}.
+     * Projects that fit in none of them are counted as left over.
+     */
+    public MultiWeekPlan plan(List<Project> projects, LocalDate firstWeek, int weeks, int teams) {
+        validate(weeks, teams);
+
+        int                    horizon  = weeks * SchedulerService.WORK_WEEK_DAYS;
+        List<ScheduledProject> schedule = schedulerSvc.generateOptimalSchedule(projects, horizon, teams);
+
+        return new MultiWeekPlan(splitIntoWeeks(schedule, firstWeek, teams),
+                projects.size(), projects.size() - schedule.size());
+    }
+
+    /**
+     * Saves every week of the plan in a single transaction.
+     */
+    public void savePlan(MultiWeekPlan plan) throws SQLException {
+        scheduleDAO.saveSchedules(plan.getWeeks());
+    }
+
+    // Moves the chosen projects to the earliest days in deadline order, then cuts the
+    // horizon into weeks. Weeks after the last one with a project are left out.
+    private static Map<String, List<ScheduledProject>> splitIntoWeeks(List<ScheduledProject> schedule,
+                                                                      LocalDate firstWeek, int teams) {
+        // Step 1: Earliest deadline first; the greedy's days break ties, so the order is stable
+        List<ScheduledProject> byDeadline = new ArrayList<>(schedule);
+        byDeadline.sort(Comparator.comparingInt((ScheduledProject sp) -> sp.getProject().getDeadline())
+                                  .thenComparingInt(ScheduledProject::getAssignedDay));
+
+        // Step 2: Slot i is day i / teams + 1. The greedy's choice fits every deadline,
+        //         so at most teams × d of these projects are due by day d and none moves late.
+        Map<String, List<ScheduledProject>> weeks = new LinkedHashMap<>();
+        int lastWeek = byDeadline.isEmpty()
+                ? 0 : ((byDeadline.size() - 1) / teams) / SchedulerService.WORK_WEEK_DAYS + 1;
+        for (int w = 0; w < lastWeek; w++) {
+            weeks.put(WeekLabelUtil.weekLabelFor(firstWeek.plusWeeks(w)), new ArrayList<>());
+        }
+
+        List<List<ScheduledProject>> byWeek = new ArrayList<>(weeks.values());
+        for (int i = 0; i < byDeadline.size(); i++) {
+            int day       = i / teams + 1;
+            int week      = (day - 1) / SchedulerService.WORK_WEEK_DAYS;
+            int dayInWeek = (day - 1) % SchedulerService.WORK_WEEK_DAYS + 1;
+            int team      = i % teams + 1;
+
+            byWeek.get(week).add(new ScheduledProject(byDeadline.get(i).getProject(), dayInWeek,
+                    SchedulerService.dayName(dayInWeek), team));
+        }
+        return weeks;
+    }
+
+    private static void validate(int weeks, int teams) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new IllegalArgumentException("Weeks must be between 1 and " + MAX_WEEKS + ", got " + weeks);
+        }
+        if (teams < 1 || teams > SchedulerService.MAX_TEAMS) {
+            throw new IllegalArgumentException(
+                    "Teams must be between 1 and " + SchedulerService.MAX_TEAMS + ", got " + teams);
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package com.promanage.service;
+
+import com.promanage.dao.BulkInsertMode;
+import com.promanage.dao.ProjectDAO;
+import com.promanage.model.ImportReport;
+import com.promanage.model.Project;
+import com.promanage.util.ChannelTextWriter;
+import com.promanage.util.CsvUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports a large project backlog CSV (title,deadline,revenue[,duration]).
+ *
+ * How it stays fast:
+ *   1. The file is memory-mapped, not read through a Reader, and cut into one
+ *      chunk per thread (more for very big files), each ending at a line break.
+ *   2. Every thread parses its chunk straight from the mapped bytes. Numbers are
+ *      read digit by digit; the only String made per row is the title itself.
+ *   3. Valid rows are handed to ProjectDAO.addProjects() batchSize at a time
+ *      (COPY by default), so several COPY streams run side by side.
+ *
+ * Rows are checked against the projects table constraints before they reach the
+ * database. A bad row does not stop the import: it is written to the reject file
+ * ("line,reason,content", line numbers as in the input file) and the rest go on.
+ *
+ * Each batch is committed on its own, so if the database fails half way the
+ * batches already committed stay in (the error says how many rows that was).
+ *
+ * Limitation: quoted titles may contain commas and "" but not line breaks,
+ * because chunks are split at line breaks. Such rows end up in the reject file.
+ */
+public class ProjectCsvImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 50_000;
+
+    // One mapping can't exceed 2 GB; smaller chunks also share the work out better
+    private static final long MAX_CHUNK_BYTES = 256L << 20;
+
+    // Same limits as the CHECK constraints and types of the projects table
+    private static final int  MAX_TITLE_LENGTH  = 255;
+    private static final long MAX_REVENUE_CENTS = 999_999_999_999L; // DECIMAL(12,2)
+
+    private static final String FORMAT_ERROR = "expected title,deadline,revenue[,duration]";
+
+    private final ProjectDAO     projectDAO = new ProjectDAO();
+    private final BulkInsertMode mode;
+    private final int            batchSize;
+    private final int            threads;
+
+    public ProjectCsvImporter() {
+        this(BulkInsertMode.COPY, DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ProjectCsvImporter(BulkInsertMode mode, int batchSize, int threads) {
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+        if (threads < 1)   throw new IllegalArgumentException("Threads must be at least 1");
+        this.mode      = mode;
+        this.batchSize = batchSize;
+        this.threads   = threads;
+    }
+
+    /**
+     * Imports the file. Rejected rows go to rejectFile (or "<file>.rejects.csv" when
+     * null), which is only created when something is rejected; an old reject file
+     * with the same name is removed first.
+     */
+    public ImportReport importFile(Path file, Path rejectFile) throws SQLException, IOException {
+        long start = System.nanoTime();
+        Path rejects = rejectFile != null ? rejectFile : file.resolveSibling(file.getFileName() + ".rejects.csv");
+        Files.deleteIfExists(rejects);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long   size       = channel.size();
+            long[] boundaries = splitAtLineBreaks(channel, size);
+            int    chunks     = boundaries.length - 1;
+
+            // Step 1: Parse and insert every chunk in parallel
+            AtomicBoolean failed   = new AtomicBoolean();
+            AtomicLong    imported = new AtomicLong();
+            ChunkResult[] results  = new ChunkResult[chunks];
+            Path[]        parts    = new Path[chunks];
+
+            AtomicInteger   threadNumber = new AtomicInteger();
+            ExecutorService workers      = Executors.newFixedThreadPool(Math.min(threads, chunks), r -> {
+                Thread t = new Thread(r, "promanage-import-" + threadNumber.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+            try {
+                List<Future<ChunkResult>> futures = new ArrayList<>(chunks);
+                for (int i = 0; i < chunks; i++) {
+                    int index = i;
+                    parts[i] = rejects.resolveSibling(rejects.getFileName() + ".part" + i);
+                    futures.add(workers.submit(() -> importChunk(channel, index, boundaries[index],
+                            boundaries[index + 1], parts[index], failed, imported)));
+                }
+                awaitAll(futures, results, failed, imported);
+
+                // Step 2: Merge the per-chunk rejects into one file with real line numbers
+                long rowsRead = 0;
+                long rejected = 0;
+                for (ChunkResult r : results) {
+                    rowsRead += r.rowsRead();
+                    rejected += r.rejected();
+                }
+                if (rejected > 0) {
+                    mergeRejects(parts, results, rejects);
+                }
+
+                return new ImportReport(file.toString(), size, chunks, rowsRead, imported.get(), rejected,
+                        rejected > 0 ? rejects.toString() : null, System.nanoTime() - start);
+
+            } finally {
+                // Not shutdownNow(): an interrupt would close the shared FileChannel
+                workers.shutdown();
+                for (Path part : parts) {
+                    if (part != null) Files.deleteIfExists(part);
+                }
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CHUNKS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // Lines seen (including blank ones), data rows, and rows rejected in one chunk
+    private record ChunkResult(long lines, long rowsRead, long rejected) {}
+
+    // Chunk start offsets plus the file size; every chunk starts right after a '\n'
+    long[] splitAtLineBreaks(FileChannel channel, long size) throws IOException {
+        int wanted = (int) Math.max(threads, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        if (size == 0) wanted = 1;
+
+        long[]     cuts = new long[wanted + 1];
+        int        n    = 1;
+        ByteBuffer scan = ByteBuffer.allocate(8192);
+        for (int i = 1; i < wanted; i++) {
+            long cut = nextLineStart(channel, Math.max(size / wanted * i, cuts[n - 1]), size, scan);
+            if (cut > cuts[n - 1] && cut < size) cuts[n++] = cut;
+        }
+        cuts[n++] = size;
+
+        long[] boundaries = Arrays.copyOf(cuts, n);
+        for (int i = 0; i + 1 < boundaries.length; i++) {
+            if (boundaries[i + 1] - boundaries[i] > Integer.MAX_VALUE) {
+                throw new IOException("Line too long near byte " + boundaries[i]);
+            }
+        }
+        return boundaries;
+    }
+
+    // Offset just after the first '\n' at or after from (size if there is none)
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer scan) throws IOException {
+        long pos = from;
+        while (pos < size) {
+            scan.clear();
+            int read = channel.read(scan, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private ChunkResult importChunk(FileChannel channel, int index, long from, long to, Path rejectPart,
+                                    AtomicBoolean failed, AtomicLong imported) throws IOException, SQLException {
+        MappedByteBuffer buf   = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int              limit = buf.limit();
+        int              pos   = 0;
+
+        // Skip a UTF-8 byte order mark at the very start of the file
+        if (index == 0 && limit >= 3 && buf.get(0) == (byte) 0xEF && buf.get(1) == (byte) 0xBB
+                && buf.get(2) == (byte) 0xBF) {
+            pos = 3;
+        }
+
+        RowParser         parser   = new RowParser();
+        List<Project>     batch    = new ArrayList<>(Math.min(batchSize, 65_536));
+        ChannelTextWriter rejects  = null;
+        long              lines    = 0;
+        long              rowsRead = 0;
+        long              rejected = 0;
+
+        try {
+            while (pos < limit) {
+                int eol = pos;
+                while (eol < limit && buf.get(eol) != '\n') eol++;
+                int end = eol > pos && buf.get(eol - 1) == '\r' ? eol - 1 : eol;
+                lines++;
+
+                boolean skip = isBlank(buf, pos, end) || (index == 0 && lines == 1 && isHeader(buf, pos, end));
+                if (!skip) {
+                    rowsRead++;
+                    String error = parser.parse(buf, pos, end);
+                    if (error == null) {
+                        Project project = new Project(null, parser.title, parser.deadline, parser.revenueCents / 100.0);
+                        project.setDuration(parser.duration);
+                        batch.add(project);
+                        if (batch.size() == batchSize) {
+                            insert(batch, failed, imported);
+                        }
+                    } else {
+                        if (rejects == null) {
+                            rejects = new ChannelTextWriter(FileChannel.open(rejectPart, StandardOpenOption.CREATE,
+                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), false);
+                        }
+                        // Local line number first; mergeRejects() turns it into the file's line number
+                        rejects.write(CsvUtil.line(lines, error, decode(buf, pos, end)));
+                        rejects.write('\n');
+                        rejected++;
+                    }
+                }
+                pos = eol + 1;
+            }
+            insert(batch, failed, imported);
+
+        } catch (IOException | SQLException | RuntimeException e) {
+            failed.set(true);
+            throw e;
+        } finally {
+            if (rejects != null) rejects.close();
+        }
+        return new ChunkResult(lines, rowsRead, rejected);
+    }
+
+    // Thrown by chunks that stop because another chunk failed
+    private static final class ImportCancelled extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ImportCancelled() {
+            super("Import cancelled because another chunk failed");
+        }
+    }
+
+    private void insert(List<Project> batch, AtomicBoolean failed, AtomicLong imported) throws SQLException {
+        if (batch.isEmpty()) return;
+        if (failed.get()) {
+            throw new ImportCancelled();
+        }
+        projectDAO.addProjects(batch, mode, batchSize);
+        imported.addAndGet(batch.size());
+        batch.clear();
+    }
+
+    // Waits for every chunk, then rethrows the first real failure with how far the import got
+    private static void awaitAll(List<Future<ChunkResult>> futures, ChunkResult[] results,
+                                 AtomicBoolean failed, AtomicLong imported) throws SQLException, IOException {
+        Throwable firstFailure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results[i] = futures.get(i).get();
+            } catch (InterruptedException e) {
+                failed.set(true);
+                Thread.currentThread().interrupt();
+                throw new IOException("Import interrupted after " + imported.get() + " rows were imported", e);
+            } catch (ExecutionException e) {
+                if (firstFailure == null && !(e.getCause() instanceof ImportCancelled)) {
+                    firstFailure = e.getCause();
+                }
+            }
+        }
+
+        if (firstFailure instanceof SQLException sql) {
+            throw new SQLException(sql.getMessage() + " (" + imported.get()
+                    + " rows were already imported)", sql.getSQLState(), sql);
+        }
+        if (firstFailure instanceof IOException io) throw io;
+        if (firstFailure instanceof RuntimeException re) throw re;
+        if (firstFailure != null) throw new IllegalStateException(firstFailure);
+    }
+
+    // Copies each part into the reject file, adding the chunk's first line number to every record
+    private static void mergeRejects(Path[] parts, ChunkResult[] results, Path rejects) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(rejects), 1 << 16)) {
+            out.write("line,reason,content\n".getBytes(StandardCharsets.UTF_8));
+
+            long lineOffset = 0;
+            for (int i = 0; i < parts.length; i++) {
+                if (results[i].rejected() > 0) {
+                    try (InputStream in = new BufferedInputStream(Files.newInputStream(parts[i]), 1 << 16)) {
+                        int b = in.read();
+                        while (b != -1) {
+                            long local = 0;
+                            while (b != ',') {
+                                local = local * 10 + (b - '0');
+                                b = in.read();
+                            }
+                            out.write(Long.toString(lineOffset + local).getBytes(StandardCharsets.US_ASCII));
+                            while (b != '\n') { // content never holds a raw '\n'
+                                out.write(b);
+                                b = in.read();
+                            }
+                            out.write('\n');
+                            b = in.read();
+                        }
+                    }
+                }
+                lineOffset += results[i].lines();
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  BYTE-LEVEL PARSING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static boolean isBlank(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b != ' ' && b != '\t') return false;
+        }
+        return true;
+    }
+
+    // The first line is a header only if it is exactly title,deadline,revenue[,duration]
+    // (any case, spaces around names allowed), so a project called "Title page" is kept
+    static boolean isHeader(ByteBuffer buf, int from, int to) {
+        List<String> names;
+        try {
+            names = CsvUtil.parseLine(decode(buf, from, to));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        List<String> expected = List.of("title", "deadline", "revenue", "duration");
+        if (names.size() != 3 && names.size() != 4) return false;
+        for (int i = 0; i < names.size(); i++) {
+            if (!names.get(i).trim().equalsIgnoreCase(expected.get(i))) return false;
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads one line into its public fields, or returns why the line is invalid.
+     * One instance per thread; the title bytes are collected in a reused array.
+     */
+    static final class RowParser {
+
+        private static final long NOT_A_NUMBER = -1;
+
+        String title;
+        int    deadline;
+        long   revenueCents;
+        int    duration;
+
+        private byte[] scratch = new byte[512];
+        private int    pos;
+
+        String parse(ByteBuffer buf, int from, int to) {
+            pos = from;
+
+            // title (quoted or not)
+            String error = readTitle(buf, to);
+            if (error != null) return error;
+            if (!comma(buf, to)) return FORMAT_ERROR;
+
+            // deadline
+            long value = readInt(buf, to);
+            if (value == NOT_A_NUMBER) return "deadline is not a number";
+            if (value < 1 || value > SchedulerService.MAX_HORIZON_DAYS) {
+                return "deadline must be between 1 and " + SchedulerService.MAX_HORIZON_DAYS;
+            }
+            deadline = (int) value;
+            if (!comma(buf, to)) return FORMAT_ERROR;
+
+            // revenue
+            value = readCents(buf, to);
+            if (value == NOT_A_NUMBER) return "revenue is not a number";
+            if (value <= 0) return "revenue must be greater than 0";
+            if (value > MAX_REVENUE_CENTS) return "revenue must be at most 9999999999.99";
+            revenueCents = value;
+
+            // optional duration
+            duration = 1;
+            if (pos < to) {
+                if (!comma(buf, to)) return FORMAT_ERROR;
+                value = readInt(buf, to);
+                if (value == NOT_A_NUMBER) return "duration is not a number";
+                if (value < 1 || value > deadline) return "duration must be between 1 and " + deadline;
+                duration = (int) value;
+                if (pos < to) return FORMAT_ERROR;
+            }
+            return null;
+        }
+
+        private String readTitle(ByteBuffer buf, int to) {
+            int length = 0;
+            if (pos < to && buf.get(pos) == '"') {
+                pos++;
+                while (true) {
+                    if (pos >= to) return "title has no closing quote";
+                    byte b = buf.get(pos++);
+                    if (b == '"') {
+                        if (pos < to && buf.get(pos) == '"') {
+                            pos++; // "" inside quotes = one "
+                        } else {
+                            break;
+                        }
+                    }
+                    length = append(length, b);
+                }
+                if (pos < to && buf.get(pos) != ',') return FORMAT_ERROR;
+            } else {
+                while (pos < to && buf.get(pos) != ',') {
+                    length = append(length, buf.get(pos++));
+                }
+            }
+
+            int start = 0;
+            while (start < length && (scratch[start] == ' ' || scratch[start] == '\t')) start++;
+            while (length > start && (scratch[length - 1] == ' ' || scratch[length - 1] == '\t')) length--;
+
+            // VARCHAR(255) counts characters, so an emoji (two chars in Java) counts once
+            title = new String(scratch, start, length - start, StandardCharsets.UTF_8);
+            if (title.isEmpty() || title.codePointCount(0, title.length()) > MAX_TITLE_LENGTH) {
+                return "title must be 1 to " + MAX_TITLE_LENGTH + " characters";
+            }
+            return null;
+        }
+
+        private int append(int length, byte b) {
+            if (length == scratch.length) scratch = Arrays.copyOf(scratch, length * 2);
+            scratch[length] = b;
+            return length + 1;
+        }
+
+        private boolean comma(ByteBuffer buf, int to) {
+            if (pos < to && buf.get(pos) == ',') {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        // Whole number up to the next ',' (spaces around it allowed); large values saturate
+        private long readInt(ByteBuffer buf, int to) {
+            skipSpaces(buf, to);
+            long value  = 0;
+            int  digits = 0;
+            while (pos < to && isDigit(buf.get(pos))) {
+                value = Math.min(value * 10 + (buf.get(pos++) - '0'), Integer.MAX_VALUE);
+                digits++;
+            }
+            skipSpaces(buf, to);
+            return digits == 0 || (pos < to && buf.get(pos) != ',') ? NOT_A_NUMBER : value;
+        }
+
+        // Decimal amount in paise, rounded half up to two decimals; large values saturate
+        private long readCents(ByteBuffer buf, int to) {
+            skipSpaces(buf, to);
+            long value  = 0;
+            int  digits = 0;
+            while (pos < to && isDigit(buf.get(pos))) {
+                value = Math.min(value * 10 + (buf.get(pos++) - '0'), MAX_REVENUE_CENTS);
+                digits++;
+            }
+            value *= 100;
+
+            if (pos < to && buf.get(pos) == '.') {
+                pos++;
+                int decimals = 0;
+                while (pos < to && isDigit(buf.get(pos))) {
+                    int d = buf.get(pos++) - '0';
+                    if (decimals == 0)      value += d * 10;
+                    else if (decimals == 1) value += d;
+                    else if (decimals == 2 && d >= 5) value++;
+                    decimals++;
+                    digits++;
+                }
+            }
+            skipSpaces(buf, to);
+            return digits == 0 || (pos < to && buf.get(pos) != ',') ? NOT_A_NUMBER : value;
+        }
+
+        private void skipSpaces(ByteBuffer buf, int to) {
+            while (pos < to && (buf.get(pos) == ' ' || buf.get(pos) == '\t')) pos++;
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+}
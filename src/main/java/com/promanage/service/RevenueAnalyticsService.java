@@ -1,142 +1,123 @@
 package com.promanage.service;
 
+import com.promanage.dao.AsyncDAO;
 import com.promanage.dao.ScheduleDAO;
 import com.promanage.model.MonthlyRevenueSummary;
+import com.promanage.model.RevenueForecast;
+import com.promanage.model.RevenueForecastState;
 import com.promanage.model.ScheduledProject;
 
 import java.sql.SQLException;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class RevenueAnalyticsService {
 
     private final ScheduleDAO scheduleDAO = new ScheduleDAO();
+    private final AsyncDAO    asyncDAO    = new AsyncDAO();
 
-    // Full month names for display
-    private static final String[] MONTH_NAMES = {
-        "", "January", "February", "March", "April", "May", "June",
-        "July", "August", "September", "October", "November", "December"
-    };
+    /** Revenue and number of scheduled projects of one saved week. */
+    public record WeekTotal(String weekLabel, int projects, double revenue) {}
+
+    // Schedule history for ad-hoc analytics, loaded on first use
+    private ScheduleColumnStore history;
+    private long                historyWriteCount = -1;
 
     /**
      * FEATURE 1 — Monthly Revenue Summary
      *
-     * Reads all saved weekly schedules from the DB.
-     * Groups them by month (extracted from week_label like "Week-2024-03").
-     * Calculates: total revenue, number of projects, number of weeks for each month.
+     * Groups all saved weekly schedules by month (derived from week_label like "Week-2024-03")
+     * and returns: total revenue, number of projects, number of weeks for each month.
+     *
+     * Reads the monthly_revenue_rollup table, which saveSchedule() keeps up to date,
+     * so this costs one row per month no matter how many weeks are saved.
+     * Schema migration 1 fills the rollup from the weeks saved before it existed.
+     * If it is still empty while schedules exist (e.g. it was emptied by hand), it is
+     * rebuilt once from the base tables.
      */
     public List<MonthlyRevenueSummary> getMonthlyRevenueSummary() throws SQLException {
+        List<MonthlyRevenueSummary> summaries = scheduleDAO.getMonthlyRevenueRollup();
 
-        // Get all week labels saved in the database
-        List<String> weekLabels = scheduleDAO.getAllWeekLabels();
-
-        if (weekLabels.isEmpty()) {
-            return new ArrayList<>();
+        if (summaries.isEmpty() && scheduleDAO.hasSchedules()) {
+            scheduleDAO.rebuildMonthlyRevenueRollup();
+            summaries = scheduleDAO.getMonthlyRevenueRollup();
         }
-
-        // Map: "YYYY-MM" → [totalRevenue, projectCount, weekCount]
-        // Using LinkedHashMap to keep month order
-        Map<String, double[]> monthData = new LinkedHashMap<>();
-
-        for (String weekLabel : weekLabels) {
-            // weekLabel format: "Week-2024-03"  (Year-WeekNumber)
-            // We'll convert ISO week number to approximate month
-            String yearMonth = weekLabelToYearMonth(weekLabel);
-            if (yearMonth == null) continue;
-
-            // Get all projects scheduled in this week
-            List<ScheduledProject> scheduled = scheduleDAO.getScheduleByWeek(weekLabel);
-
-            double weekRevenue = scheduled.stream()
-                    .mapToDouble(sp -> sp.getProject().getRevenue())
-                    .sum();
-
-            // Initialize if this month hasn't been seen yet
-            monthData.putIfAbsent(yearMonth, new double[]{0, 0, 0});
-
-            double[] data = monthData.get(yearMonth);
-            data[0] += weekRevenue;          // total revenue
-            data[1] += scheduled.size();     // total projects
-            data[2] += 1;                    // weeks counted
-        }
-
-        // Convert the map to a list of MonthlyRevenueSummary objects
-        List<MonthlyRevenueSummary> summaries = new ArrayList<>();
-
-        for (Map.Entry<String, double[]> entry : monthData.entrySet()) {
-            String[] parts = entry.getKey().split("-");
-            int    year    = Integer.parseInt(parts[0]);
-            int    month   = Integer.parseInt(parts[1]);
-            double[] data  = entry.getValue();
-
-            summaries.add(new MonthlyRevenueSummary(
-                    year,
-                    month,
-                    MONTH_NAMES[month],
-                    data[0],
-                    (int) data[1],
-                    (int) data[2]
-            ));
-        }
-
         return summaries;
     }
 
     /**
-     * FEATURE 2 — Predicted Revenue for Next Month
-     *
-     * Takes the average of all past months' revenue and uses that
-     * as a simple prediction for next month.
-     *
-     * Formula: Predicted = Sum of all monthly revenues / Number of months
-     *
-     * If fewer than 2 months of data exist, we note the prediction may not be reliable.
+     * Recomputes the monthly rollup from the schedules table.
+     * Returns the number of months in the rebuilt rollup.
      */
-    public double predictNextMonthRevenue(List<MonthlyRevenueSummary> summaries) {
-        if (summaries.isEmpty()) return 0;
-
-        double total = summaries.stream()
-                .mapToDouble(MonthlyRevenueSummary::getTotalRevenue)
-                .sum();
+    public int rebuildMonthlyRevenueRollup() throws SQLException {
+        return scheduleDAO.rebuildMonthlyRevenueRollup();
+    }
 
-        return total / summaries.size(); // simple moving average
+    /**
+     * Totals of the latest {@code weeks} saved weeks, oldest first.
+     *
+     * The weeks are loaded in parallel through AsyncDAO (one query per week that is
+     * not already in the schedule cache), so ten uncached weeks cost about as long
+     * as the slowest one instead of all ten one after another.
+     */
+    public List<WeekTotal> getRecentWeekTotals(int weeks) throws SQLException {
+        List<String> labels = AsyncDAO.await(asyncDAO.getAllWeekLabels());
+        List<String> recent = labels.subList(Math.max(0, labels.size() - weeks), labels.size());
+
+        Map<String, List<ScheduledProject>> byWeek = AsyncDAO.await(asyncDAO.getSchedulesByWeeks(recent));
+
+        List<WeekTotal> totals = new ArrayList<>(byWeek.size());
+        for (Map.Entry<String, List<ScheduledProject>> e : byWeek.entrySet()) {
+            double revenue = 0;
+            for (ScheduledProject sp : e.getValue()) {
+                revenue += sp.getProject().getRevenue();
+            }
+            totals.add(new WeekTotal(e.getKey(), e.getValue().size(), revenue));
+        }
+        return totals;
     }
 
     /**
-     * Returns how confident the prediction is based on how many months of data we have.
+     * Returns every saved schedule row as a columnar store (see ScheduleColumnStore).
+     * Loaded from the database once and reused; reloaded only after this program
+     * saves schedules again.
      */
-    public String getPredictionConfidence(int monthCount) {
-        if (monthCount >= 6) return "High (6+ months of data)";
-        if (monthCount >= 3) return "Medium (3-5 months of data)";
-        if (monthCount >= 2) return "Low (2 months of data)";
-        return "Very Low (only 1 month — need more data for reliable prediction)";
+    public synchronized ScheduleColumnStore getScheduleHistory() throws SQLException {
+        long writes = ScheduleDAO.getScheduleWriteCount();
+        if (history == null || writes != historyWriteCount) {
+            history           = ScheduleColumnStore.load(scheduleDAO);
+            historyWriteCount = writes;
+        }
+        return history;
     }
 
     /**
-     * Converts a week label like "Week-2024-03" to a "YYYY-MM" string.
+     * FEATURE 2 — Predicted Revenue for Next Month
      *
-     * ISO Week 1-4   → Month 1  (January)
-     * ISO Week 5-8   → Month 2  (February)
-     * ISO Week 9-13  → Month 3  (March)
-     * ... etc.
+     * Holt-Winters exponential smoothing (level + trend + week-of-month and
+     * month-of-year patterns, see RevenueForecastState). The state is updated
+     * by every saveSchedule() in O(1), so predicting reads one row instead of
+     * the whole history. The result has 80% and 95% prediction intervals.
      *
-     * This is an approximation. Accurate enough for a scheduling system.
+     * Returns null when no week has been saved yet. If the state is missing or
+     * stale (an older week was changed), it is rebuilt once from the saved weeks.
      */
-    private String weekLabelToYearMonth(String weekLabel) {
-        try {
-            // Format: "Week-2024-03"
-            String[] parts   = weekLabel.split("-");
-            int      year    = Integer.parseInt(parts[1]);
-            int      weekNum = Integer.parseInt(parts[2]);
-
-            // Approximate: every 4-5 weeks = 1 month
-            int month = (int) Math.ceil(weekNum / 4.333);
-            if (month < 1)  month = 1;
-            if (month > 12) month = 12;
-
-            return String.format("%d-%02d", year, month);
-
-        } catch (Exception e) {
-            return null; // skip malformed labels
+    public RevenueForecast forecastNextMonthRevenue() throws SQLException {
+        RevenueForecastState state = scheduleDAO.getRevenueForecastState();
+
+        if (state == null && scheduleDAO.hasSchedules()) {
+            scheduleDAO.rebuildRevenueForecastState();
+            state = scheduleDAO.getRevenueForecastState();
         }
+        return state == null ? null : state.forecastNextMonth();
+    }
+
+    /**
+     * Recomputes the forecast state from every saved week.
+     * Returns the number of weeks used.
+     */
+    public int rebuildRevenueForecast() throws SQLException {
+        return scheduleDAO.rebuildRevenueForecastState();
     }
 }
@@ -0,0 +1,309 @@
+package com.promanage.service;
+
+import com.promanage.dao.ScheduleDAO;
+import com.promanage.model.MonthlyRevenueSummary;
+import com.promanage.util.WeekLabelUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Every saved schedule row, stored column by column in primitive arrays.
+ *
+ * Instead of one ScheduledProject + Project object per row (title String,
+ * Timestamp, ...), a row is just four array slots:
+ *
+ *   weekIndex[i]   which week (index into weekLabels / weekYear / weekNumber)
+ *   dayOfWeek[i]   0 = Monday .. 4 = Friday (assigned_day can go up to 366,
+ *                  so the full day doesn't fit a byte; the weekday does)
+ *   projectId[i]   project_id
+ *   revenueCents[i] the project's revenue in paise, exact (no double rounding)
+ *
+ * That is ~17 bytes per row, so millions of rows fit in memory, and the
+ * aggregation loops are plain array scans the JIT can unroll and vectorize.
+ * Every aggregation is split over the common fork-join pool: each task sums
+ * its slice into its own small array, and the partial arrays are added up.
+ *
+ * The store is a snapshot: it never changes after load().
+ */
+public class ScheduleColumnStore {
+
+    // Slices smaller than this are not split further
+    private static final int MIN_SLICE = 1 << 15;
+
+    private final int      size;
+    private final int[]    weekIndex;
+    private final byte[]   dayOfWeek;
+    private final int[]    projectId;
+    private final long[]   revenueCents;
+
+    // One entry per distinct week
+    private final String[] weekLabels;
+    private final int[]    weekMonthSlot; // (year - firstYear) * 12 + month - 1, or -1 for malformed labels
+    private final int      firstYear;
+    private final int      monthSlots;
+
+    private final int      minProjectId;
+    private final int      maxProjectId;
+
+    /** Revenue and row count of one weekday. */
+    public record DayTotal(String dayName, long revenueCents, long rows) {}
+
+    /** Revenue and row count of one project. */
+    public record ProjectTotal(int projectId, long revenueCents, long rows) {}
+
+    private ScheduleColumnStore(Builder b) {
+        this.size         = b.size;
+        this.weekIndex    = Arrays.copyOf(b.weekIndex, b.size);
+        this.dayOfWeek    = Arrays.copyOf(b.dayOfWeek, b.size);
+        this.projectId    = Arrays.copyOf(b.projectId, b.size);
+        this.revenueCents = Arrays.copyOf(b.revenueCents, b.size);
+        this.weekLabels   = b.weekLabels.toArray(new String[0]);
+
+        // Step 1: Year and month of each week (same approximation as the monthly rollup)
+        int[][] yearMonths = new int[weekLabels.length][];
+        int     minYear    = Integer.MAX_VALUE;
+        int     maxYear    = Integer.MIN_VALUE;
+        for (int w = 0; w < weekLabels.length; w++) {
+            yearMonths[w] = WeekLabelUtil.toYearMonth(weekLabels[w]);
+            if (yearMonths[w] != null) {
+                minYear = Math.min(minYear, yearMonths[w][0]);
+                maxYear = Math.max(maxYear, yearMonths[w][0]);
+            }
+        }
+        this.firstYear     = minYear == Integer.MAX_VALUE ? 0 : minYear;
+        this.monthSlots    = minYear == Integer.MAX_VALUE ? 0 : (maxYear - minYear + 1) * 12;
+        this.weekMonthSlot = new int[weekLabels.length];
+        for (int w = 0; w < weekLabels.length; w++) {
+            int[] ym = yearMonths[w];
+            weekMonthSlot[w] = ym == null ? -1 : (ym[0] - firstYear) * 12 + ym[1] - 1;
+        }
+
+        // Step 2: Project id range, for the dense project group-by
+        int minId = Integer.MAX_VALUE;
+        int maxId = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            minId = Math.min(minId, projectId[i]);
+            maxId = Math.max(maxId, projectId[i]);
+        }
+        this.minProjectId = size == 0 ? 0 : minId;
+        this.maxProjectId = size == 0 ? -1 : maxId;
+    }
+
+    /**
+     * Streams every schedule row from the database into a new store.
+     */
+    public static ScheduleColumnStore load(ScheduleDAO scheduleDAO) throws SQLException {
+        Builder builder = new Builder();
+        scheduleDAO.forEachRevenueRow(builder::add);
+        return builder.build();
+    }
+
+    public int size()      { return size; }
+    public int weekCount() { return weekLabels.length; }
+
+    /**
+     * Sum of the revenue of every row, in paise.
+     */
+    public long totalRevenueCents() {
+        return aggregate(1, MIN_SLICE, (from, to, acc) -> {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += revenueCents[i];
+            }
+            acc[0] += sum;
+        })[0];
+    }
+
+    /**
+     * Revenue, rows and distinct weeks per month, oldest month first.
+     * Months are derived from the week label exactly like the monthly_revenue_rollup table.
+     */
+    public List<MonthlyRevenueSummary> revenueByMonth() {
+        // Per week first (cheap: one add per row), then fold the weeks into months
+        long[] perWeek = aggregate(weekLabels.length * 2, MIN_SLICE, (from, to, acc) -> {
+            for (int i = from; i < to; i++) {
+                int w = weekIndex[i] * 2;
+                acc[w]     += revenueCents[i];
+                acc[w + 1] += 1;
+            }
+        });
+
+        long[] revenue = new long[monthSlots];
+        long[] rows    = new long[monthSlots];
+        int[]  weeks   = new int[monthSlots];
+        for (int w = 0; w < weekLabels.length; w++) {
+            int slot = weekMonthSlot[w];
+            if (slot < 0) continue; // malformed label, not part of the monthly report
+            revenue[slot] += perWeek[w * 2];
+            rows[slot]    += perWeek[w * 2 + 1];
+            weeks[slot]++;
+        }
+
+        List<MonthlyRevenueSummary> result = new ArrayList<>();
+        for (int slot = 0; slot < monthSlots; slot++) {
+            if (weeks[slot] == 0) continue;
+            int month = slot % 12 + 1;
+            result.add(new MonthlyRevenueSummary(firstYear + slot / 12, month, WeekLabelUtil.monthName(month),
+                    revenue[slot] / 100.0, (int) rows[slot], weeks[slot]));
+        }
+        return result;
+    }
+
+    /**
+     * Revenue and rows per weekday, Monday to Friday.
+     */
+    public List<DayTotal> revenueByDayOfWeek() {
+        int days = SchedulerService.WORK_WEEK_DAYS;
+        long[] acc = aggregate(days * 2, MIN_SLICE, (from, to, a) -> {
+            for (int i = from; i < to; i++) {
+                int d = dayOfWeek[i];
+                a[d]        += revenueCents[i];
+                a[days + d] += 1;
+            }
+        });
+
+        List<DayTotal> result = new ArrayList<>(days);
+        for (int d = 0; d < days; d++) {
+            result.add(new DayTotal(SchedulerService.dayName(d + 1), acc[d], acc[days + d]));
+        }
+        return result;
+    }
+
+    /**
+     * The {@code limit} projects that earned the most over all saved weeks.
+     *
+     * Uses one array slot per project id between the lowest and highest id, and
+     * splits the rows into only as many slices as there are cores, so memory is
+     * about (cores × id range × 16 bytes).
+     */
+    public List<ProjectTotal> topProjectsByRevenue(int limit) {
+        if (size == 0 || limit <= 0) return List.of();
+
+        int width = maxProjectId - minProjectId + 1;
+        int slice = Math.max(MIN_SLICE, size / ForkJoinPool.getCommonPoolParallelism() + 1);
+        long[] acc = aggregate(width * 2, slice, (from, to, a) -> {
+            for (int i = from; i < to; i++) {
+                int p = (projectId[i] - minProjectId) * 2;
+                a[p]     += revenueCents[i];
+                a[p + 1] += 1;
+            }
+        });
+
+        List<ProjectTotal> totals = new ArrayList<>();
+        for (int p = 0; p < width; p++) {
+            if (acc[p * 2 + 1] > 0) {
+                totals.add(new ProjectTotal(minProjectId + p, acc[p * 2], acc[p * 2 + 1]));
+            }
+        }
+        totals.sort(Comparator.comparingLong(ProjectTotal::revenueCents).reversed()
+                              .thenComparingInt(ProjectTotal::projectId));
+        return totals.subList(0, Math.min(limit, totals.size()));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  FORK-JOIN PLUMBING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // Adds rows [from, to) into acc
+    @FunctionalInterface
+    private interface SliceKernel {
+        void accumulate(int from, int to, long[] acc);
+    }
+
+    private long[] aggregate(int width, int sliceSize, SliceKernel kernel) {
+        return ForkJoinPool.commonPool().invoke(new SliceTask(0, size, width, sliceSize, kernel));
+    }
+
+    private static final class SliceTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int         from;
+        private final int         to;
+        private final int         width;
+        private final int         sliceSize;
+        private final SliceKernel kernel;
+
+        SliceTask(int from, int to, int width, int sliceSize, SliceKernel kernel) {
+            this.from      = from;
+            this.to        = to;
+            this.width     = width;
+            this.sliceSize = sliceSize;
+            this.kernel    = kernel;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= sliceSize) {
+                long[] acc = new long[width];
+                kernel.accumulate(from, to, acc);
+                return acc;
+            }
+
+            int       mid   = (from + to) >>> 1;
+            SliceTask left  = new SliceTask(from, mid, width, sliceSize, kernel);
+            SliceTask right = new SliceTask(mid, to, width, sliceSize, kernel);
+            left.fork();
+            long[] result = right.compute();
+            long[] other  = left.join();
+            for (int i = 0; i < width; i++) {
+                result[i] += other[i];
+            }
+            return result;
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  LOADING
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Collects rows into growing arrays; build() freezes them into a store.
+     */
+    public static class Builder {
+
+        private int    size;
+        private int[]  weekIndex    = new int[1024];
+        private byte[] dayOfWeek    = new byte[1024];
+        private int[]  projectId    = new int[1024];
+        private long[] revenueCents = new long[1024];
+
+        private final Map<String, Integer> weekIndexByLabel = new HashMap<>();
+        private final List<String>         weekLabels       = new ArrayList<>();
+
+        public void add(String weekLabel, int assignedDay, int project, long cents) {
+            if (size == weekIndex.length) {
+                int capacity = size * 2;
+                weekIndex    = Arrays.copyOf(weekIndex, capacity);
+                dayOfWeek    = Arrays.copyOf(dayOfWeek, capacity);
+                projectId    = Arrays.copyOf(projectId, capacity);
+                revenueCents = Arrays.copyOf(revenueCents, capacity);
+            }
+
+            Integer week = weekIndexByLabel.get(weekLabel);
+            if (week == null) {
+                week = weekLabels.size();
+                weekLabels.add(weekLabel);
+                weekIndexByLabel.put(weekLabel, week);
+            }
+
+            weekIndex[size]    = week;
+            dayOfWeek[size]    = (byte) ((assignedDay - 1) % SchedulerService.WORK_WEEK_DAYS);
+            projectId[size]    = project;
+            revenueCents[size] = cents;
+            size++;
+        }
+
+        public ScheduleColumnStore build() {
+            return new ScheduleColumnStore(this);
+        }
+    }
+}
@@ -1,14 +1,38 @@
 package com.promanage.service;
 
+import com.promanage.dao.ProjectDAO;
+import com.promanage.metrics.CallMetrics;
+import com.promanage.metrics.MetricsRegistry;
+import com.promanage.metrics.SchedulingEvent;
 import com.promanage.model.Project;
+import com.promanage.model.ProjectSnapshot;
 import com.promanage.model.ScheduledProject;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
 public class SchedulerService {
 
+    // A normal planning run covers one working week
+    public static final int WORK_WEEK_DAYS = 5;
+
+    // Longest horizon we accept (matches the CHECK constraints in DatabaseConfig)
+    public static final int MAX_HORIZON_DAYS = 366;
+
+    // Most delivery teams (parallel projects per day) we accept
+    public static final int MAX_TEAMS = 100;
+
+    // Call counts and latencies; rows = projects scheduled (see MetricsRegistry)
+    private static final CallMetrics GREEDY        = MetricsRegistry.call("SchedulerService.generateOptimalSchedule");
+    private static final CallMetrics CAPACITY      = MetricsRegistry.call("SchedulerService.generateCapacitySchedule");
+    private static final CallMetrics FROM_DATABASE = MetricsRegistry.call("SchedulerService.generateOptimalScheduleFromDatabase");
+    private static final CallMetrics FROM_SNAPSHOT = MetricsRegistry.call("SchedulerService.generateOptimalScheduleFromSnapshot");
+
+    private final ProjectDAO projectDAO = new ProjectDAO();
+
     // Maps day number (1-5) to its name
     private static final String[] DAY_NAMES = {
         "", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday"
@@ -31,28 +55,54 @@ public class SchedulerService {
      *   Result: Day1=B, Day2=A, Total=180
      */
     public List<ScheduledProject> generateOptimalSchedule(List<Project> projects) {
+        return generateOptimalSchedule(projects, WORK_WEEK_DAYS);
+    }
+
+    /**
+     * Same greedy as above, over a horizon of any number of working days (1 to MAX_HORIZON_DAYS).
+     *
+     * Instead of scanning backwards from each deadline, the latest free slot is found
+     * with a union-find structure (FreeSlotFinder), so each assignment is near-constant
+     * time and the whole run is O(n log n) for the sort. For a 5-day horizon it picks
+     * exactly the same days as the original backward scan.
+     *
+     * Day 6 is the Monday of the second week, day 7 the Tuesday, and so on.
+     */
+    public List<ScheduledProject> generateOptimalSchedule(List<Project> projects, int horizon) {
+        return GREEDY.time(() -> greedySchedule(projects, horizon), List::size);
+    }
+
+    private List<ScheduledProject> greedySchedule(List<Project> projects, int horizon) {
+        if (horizon < 1 || horizon > MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException(
+                    "Horizon must be between 1 and " + MAX_HORIZON_DAYS + " days, got " + horizon);
+        }
 
         // Step 1: Sort by revenue descending
+        SchedulingEvent sortEvent = new SchedulingEvent();
+        sortEvent.begin();
         List<Project> sorted = new ArrayList<>(projects);
         sorted.sort(Comparator.comparingDouble(Project::getRevenue).reversed());
+        sortEvent.end("sort", "greedy", sorted.size(), horizon, horizon, 0);
 
-        // Step 2: Initialize 5 slots (index 0 = Day 1, index 4 = Day 5)
-        boolean[]          slotTaken = new boolean[5];
-        ScheduledProject[] result    = new ScheduledProject[5];
+        // Step 2: One slot per day (index 0 = Day 1)
+        FreeSlotFinder     freeSlots = new FreeSlotFinder(horizon);
+        ScheduledProject[] result    = new ScheduledProject[horizon];
+        int                filled    = 0;
 
-        // Step 3: Assign each project to the best available slot
+        // Step 3: Assign each project to the latest free day within its deadline
+        SchedulingEvent assignEvent = new SchedulingEvent();
+        assignEvent.begin();
         for (Project project : sorted) {
-            int maxSlot = Math.min(5, project.getDeadline()); // can't go beyond day 5
-
-            // Try from the latest possible day down to day 1
-            for (int j = maxSlot - 1; j >= 0; j--) {
-                if (!slotTaken[j]) {
-                    slotTaken[j] = true;
-                    result[j]    = new ScheduledProject(project, j + 1, DAY_NAMES[j + 1]);
-                    break;
-                }
-            }
+            int day = freeSlots.latestFreeAtOrBefore(project.getDeadline());
+            if (day == 0) continue; // every day up to the deadline is taken → skip
+
+            freeSlots.take(day);
+            result[day - 1] = new ScheduledProject(project, day, dayName(day));
+
+            if (++filled == horizon) break; // every slot is full, nothing else can fit
         }
+        assignEvent.end("assign", "greedy", sorted.size(), horizon, horizon, filled);
 
         // Step 4: Collect assigned projects in day order, skip empty slots
         List<ScheduledProject> schedule = new ArrayList<>();
@@ -64,4 +114,136 @@ public class SchedulerService {
 
         return schedule;
     }
+
+    /**
+     * Greedy for several delivery teams: every day has {@code teams} slots instead of one.
+     */
+    public List<ScheduledProject> generateOptimalSchedule(List<Project> projects, int horizon, int teams) {
+        return GREEDY.time(() -> teamSchedule(projects, horizon, teams), List::size);
+    }
+
+    private List<ScheduledProject> teamSchedule(List<Project> projects, int horizon, int teams) {
+        if (teams < 1 || teams > MAX_TEAMS) {
+            throw new IllegalArgumentException("Teams must be between 1 and " + MAX_TEAMS + ", got " + teams);
+        }
+        if (teams == 1) {
+            return greedySchedule(projects, horizon);
+        }
+        return capacitySchedule(projects, uniformCapacity(horizon, teams));
+    }
+
+    /**
+     * Capacity-aware greedy: day d (1-based) can take dailyCapacity[d - 1] projects,
+     * one per team, so days may have different numbers of teams.
+     *
+     * Same idea as generateOptimalSchedule(): highest revenue first, each project on
+     * the latest day within its deadline that still has a free team. That day is
+     * found with a segment tree (CapacitySlotTree) in O(log d), so the whole run is
+     * O(n log n + n log d). The greedy stays optimal with several slots per day.
+     *
+     * The result is ordered by day, then team.
+     */
+    public List<ScheduledProject> generateCapacitySchedule(List<Project> projects, int[] dailyCapacity) {
+        return CAPACITY.time(() -> capacitySchedule(projects, dailyCapacity), List::size);
+    }
+
+    private List<ScheduledProject> capacitySchedule(List<Project> projects, int[] dailyCapacity) {
+        int horizon = dailyCapacity.length;
+        if (horizon < 1 || horizon > MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException(
+                    "Horizon must be between 1 and " + MAX_HORIZON_DAYS + " days, got " + horizon);
+        }
+
+        int totalSlots = 0;
+        for (int c : dailyCapacity) totalSlots += Math.max(0, c);
+
+        // Step 1: Sort by revenue descending
+        SchedulingEvent sortEvent = new SchedulingEvent();
+        sortEvent.begin();
+        List<Project> sorted = new ArrayList<>(projects);
+        sorted.sort(Comparator.comparingDouble(Project::getRevenue).reversed());
+        sortEvent.end("sort", "capacity", sorted.size(), horizon, totalSlots, 0);
+
+        // Step 2: Assign each project to the latest day with a free team
+        SchedulingEvent        assignEvent = new SchedulingEvent();
+        CapacitySlotTree       slots       = new CapacitySlotTree(dailyCapacity);
+        List<ScheduledProject> schedule    = new ArrayList<>();
+        assignEvent.begin();
+
+        for (Project project : sorted) {
+            int day = slots.latestDayWithCapacity(project.getDeadline());
+            if (day == 0) continue; // every team is busy up to the deadline → skip
+
+            int team = slots.take(day);
+            schedule.add(new ScheduledProject(project, day, dayName(day), team));
+
+            if (schedule.size() == totalSlots) break; // every team is booked on every day
+        }
+        assignEvent.end("assign", "capacity", sorted.size(), horizon, totalSlots, schedule.size());
+
+        // Step 3: Day order, then team order
+        schedule.sort(Comparator.comparingInt(ScheduledProject::getAssignedDay)
+                                .thenComparingInt(ScheduledProject::getTeam));
+        return schedule;
+    }
+
+    /**
+     * Schedules straight from the projects table without loading all of it.
+     *
+     * Candidates are streamed from ProjectDAO.forEachSchedulingCandidate() through a
+     * TopCandidateSelector, which never holds more projects than there are slots
+     * (horizon × teams), no matter how many projects exist. Rows arrive highest revenue
+     * first, so reading stops as soon as every slot is taken. The result is the same
+     * as running generateOptimalSchedule() on every project.
+     */
+    public List<ScheduledProject> generateOptimalScheduleFromDatabase(int horizon) throws SQLException {
+        return generateOptimalScheduleFromDatabase(horizon, 1);
+    }
+
+    /**
+     * Same as above with several delivery teams per day.
+     */
+    public List<ScheduledProject> generateOptimalScheduleFromDatabase(int horizon, int teams) throws SQLException {
+        return FROM_DATABASE.time(() -> databaseSchedule(horizon, teams), List::size);
+    }
+
+    private List<ScheduledProject> databaseSchedule(int horizon, int teams) throws SQLException {
+        TopCandidateSelector selector = new TopCandidateSelector(uniformCapacity(horizon, teams));
+        projectDAO.forEachSchedulingCandidate(horizon, teams, project -> {
+            selector.offer(project);
+            return !selector.isFull(); // later rows pay less, none of them could be kept
+        });
+        return teamSchedule(selector.candidates(), horizon, teams);
+    }
+
+    /**
+     * Schedules every project of a catalogue snapshot (see ProjectDAO.getProjectSnapshot()).
+     *
+     * Nothing is read from the database. Projects go through a TopCandidateSelector
+     * newest first, so ties on revenue are broken like in the database version, and
+     * only the candidates that win a slot (at most horizon × teams) are kept and sorted.
+     */
+    public List<ScheduledProject> generateOptimalSchedule(ProjectSnapshot projects, int horizon, int teams) {
+        return FROM_SNAPSHOT.time(() -> snapshotSchedule(projects, horizon, teams), List::size);
+    }
+
+    private List<ScheduledProject> snapshotSchedule(ProjectSnapshot projects, int horizon, int teams) {
+        TopCandidateSelector selector = new TopCandidateSelector(uniformCapacity(horizon, teams));
+        projects.forEachNewestFirst(selector::offer);
+        return teamSchedule(selector.candidates(), horizon, teams);
+    }
+
+    // Every day of the horizon gets the same number of teams
+    private static int[] uniformCapacity(int horizon, int teams) {
+        int[] capacity = new int[horizon];
+        Arrays.fill(capacity, teams);
+        return capacity;
+    }
+
+    /**
+     * Returns the weekday name of a working day number, e.g. 1 → "Monday", 6 → "Monday".
+     */
+    public static String dayName(int day) {
+        return DAY_NAMES[(day - 1) % WORK_WEEK_DAYS + 1];
+    }
 }
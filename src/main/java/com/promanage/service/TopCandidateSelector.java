@@ -0,0 +1,290 @@
+package com.promanage.service;
+
+import com.promanage.model.Project;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps only the projects that the greedy would schedule, while projects are
+ * streamed in one by one in any order. Never holds more projects than there
+ * are slots in the horizon (horizon × teams).
+ *
+ * How it works:
+ *   The kept projects always fit the horizon: for every day d, at most c(d)
+ *   of them have a deadline ≤ d, where c(d) = slots on days 1..d. A new project
+ *   is simply kept while that stays true. If it would break the limit at some day,
+ *   take the first such day t (the first day ≥ its deadline that is already
+ *   full). Removing any project with deadline ≤ t fixes it, so we drop the
+ *   lowest-paying one among those and the new project.
+ *
+ * This "swap out the weakest" rule always ends with exactly the projects the
+ * greedy in SchedulerService.generateOptimalSchedule() would pick from all of
+ * them, so running the greedy on candidates() gives the same schedule.
+ *
+ * Example (horizon 2, one team):
+ *   offer A(d=1, 100) → kept {A}
+ *   offer B(d=1, 150) → day 1 full, weakest with deadline ≤ 1 is A → kept {B}
+ *   offer C(d=2,  50) → kept {B, C}
+ *   offer D(d=2, 120) → day 2 full, weakest with deadline ≤ 2 is C → kept {B, D}
+ *
+ * Finding day t and the weakest project are O(log horizon) each, with two small
+ * segment trees over the days.
+ *
+ * Ties on revenue are broken by arrival order (earlier wins), the same as the
+ * stable sort in SchedulerService.generateOptimalSchedule().
+ */
+public class TopCandidateSelector {
+
+    // Heap order: lowest revenue first, and among equal revenue the latest arrival first
+    private static final Comparator<Candidate> WEAKEST_FIRST =
+            Comparator.comparingDouble((Candidate c) -> c.project.getRevenue())
+                      .thenComparing(Comparator.comparingLong((Candidate c) -> c.arrival).reversed());
+
+    private final int                            horizon;
+    private final int                            totalSlots;
+    private final List<PriorityQueue<Candidate>> heaps;    // kept projects per deadline, weakest at the root
+    private final SlackTree                      slack;    // free slots on days 1..d after the kept projects
+    private final WeakestTree                    weakest;  // weakest kept project per deadline
+    private int                                  kept;
+    private long                                 offered;
+
+    /**
+     * Selector for a horizon with one project per day.
+     */
+    public TopCandidateSelector(int horizon) {
+        this(onePerDay(horizon));
+    }
+
+    /**
+     * Selector where day d (1-based) has dailyCapacity[d - 1] slots.
+     */
+    public TopCandidateSelector(int[] dailyCapacity) {
+        this.horizon = dailyCapacity.length;
+
+        int[] slotsUpTo = new int[horizon]; // slotsUpTo[d - 1] = slots on days 1..d
+        int   total     = 0;
+        for (int d = 1; d <= horizon; d++) {
+            total += Math.max(0, dailyCapacity[d - 1]);
+            slotsUpTo[d - 1] = total;
+        }
+        this.totalSlots = total;
+        this.slack      = new SlackTree(slotsUpTo);
+        this.weakest    = new WeakestTree(horizon);
+
+        this.heaps = new ArrayList<>(horizon + 1);
+        for (int d = 0; d <= horizon; d++) {
+            heaps.add(null); // created lazily, most deadlines may never be seen
+        }
+    }
+
+    /**
+     * Considers one project. Projects with a deadline before day 1 are ignored.
+     */
+    public void offer(Project project) {
+        long arrival  = offered++;
+        int  deadline = Math.min(project.getDeadline(), horizon);
+        if (deadline < 1) return;
+
+        Candidate candidate = new Candidate(project, arrival, deadline);
+
+        // Step 1: Still room on every day from the deadline on → keep it
+        int fullDay = slack.firstFullDayFrom(deadline);
+        if (fullDay == 0) {
+            keep(candidate);
+            return;
+        }
+
+        // Step 2: Otherwise one project with deadline ≤ fullDay has to go, the weakest
+        Candidate weakestKept = weakest.weakestUpTo(fullDay);
+        if (weakestKept == null || WEAKEST_FIRST.compare(candidate, weakestKept) < 0) {
+            return; // the new project is the weakest (or no slot at all up to its deadline)
+        }
+        drop(weakestKept);
+        keep(candidate);
+    }
+
+    /**
+     * True once every slot of the horizon is taken. If projects arrive highest
+     * revenue first, nothing offered after this point can be kept.
+     */
+    public boolean isFull() {
+        return kept == totalSlots;
+    }
+
+    /**
+     * Returns the kept projects, highest revenue first (ties in arrival order).
+     */
+    public List<Project> candidates() {
+        List<Candidate> all = new ArrayList<>(kept);
+        for (PriorityQueue<Candidate> heap : heaps) {
+            if (heap != null) all.addAll(heap);
+        }
+        all.sort(WEAKEST_FIRST.reversed());
+
+        List<Project> result = new ArrayList<>(all.size());
+        for (Candidate c : all) {
+            result.add(c.project);
+        }
+        return result;
+    }
+
+    /**
+     * Number of projects seen so far (kept or dropped).
+     */
+    public long getOfferedCount() {
+        return offered;
+    }
+
+    private void keep(Candidate candidate) {
+        PriorityQueue<Candidate> heap = heaps.get(candidate.deadline);
+        if (heap == null) {
+            heap = new PriorityQueue<>(WEAKEST_FIRST);
+            heaps.set(candidate.deadline, heap);
+        }
+        heap.add(candidate);
+        kept++;
+
+        slack.addFrom(candidate.deadline, -1);
+        weakest.set(candidate.deadline, heap.peek());
+    }
+
+    // Removes the weakest project of its deadline (always the root of that heap)
+    private void drop(Candidate candidate) {
+        PriorityQueue<Candidate> heap = heaps.get(candidate.deadline);
+        heap.poll();
+        kept--;
+
+        slack.addFrom(candidate.deadline, 1);
+        weakest.set(candidate.deadline, heap.peek());
+    }
+
+    private static int[] onePerDay(int horizon) {
+        int[] capacity = new int[horizon];
+        Arrays.fill(capacity, 1);
+        return capacity;
+    }
+
+    private static final class Candidate {
+        private final Project project;
+        private final long    arrival;
+        private final int     deadline; // capped at the horizon
+
+        Candidate(Project project, long arrival, int deadline) {
+            this.project  = project;
+            this.arrival  = arrival;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * Free slots on days 1..d for every day d, with "add to every day from d on"
+     * and "first day from d on with no free slot" in O(log horizon).
+     *
+     * Each node holds the minimum of its subtree plus a pending amount added to
+     * the whole subtree; the pending amount is never pushed down.
+     */
+    private static final class SlackTree {
+
+        private final int   leaves;
+        private final int   days;
+        private final int[] min;
+        private final int[] pending;
+
+        SlackTree(int[] slotsUpTo) {
+            int size = 1;
+            while (size < slotsUpTo.length) size <<= 1;
+            this.leaves  = size;
+            this.days    = slotsUpTo.length;
+            this.min     = new int[2 * size];
+            this.pending = new int[2 * size];
+
+            Arrays.fill(min, size, 2 * size, Integer.MAX_VALUE / 2); // days past the horizon never fill up
+            System.arraycopy(slotsUpTo, 0, min, size, slotsUpTo.length);
+            for (int node = size - 1; node >= 1; node--) {
+                min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+            }
+        }
+
+        // Adds delta to days day..horizon
+        void addFrom(int day, int delta) {
+            add(1, 0, leaves - 1, day - 1, delta);
+        }
+
+        // First day ≥ day with no free slot left, or 0 if none
+        int firstFullDayFrom(int day) {
+            int index = findFirst(1, 0, leaves - 1, day - 1, 0);
+            return index == -1 ? 0 : index + 1;
+        }
+
+        private void add(int node, int lo, int hi, int from, int delta) {
+            if (hi < from || from >= days) return;
+            if (lo >= from) {
+                min[node]     += delta;
+                pending[node] += delta;
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            add(2 * node, lo, mid, from, delta);
+            add(2 * node + 1, mid + 1, hi, from, delta);
+            min[node] = pending[node] + Math.min(min[2 * node], min[2 * node + 1]);
+        }
+
+        // Leftmost leaf index ≥ from inside [lo, hi] whose value is 0, or -1
+        private int findFirst(int node, int lo, int hi, int from, int above) {
+            if (hi < from || min[node] + above > 0) return -1;
+            if (lo == hi) return lo;
+
+            int mid  = (lo + hi) >>> 1;
+            int left = findFirst(2 * node, lo, mid, from, above + pending[node]);
+            return left != -1 ? left : findFirst(2 * node + 1, mid + 1, hi, from, above + pending[node]);
+        }
+    }
+
+    /**
+     * The weakest kept project of each deadline, with "weakest over deadlines 1..d"
+     * in O(log horizon).
+     */
+    private static final class WeakestTree {
+
+        private final int         leaves;
+        private final Candidate[] weakest; // null = no project kept
+
+        WeakestTree(int horizon) {
+            int size = 1;
+            while (size < horizon) size <<= 1;
+            this.leaves  = size;
+            this.weakest = new Candidate[2 * size];
+        }
+
+        void set(int deadline, Candidate candidate) {
+            int node = leaves + deadline - 1;
+            weakest[node] = candidate;
+            for (node >>= 1; node >= 1; node >>= 1) {
+                weakest[node] = weaker(weakest[2 * node], weakest[2 * node + 1]);
+            }
+        }
+
+        Candidate weakestUpTo(int deadline) {
+            Candidate result = null;
+            int lo = leaves;
+            int hi = leaves + deadline; // exclusive
+            while (lo < hi) {
+                if ((lo & 1) == 1) result = weaker(result, weakest[lo++]);
+                if ((hi & 1) == 1) result = weaker(result, weakest[--hi]);
+                lo >>= 1;
+                hi >>= 1;
+            }
+            return result;
+        }
+
+        private static Candidate weaker(Candidate a, Candidate b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return WEAKEST_FIRST.compare(a, b) <= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.promanage.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A Writer that encodes text to UTF-8 into one reusable buffer and writes it to a
+ * channel (usually a FileChannel) in large blocks, optionally gzip-compressed.
+ *
+ * Memory use is fixed (two buffers of BUFFER_SIZE), no matter how much is written,
+ * and there is no intermediate String or byte[] per line.
+ *
+ * Example:
+ *   try (FileChannel ch = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+ *        ChannelTextWriter out = new ChannelTextWriter(ch, true)) {
+ *       out.write("week,day\n");
+ *   }
+ */
+public class ChannelTextWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final CountingOutputStream compressedOut; // null when not compressing
+    private final GZIPOutputStream     gzip;          // null when not compressing
+    private final CharsetEncoder       encoder = StandardCharsets.UTF_8.newEncoder();
+    private final CharBuffer           chars   = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer           bytes   = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private long    bytesWritten;
+    private boolean closed;
+
+    public ChannelTextWriter(WritableByteChannel channel, boolean gzipCompress) throws IOException {
+        this.channel = channel;
+        if (gzipCompress) {
+            this.compressedOut = new CountingOutputStream(Channels.newOutputStream(channel));
+            this.gzip          = new GZIPOutputStream(compressedOut, BUFFER_SIZE);
+        } else {
+            this.compressedOut = null;
+            this.gzip          = null;
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, n);
+            off += n;
+            len -= n;
+            if (!chars.hasRemaining()) encode(false);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, chars.remaining());
+            chars.put(str, off, off + n);
+            off += n;
+            len -= n;
+            if (!chars.hasRemaining()) encode(false);
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        chars.put((char) c);
+        if (!chars.hasRemaining()) encode(false);
+    }
+
+    /**
+     * Pushes everything written so far to the channel (compressed data is pushed
+     * as far as gzip allows without ending the stream).
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encode(false);
+        if (gzip != null) gzip.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        encode(true);
+        encoder.flush(bytes);
+        drain();
+        if (gzip != null) gzip.finish();
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * Bytes that reached the channel so far (after compression, if enabled).
+     * Complete only after close().
+     */
+    public long getBytesWritten() {
+        return gzip != null ? compressedOut.count : bytesWritten;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // Encodes the buffered chars; a lone high surrogate at the end waits for its partner
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
+            }
+        }
+        chars.compact();
+        drain();
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        if (gzip != null) {
+            gzip.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            while (bytes.hasRemaining()) {
+                bytesWritten += channel.write(bytes);
+            }
+        }
+        bytes.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) throw new IOException("Writer is closed");
+    }
+
+    // Counts the compressed bytes gzip hands to the channel
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private long               count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -1,37 +1,153 @@
 package com.promanage.util;
 
 import com.promanage.config.DatabaseConfig;
+import com.promanage.metrics.CallMetrics;
+import com.promanage.metrics.MetricsRegistry;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Hands out project codes like "PRJ0000000042".
+ *
+ * Numbers come from the database sequence project_code_seq, which counts up in
+ * steps of CODE_BLOCK_SIZE. Every nextval() therefore reserves a whole block of
+ * numbers (the "hi" part), and codes inside the block (the "lo" part) are handed
+ * out from memory with an atomic counter — no query and no lock per code.
+ *
+ * Because every block comes from the sequence, two threads or two running copies
+ * of the program can never get the same code. Numbers left unused in a block when
+ * the program stops are simply skipped, so codes can have gaps.
+ *
+ * Codes are zero-padded to CODE_DIGITS digits, and the sequence stops at the
+ * biggest CODE_DIGITS-digit number, so every code has the same length and
+ * sorting them as text gives the same order as sorting by number. Past
+ * MAX_CODE_NUMBER generating a code throws an SQLException.
+ */
 public class CodeGenerator {
 
+    // Must match the INCREMENT BY of project_code_seq (see SchemaMigrator)
+    public static final int CODE_BLOCK_SIZE = 50;
+
+    // Every code is "PRJ" + 10 digits; projects.project_code is exactly that wide (schema migration 5)
+    public static final int  CODE_DIGITS     = 10;
+    public static final int  CODE_MAX_LENGTH = 3 + CODE_DIGITS;
+    public static final long MAX_CODE_NUMBER = 9_999_999_999L; // the biggest CODE_DIGITS-digit number
+
+    // PostgreSQL's SQLSTATE when nextval() passes the sequence's MAXVALUE
+    private static final String SEQUENCE_LIMIT_EXCEEDED = "2200H";
+
+    private static final String CODE_FORMAT = "PRJ%0" + CODE_DIGITS + "d";
+
+    // The block currently being handed out; starts exhausted so the first call reserves one
+    private static volatile CodeBlock currentBlock = new CodeBlock(0, 0);
+    private static final Object REFILL_LOCK = new Object();
+
+    // Call counts and latencies (see MetricsRegistry)
+    private static final CallMetrics GENERATE_CODE  = MetricsRegistry.call("CodeGenerator.generateProjectCode");
+    private static final CallMetrics GENERATE_CODES = MetricsRegistry.call("CodeGenerator.generateProjectCodes");
+
     /**
-     * Looks at the highest existing project_code in the DB and returns the next one.
-     * E.g. if "PRJ007" exists, returns "PRJ008".
-     * If no projects exist, returns "PRJ001".
+     * Returns the next unused project code, e.g. "PRJ0000000008".
      */
-    public static String generateProjectCode() {
-        String sql = "SELECT project_code FROM projects ORDER BY project_id DESC LIMIT 1";
+    public static String generateProjectCode() throws SQLException {
+        return GENERATE_CODE.time(CodeGenerator::nextProjectCode, null);
+    }
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt  = conn.createStatement();
-             ResultSet rs    = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                String lastCode = rs.getString("project_code"); // e.g. "PRJ007"
-                int number = Integer.parseInt(lastCode.replace("PRJ", ""));
-                return String.format("PRJ%03d", number + 1);
-            } else {
-                return "PRJ001";
+    private static String nextProjectCode() throws SQLException {
+        return formatCode(nextCodeNumber());
+    }
+
+    /**
+     * Returns {@code count} unused project codes.
+     * Large requests reserve whole blocks with a single query.
+     */
+    public static List<String> generateProjectCodes(int count) throws SQLException {
+        return GENERATE_CODES.time(() -> nextProjectCodes(count), List::size);
+    }
+
+    private static List<String> nextProjectCodes(int count) throws SQLException {
+        List<String> codes = new ArrayList<>(count);
+
+        // Whole blocks straight from the sequence, one round trip for all of them
+        int wholeBlocks = count / CODE_BLOCK_SIZE;
+        if (wholeBlocks > 0) {
+            for (long start : reserveBlocks(wholeBlocks)) {
+                for (long n = start; n < start + CODE_BLOCK_SIZE; n++) {
+                    codes.add(formatCode(n));
+                }
+            }
+        }
+
+        // The rest from the shared in-memory block
+        while (codes.size() < count) {
+            codes.add(formatCode(nextCodeNumber()));
+        }
+        return codes;
+    }
+
+    /**
+     * Formats a code number, e.g. 42 → "PRJ0000000042".
+     */
+    public static String formatCode(long number) {
+        return String.format(CODE_FORMAT, number);
+    }
+
+    // Lock-free in the common case: only the thread that finds the block empty refills it
+    private static long nextCodeNumber() throws SQLException {
+        while (true) {
+            CodeBlock block  = currentBlock;
+            long      number = block.next.getAndIncrement();
+            if (number < block.end) {
+                return number;
+            }
+
+            synchronized (REFILL_LOCK) {
+                if (currentBlock == block) { // nobody refilled it while we waited
+                    long start = reserveBlocks(1).get(0);
+                    currentBlock = new CodeBlock(start, start + CODE_BLOCK_SIZE);
+                }
             }
+        }
+    }
 
+    // Each nextval() returns the first number of a fresh block of CODE_BLOCK_SIZE numbers
+    private static List<Long> reserveBlocks(int blocks) throws SQLException {
+        String sql = "SELECT nextval('project_code_seq') FROM generate_series(1, ?)";
+        List<Long> starts = new ArrayList<>(blocks);
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, blocks);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    starts.add(rs.getLong(1));
+                }
+            }
         } catch (SQLException e) {
-            System.out.println("Warning: Could not generate project code. Using default.");
-            return "PRJ001";
+            if (SEQUENCE_LIMIT_EXCEEDED.equals(e.getSQLState())) {
+                throw new SQLException("Project codes are used up: project_code_seq reached "
+                        + formatCode(MAX_CODE_NUMBER) + ", the longest code projects.project_code can hold", e);
+            }
+            throw e;
+        }
+        return starts;
+    }
+
+    // Numbers [next, end) that this process may hand out
+    private static final class CodeBlock {
+        private final AtomicLong next;
+        private final long       end;
+
+        CodeBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end  = end;
         }
     }
 }
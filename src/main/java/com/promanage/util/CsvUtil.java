@@ -0,0 +1,72 @@
+package com.promanage.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reading and writing single CSV lines (RFC 4180 quoting).
+ *
+ * Example:
+ *   parseLine("PRJ1,\"Website, phase 2\",3")  → [PRJ1, Website, phase 2, 3]
+ *   field("Website, phase 2")                → "Website, phase 2" (with quotes)
+ */
+public class CsvUtil {
+
+    /**
+     * Splits one line into fields. Quoted fields may contain commas and "" for a quote.
+     * Throws IllegalArgumentException for an unterminated quote.
+     */
+    public static List<String> parseLine(String line) {
+        List<String>  fields  = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean       quoted  = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Returns the value ready to be written as a CSV field, quoted only if needed.
+     */
+    public static String field(String value) {
+        if (value == null) return "";
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    /**
+     * Joins values into one CSV line (without the line break).
+     */
+    public static String line(Object... values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(field(values[i] == null ? null : values[i].toString()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package com.promanage.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser, enough for small request bodies.
+ *
+ * Objects become a LinkedHashMap, arrays a List, numbers a Double, and
+ * true/false/null become Boolean / null.
+ *
+ * Example:
+ *   Map<String, Object> body = JsonReader.parseObject("{\"title\":\"Website\",\"deadline\":5}");
+ *   body.get("deadline")  → 5.0
+ *
+ * Throws IllegalArgumentException (with the position) for malformed input.
+ */
+public class JsonReader {
+
+    // Deeper nesting than this is rejected instead of risking a StackOverflowError
+    private static final int MAX_DEPTH = 32;
+
+    private final String text;
+    private int          pos;
+
+    private JsonReader(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a document whose top level must be an object.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text) {
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("JSON body must be an object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Parses any JSON value.
+     */
+    public static Object parse(String text) {
+        JsonReader reader = new JsonReader(text);
+        Object     value  = reader.readValue(0);
+        reader.skipWhitespace();
+        if (reader.pos != text.length()) {
+            throw reader.error("unexpected text after the value");
+        }
+        return value;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private Object readValue(int depth) {
+        if (depth > MAX_DEPTH) throw error("nested too deeply");
+        skipWhitespace();
+        if (pos >= text.length()) throw error("unexpected end of input");
+
+        char c = text.charAt(pos);
+        return switch (c) {
+            case '{' -> readObject(depth);
+            case '[' -> readArray(depth);
+            case '"' -> readString();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default  -> {
+                if (c == '-' || (c >= '0' && c <= '9')) yield readNumber();
+                throw error("unexpected character '" + c + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> readObject(int depth) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        pos++; // {
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return map;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') throw error("expected a field name");
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            map.put(name, readValue(depth + 1));
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+            } else {
+                expect('}');
+                return map;
+            }
+        }
+    }
+
+    private List<Object> readArray(int depth) {
+        List<Object> list = new ArrayList<>();
+        pos++; // [
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return list;
+        }
+        while (true) {
+            list.add(readValue(depth + 1));
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+            } else {
+                expect(']');
+                return list;
+            }
+        }
+    }
+
+    private String readString() {
+        StringBuilder sb = new StringBuilder();
+        pos++; // opening quote
+        while (true) {
+            if (pos >= text.length()) throw error("unterminated string");
+            char c = text.charAt(pos++);
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos >= text.length()) throw error("unterminated string");
+            char e = text.charAt(pos++);
+            switch (e) {
+                case '"', '\\', '/' -> sb.append(e);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > text.length()) throw error("bad \\u escape");
+                    try {
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw error("bad \\u escape");
+                    }
+                    pos += 4;
+                }
+                default -> throw error("bad escape \\" + e);
+            }
+        }
+    }
+
+    private Double readNumber() {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) pos++;
+        try {
+            return Double.valueOf(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("bad number");
+        }
+    }
+
+    private Object literal(String word, Object value) {
+        if (!text.startsWith(word, pos)) throw error("unexpected value");
+        pos += word.length();
+        return value;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) throw error("expected '" + c + "'");
+        pos++;
+    }
+
+    private char peek() {
+        return pos < text.length() ? text.charAt(pos) : '\0';
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON at position " + pos + ": " + message);
+    }
+}
@@ -0,0 +1,165 @@
+package com.promanage.util;
+
+import com.promanage.metrics.CallMetrics;
+import com.promanage.model.MonthlyRevenueSummary;
+import com.promanage.model.MultiWeekPlan;
+import com.promanage.model.Project;
+import com.promanage.model.RevenueForecast;
+import com.promanage.model.ScheduledProject;
+import com.promanage.service.RevenueAnalyticsService.WeekTotal;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JSON shape of schedules, plans and revenue figures, shared by the batch
+ * commands and the HTTP server so both always answer with the same fields.
+ */
+public class JsonViews {
+
+    /**
+     * {"projectId":1,"code":"PRJ0000000001","title":...,"deadline":..,"duration":..,"revenue":..}
+     */
+    public static void writeProject(JsonWriter json, Project p) {
+        json.beginObject()
+                .name("projectId").value(p.getProjectId())
+                .name("code").value(p.getProjectCode())
+                .name("title").value(p.getTitle())
+                .name("deadline").value(p.getDeadline())
+                .name("duration").value(p.getDuration())
+                .name("revenue").value(p.getRevenue())
+            .endObject();
+    }
+
+    /**
+     * {"week":"Week-2026-09","projects":[{"day":1,"dayName":"Monday","team":1,...}]}
+     */
+    public static void writeWeek(JsonWriter json, String weekLabel, List<ScheduledProject> rows) {
+        json.beginObject()
+                .name("week").value(weekLabel)
+                .name("projects").beginArray();
+        for (ScheduledProject sp : rows) {
+            Project p = sp.getProject();
+            json.beginObject()
+                    .name("day").value(sp.getAssignedDay())
+                    .name("dayName").value(sp.getDayName())
+                    .name("team").value(sp.getTeam())
+                    .name("code").value(p.getProjectCode())
+                    .name("title").value(p.getTitle())
+                    .name("deadline").value(p.getDeadline())
+                    .name("duration").value(p.getDuration())
+                    .name("revenue").value(p.getRevenue())
+                .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    /**
+     * An array of writeWeek() objects, in the map's order.
+     */
+    public static void writeWeeks(JsonWriter json, Map<String, List<ScheduledProject>> byWeek) {
+        json.beginArray();
+        for (Map.Entry<String, List<ScheduledProject>> e : byWeek.entrySet()) {
+            writeWeek(json, e.getKey(), e.getValue());
+        }
+        json.endArray();
+    }
+
+    /**
+     * {"saved":true,"projects":..,"scheduled":..,"leftOver":..,"totalRevenue":..,"weeks":[...]}
+     */
+    public static void writePlan(JsonWriter json, MultiWeekPlan plan, boolean saved) {
+        json.beginObject()
+                .name("saved").value(saved)
+                .name("projects").value(plan.getCandidateCount())
+                .name("scheduled").value(plan.getScheduledCount())
+                .name("leftOver").value(plan.getLeftOverCount())
+                .name("totalRevenue").value(plan.getTotalRevenue())
+                .name("weeks");
+        writeWeeks(json, plan.getWeeks());
+        json.endObject();
+    }
+
+    /**
+     * [{"year":2026,"month":3,"monthName":"March","weeks":..,"projects":..,"totalRevenue":..}]
+     */
+    public static void writeSummaries(JsonWriter json, List<MonthlyRevenueSummary> summaries) {
+        json.beginArray();
+        for (MonthlyRevenueSummary s : summaries) {
+            json.beginObject()
+                    .name("year").value(s.getYear())
+                    .name("month").value(s.getMonth())
+                    .name("monthName").value(s.getMonthName())
+                    .name("weeks").value(s.getWeeksRecorded())
+                    .name("projects").value(s.getProjectsScheduled())
+                    .name("totalRevenue").value(s.getTotalRevenue())
+                .endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * [{"week":"Week-2026-09","projects":12,"revenue":..}]
+     */
+    public static void writeWeekTotals(JsonWriter json, List<WeekTotal> totals) {
+        json.beginArray();
+        for (WeekTotal t : totals) {
+            json.beginObject()
+                    .name("week").value(t.weekLabel())
+                    .name("projects").value(t.projects())
+                    .name("revenue").value(t.revenue())
+                .endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * [{"name":"ProjectDAO.getAllProjects","calls":..,"errors":..,"rows":..,"meanMicros":..,
+     *   "p50Micros":..,"p95Micros":..,"p99Micros":..,"maxMicros":..}]
+     */
+    public static void writeCallMetrics(JsonWriter json, List<CallMetrics.Snapshot> snapshots) {
+        json.beginArray();
+        for (CallMetrics.Snapshot s : snapshots) {
+            json.beginObject()
+                    .name("name").value(s.name())
+                    .name("calls").value(s.calls())
+                    .name("errors").value(s.errors())
+                    .name("rows").value(s.rows())
+                    .name("meanMicros").value(s.meanNanos() / 1e3)
+                    .name("p50Micros").value(s.p50Nanos() / 1e3)
+                    .name("p95Micros").value(s.p95Nanos() / 1e3)
+                    .name("p99Micros").value(s.p99Nanos() / 1e3)
+                    .name("maxMicros").value(s.maxNanos() / 1e3)
+                .endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * {"year":2026,"month":5,"predictedRevenue":..,"lower80":..,"upper80":..,"lower95":..,"upper95":..,
+     *  "weeksOfData":..,"basedOnWeek":"Week-2026-14"}
+     * Everything but weeksOfData is null without data; the bounds are null until
+     * there are enough weeks for an interval (RevenueForecast.hasInterval()).
+     */
+    public static void writePrediction(JsonWriter json, RevenueForecast forecast) {
+        boolean interval = forecast != null && forecast.hasInterval();
+
+        json.beginObject().name("year");
+        if (forecast == null) json.value((String) null); else json.value(forecast.getYear());
+        json.name("month");
+        if (forecast == null) json.value((String) null); else json.value(forecast.getMonth());
+        json.name("predictedRevenue");
+        if (forecast == null) json.value((String) null); else json.value(forecast.getPredictedRevenue());
+        json.name("lower80");
+        if (!interval) json.value((String) null); else json.value(forecast.getLower80());
+        json.name("upper80");
+        if (!interval) json.value((String) null); else json.value(forecast.getUpper80());
+        json.name("lower95");
+        if (!interval) json.value((String) null); else json.value(forecast.getLower95());
+        json.name("upper95");
+        if (!interval) json.value((String) null); else json.value(forecast.getUpper95());
+        json.name("weeksOfData").value(forecast == null ? 0 : forecast.getWeeksOfData())
+            .name("basedOnWeek").value(forecast == null ? null : forecast.getBasedOnWeek())
+            .endObject();
+    }
+}
@@ -0,0 +1,123 @@
+package com.promanage.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * Minimal streaming JSON writer, enough for the batch CLI's output.
+ * Writes compact JSON straight to any Appendable (a PrintStream, a Writer...).
+ *
+ * Example:
+ *   new JsonWriter(System.out)
+ *       .beginObject()
+ *           .name("months").value(3)
+ *           .name("prediction").value(700000.0)
+ *       .endObject();
+ *   → {"months":3,"prediction":700000.00}
+ *
+ * Doubles are written with two decimals (all amounts here are money).
+ */
+public class JsonWriter {
+
+    private final Appendable     out;
+    private final Deque<Boolean> firstInScope = new ArrayDeque<>(); // true until the scope's first element
+    private boolean              afterName;
+
+    public JsonWriter(Appendable out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() { return open('{'); }
+    public JsonWriter endObject()   { return close('}'); }
+    public JsonWriter beginArray()  { return open('['); }
+    public JsonWriter endArray()    { return close(']'); }
+
+    public JsonWriter name(String name) {
+        separator();
+        string(name);
+        write(":");
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        separator();
+        if (value == null) write("null"); else string(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separator();
+        write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(double value) {
+        separator();
+        write(Double.isFinite(value) ? String.format(Locale.ROOT, "%.2f", value) : "null");
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separator();
+        write(Boolean.toString(value));
+        return this;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private JsonWriter open(char bracket) {
+        separator();
+        write(String.valueOf(bracket));
+        firstInScope.push(true);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        firstInScope.pop();
+        write(String.valueOf(bracket));
+        return this;
+    }
+
+    // Comma before every element except the first one of an object/array
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!firstInScope.isEmpty()) {
+            if (!firstInScope.pop()) write(",");
+            firstInScope.push(false);
+        }
+    }
+
+    private void string(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"'  -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default   -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        write(sb.append('"').toString());
+    }
+
+    private void write(String s) {
+        try {
+            out.append(s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
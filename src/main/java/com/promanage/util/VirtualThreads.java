@@ -0,0 +1,58 @@
+package com.promanage.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-thread-per-task executors that use virtual threads when the JVM has them.
+ *
+ * The project targets Java 17, where virtual threads don't exist, so
+ * Executors.newVirtualThreadPerTaskExecutor() is looked up by reflection.
+ * On Java 21+ every task gets a cheap virtual thread (blocking JDBC calls
+ * don't tie up an OS thread); on older JVMs a cached pool of daemon
+ * platform threads is used instead.
+ */
+public class VirtualThreads {
+
+    private static final boolean AVAILABLE = lookup();
+
+    /**
+     * True when newPerTaskExecutor() hands out virtual threads.
+     */
+    public static boolean available() {
+        return AVAILABLE;
+    }
+
+    /**
+     * A new executor that starts a thread for every task.
+     * Fallback platform threads are named "<namePrefix>-1", "<namePrefix>-2", ...
+     */
+    public static ExecutorService newPerTaskExecutor(String namePrefix) {
+        if (AVAILABLE) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, namePrefix + "-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Also false on Java 19/20, where virtual threads are a preview feature that is off by default
+    private static boolean lookup() {
+        try {
+            ExecutorService probe = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            probe.shutdown();
+            return true;
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+}
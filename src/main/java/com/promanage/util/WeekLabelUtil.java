@@ -0,0 +1,128 @@
+package com.promanage.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.regex.Pattern;
+
+public class WeekLabelUtil {
+
+    // A valid "Week-YYYY-WW" label. Used as is by the SQL that maps weeks to months
+    // (ScheduleDAO) and the same as in promanage_week_start() in SchemaMigrator.
+    public static final String WEEK_LABEL_REGEX = "^Week-[0-9]{4}-[0-9]{1,2}$";
+
+    private static final Pattern WEEK_LABEL = Pattern.compile(WEEK_LABEL_REGEX);
+
+    // Full month names for display
+    private static final String[] MONTH_NAMES = {
+        "", "January", "February", "March", "April", "May", "June",
+        "July", "August", "September", "October", "November", "December"
+    };
+
+    /**
+     * Converts a week label like "Week-2024-03" to {year, month}.
+     *
+     * ISO Week 1-4   → Month 1  (January)
+     * ISO Week 5-8   → Month 2  (February)
+     * ISO Week 9-13  → Month 3  (March)
+     * ... etc.
+     *
+     * This is an approximation. Accurate enough for a scheduling system.
+     * ScheduleDAO.getMonthlyRevenueTotals() does the same mapping in SQL — keep them in sync.
+     *
+     * Returns null for labels that don't match WEEK_LABEL_REGEX, like the SQL does.
+     */
+    public static int[] toYearMonth(String weekLabel) {
+        if (!isWeekLabel(weekLabel)) return null; // skip malformed labels
+
+        // Format: "Week-2024-03"
+        String[] parts   = weekLabel.split("-");
+        int      year    = Integer.parseInt(parts[1]);
+        int      weekNum = Integer.parseInt(parts[2]);
+
+        return new int[]{year, monthOfWeek(weekNum)};
+    }
+
+    /**
+     * True for labels like "Week-2026-09"; false for "Week-2026-09-x", "X-2026-09" or null.
+     */
+    public static boolean isWeekLabel(String weekLabel) {
+        return weekLabel != null && WEEK_LABEL.matcher(weekLabel).matches();
+    }
+
+    /**
+     * The month (1-12) an ISO week number belongs to, with the approximation of
+     * toYearMonth(): every 4-5 weeks = 1 month.
+     */
+    public static int monthOfWeek(int weekNum) {
+        int month = (int) Math.ceil(weekNum / 4.333);
+        if (month < 1)  month = 1;
+        if (month > 12) month = 12;
+        return month;
+    }
+
+    /**
+     * Position of a week inside its month (see monthOfWeek()), starting at 0.
+     * Example: week 5 → 0 (first week of February), week 7 → 2, week 53 → 5.
+     */
+    public static int weekOfMonth(int weekNum) {
+        int month    = monthOfWeek(weekNum);
+        int position = 0;
+        while (weekNum - position > 1 && monthOfWeek(weekNum - position - 1) == month) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Number of ISO weeks (52 or 53) in a week-based year.
+     */
+    public static int weeksInYear(int year) {
+        return LocalDate.of(year, 12, 28).get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+
+    /**
+     * The Monday of a "Week-YYYY-WW" label, e.g. "Week-2026-09" → 2026-02-23,
+     * or null for any other label. Same result as the database function
+     * promanage_week_start() (week 53 of a 52-week year is the next Monday).
+     */
+    public static LocalDate weekStart(String weekLabel) {
+        if (!isWeekLabel(weekLabel)) return null;
+
+        String[] parts   = weekLabel.split("-");
+        int      year    = Integer.parseInt(parts[1]);
+        int      weekNum = Integer.parseInt(parts[2]);
+        if (weekNum < 1 || weekNum > 53) return null;
+
+        // 4 January is always in ISO week 1
+        return LocalDate.of(year, 1, 4).with(DayOfWeek.MONDAY).plusWeeks(weekNum - 1);
+    }
+
+    /**
+     * Returns the full English name of a month, e.g. 3 → "March".
+     */
+    public static String monthName(int month) {
+        return MONTH_NAMES[month];
+    }
+
+    /**
+     * Generates a week label for the current date.
+     * Format: "Week-2024-03"
+     */
+    public static String currentWeekLabel() {
+        return weekLabelFor(LocalDate.now());
+    }
+
+    /**
+     * Generates the week label of any date, e.g. for the weeks after this one.
+     *
+     * Uses ISO weeks (Monday start, week 1 contains the first Thursday), so the year
+     * in the label is the ISO week-based year: 29 Dec 2025 → "Week-2026-01".
+     * The database function promanage_week_start() turns a label back into its Monday.
+     */
+    public static String weekLabelFor(LocalDate date) {
+        int weekNum = date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+        int year    = date.get(IsoFields.WEEK_BASED_YEAR);
+        return String.format("Week-%d-%02d", year, weekNum);
+    }
+}
@@ -0,0 +1,64 @@
+package com.promanage.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Only argument errors: they are refused before anything touches the database
+class BatchCliTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    void refusesAMisspelledOption() {
+        assertEquals(BatchCli.EXIT_USAGE, run("schedule", "--week", "4", "--save"));
+        assertTrue(err().startsWith("ERROR: Unknown option for schedule: --week\n"));
+        assertTrue(err().contains("Usage: promanage <command> [options]"));
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void refusesAnOptionOfAnotherCommand() {
+        assertEquals(BatchCli.EXIT_USAGE, run("summary", "--save"));
+        assertTrue(err().startsWith("ERROR: Unknown option for summary: --save\n"));
+    }
+
+    @Test
+    void refusesExtraArguments() {
+        assertEquals(BatchCli.EXIT_USAGE, run("schedule", "--weeks", "2", "4"));
+        assertTrue(err().startsWith("ERROR: Unexpected argument for schedule: 4\n"));
+
+        assertEquals(BatchCli.EXIT_USAGE, run("migrate", "now"));
+    }
+
+    @Test
+    void checksValuesOfKnownOptions() {
+        assertEquals(BatchCli.EXIT_USAGE, run("schedule", "--weeks", "0"));
+        assertEquals(BatchCli.EXIT_USAGE, run("predict", "--format", "xml"));
+        assertEquals(BatchCli.EXIT_USAGE, run("export", "--output"));
+    }
+
+    @Test
+    void unknownCommandAndHelp() {
+        assertEquals(BatchCli.EXIT_USAGE, run("plan"));
+        assertEquals(BatchCli.EXIT_OK, run("help"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("Usage:"));
+    }
+
+    private int run(String... args) {
+        out.reset();
+        err.reset();
+        return new BatchCli(new PrintStream(out, true, StandardCharsets.UTF_8),
+                            new PrintStream(err, true, StandardCharsets.UTF_8)).execute(args);
+    }
+
+    private String err() {
+        return err.toString(StandardCharsets.UTF_8);
+    }
+}
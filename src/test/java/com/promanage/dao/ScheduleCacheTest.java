@@ -0,0 +1,82 @@
+package com.promanage.dao;
+
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ScheduleCacheTest {
+
+    @Test
+    void callersNeverShareTheCachedProjects() {
+        ScheduleCache          cache  = new ScheduleCache(100);
+        List<ScheduledProject> loaded = week(3);
+        List<ScheduledProject> handed = cache.putWeek("Week-2026-10", loaded, cache.currentGeneration());
+
+        handed.get(0).getProject().setRevenue(1);   // the caller changes what it got
+        cache.getWeek("Week-2026-10").get(1).setTeam(9);
+
+        List<ScheduledProject> again = cache.getWeek("Week-2026-10");
+        assertEquals(1000, again.get(0).getProject().getRevenue());
+        assertEquals(1, again.get(1).getTeam());
+        assertNotSame(again.get(0).getProject(), cache.getWeek("Week-2026-10").get(0).getProject());
+    }
+
+    @Test
+    void aLoadThatRacedAWriteIsNotCached() {
+        ScheduleCache cache      = new ScheduleCache(100);
+        long          generation = cache.currentGeneration();
+
+        cache.invalidate(List.of("Week-2026-10"));
+        cache.putWeek("Week-2026-10", week(2), generation);
+
+        assertNull(cache.getWeek("Week-2026-10"));
+    }
+
+    @Test
+    void anotherProgramsWriteDropsEverything() {
+        ScheduleCache cache = new ScheduleCache(100);
+        cache.syncWithDatabase(5);
+        cache.putWeek("Week-2026-10", week(2), cache.currentGeneration());
+
+        cache.syncWithDatabase(5);
+        assertNotNull(cache.getWeek("Week-2026-10"));
+
+        long before = cache.currentGeneration();
+        cache.syncWithDatabase(6);
+        assertNull(cache.getWeek("Week-2026-10"));
+        assertEquals(before + 1, cache.currentGeneration());
+    }
+
+    @Test
+    void ownWriteKeepsTheOtherWeeks() {
+        ScheduleCache cache = new ScheduleCache(100);
+        cache.syncWithDatabase(5);
+        cache.putWeek("Week-2026-10", week(2), cache.currentGeneration());
+        cache.putWeek("Week-2026-11", week(2), cache.currentGeneration());
+
+        cache.ownWriteCommitted(6);
+        cache.invalidate(List.of("Week-2026-11"));
+        cache.syncWithDatabase(6);
+
+        assertNotNull(cache.getWeek("Week-2026-10"));
+        assertNull(cache.getWeek("Week-2026-11"));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static List<ScheduledProject> week(int rows) {
+        List<ScheduledProject> schedule = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            schedule.add(new ScheduledProject(new Project("PRJ" + i, "p" + i, 5, 1000), i + 1, "Day", 1));
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,108 @@
+package com.promanage.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void keepsTheExampleFromTheClassComment() {
+        int bucket = LatencyHistogram.indexOf(1_000_000);
+
+        assertEquals(999_424, LatencyHistogram.upperBound(bucket - 1) + 1);
+        assertEquals(1_015_807, LatencyHistogram.upperBound(bucket));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        for (int v = 0; v < 32; v++) {
+            assertEquals(v, LatencyHistogram.upperBound(LatencyHistogram.indexOf(v)));
+        }
+    }
+
+    // Buckets follow each other without gaps, and each is at most ~3% wide
+    @Test
+    void bucketsTileTheRange() {
+        for (int i = 32; i < LatencyHistogram.indexOf(1L << 44) - 1; i++) {
+            long lower = LatencyHistogram.upperBound(i - 1) + 1;
+            long upper = LatencyHistogram.upperBound(i);
+
+            assertEquals(i, LatencyHistogram.indexOf(lower));
+            assertEquals(i, LatencyHistogram.indexOf(upper));
+            assertTrue(upper - lower + 1 <= lower / 32 + 1, "bucket " + i);
+        }
+    }
+
+    @Test
+    void percentilesAreWithinABucketOfTheExactOnes() {
+        Random           random    = new Random(5);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[]           values    = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(8 + random.nextGaussian() * 2); // log-normal, like latencies
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        double[] fractions = {0.5, 0.9, 0.99, 0.999, 1.0};
+        long[]   result    = histogram.percentiles(fractions);
+        for (int i = 0; i < fractions.length; i++) {
+            long exact = values[(int) Math.ceil(fractions[i] * values.length) - 1];
+            assertTrue(result[i] >= exact, "p" + fractions[i]);
+            assertTrue(result[i] <= exact + exact / 32, "p" + fractions[i]);
+        }
+        assertEquals(values[values.length - 1], result[fractions.length - 1]);
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(Arrays.stream(values).sum(), histogram.getSumNanos());
+    }
+
+    @Test
+    void neverReportsMoreThanTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_000);
+        histogram.record(Long.MAX_VALUE); // beyond the last bucket
+        histogram.record(-5);             // counted as 0
+
+        assertArrayEquals(new long[]{1_015_807, Long.MAX_VALUE}, histogram.percentiles(0.6, 1.0));
+        assertEquals(0, histogram.percentiles(0.1)[0]);
+    }
+
+    @Test
+    void emptyAndResetGiveZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertArrayEquals(new long[2], histogram.percentiles(0.5, 0.99));
+
+        histogram.record(42);
+        histogram.reset();
+        assertArrayEquals(new long[2], histogram.percentiles(0.5, 0.99));
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+    @Test
+    void countsEveryRecordFromManyThreads() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService  pool      = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            long value = 1_000L * (t + 1);
+            pool.submit(() -> {
+                for (int i = 0; i < 100_000; i++) histogram.record(value);
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(800_000, histogram.getCount());
+        assertEquals(100_000L * 1_000 * (1 + 2 + 3 + 4 + 5 + 6 + 7 + 8), histogram.getSumNanos());
+        assertEquals(8_000, histogram.getMaxNanos());
+    }
+}
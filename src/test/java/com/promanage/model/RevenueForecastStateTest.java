@@ -0,0 +1,133 @@
+package com.promanage.model;
+
+import com.promanage.util.WeekLabelUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevenueForecastStateTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2); // Week-2026-10
+
+    @Test
+    void firstWeekIsTheLevel() {
+        RevenueForecastState state = RevenueForecastState.first("Week-2026-10", MONDAY, 1000);
+
+        assertEquals(1, state.getWeeks());
+        assertEquals(1000, state.getLevel());
+        assertEquals(0, state.getTrend());
+        assertEquals("Week-2026-10", state.getLastWeekLabel());
+    }
+
+    @Test
+    void flatRevenueForecastsTheSameEveryWeek() {
+        RevenueForecastState state = series(40, t -> 1000.0);
+        RevenueForecast      next  = state.forecastNextMonth();
+
+        assertEquals(1000, state.getLevel(), 1e-9);
+        assertEquals(0, state.getTrend(), 1e-9);
+        assertEquals(1000.0 * next.getWeeksForecast(), next.getPredictedRevenue(), 1e-6);
+        assertEquals(next.getPredictedRevenue(), next.getUpper95(), 1e-6); // no errors, no spread
+    }
+
+    @Test
+    void learnsAGrowingTrend() {
+        RevenueForecastState state = series(150, t -> 1000.0 + 50 * t);
+
+        assertEquals(50, state.getTrend(), 5);
+        assertEquals(1000 + 50 * 149, state.getLevel(), 500);
+    }
+
+    @Test
+    void rejectsAWeekThatIsNotLater() {
+        RevenueForecastState state = RevenueForecastState.first("Week-2026-10", MONDAY, 1000);
+
+        assertThrows(IllegalArgumentException.class, () -> state.update("Week-2026-10", MONDAY, 900));
+        assertThrows(IllegalArgumentException.class, () -> state.update("Week-2026-9", MONDAY.minusWeeks(1), 900));
+    }
+
+    @Test
+    void skippedWeeksLetTheTrendRunOn() {
+        RevenueForecastState state = RevenueForecastState.first("Week-2026-10", MONDAY, 1000)
+                .update("Week-2026-13", MONDAY.plusWeeks(3), 1000);
+
+        assertEquals(2, state.getWeeks());
+        assertEquals(MONDAY.plusWeeks(3), state.getLastWeekStart());
+    }
+
+    @Test
+    void decemberIsFollowedByJanuaryOfTheNextYear() {
+        LocalDate lastWeek = WeekLabelUtil.weekStart("Week-2026-52");
+        RevenueForecast next = RevenueForecastState.first("Week-2026-52", lastWeek, 1000).forecastNextMonth();
+
+        assertEquals(2027, next.getYear());
+        assertEquals(1, next.getMonth());
+        assertEquals("Week-2026-52", next.getBasedOnWeek());
+    }
+
+    @Test
+    void noIntervalBeforeEnoughWeeks() {
+        RevenueForecast next = noisySeries(RevenueForecast.MIN_WEEKS_FOR_INTERVAL - 1).forecastNextMonth();
+
+        assertEquals(next.getPredictedRevenue(), next.getLower95(), 1e-9);
+        assertEquals(next.getPredictedRevenue(), next.getUpper95(), 1e-9);
+    }
+
+    @Test
+    void intervalsAreNestedAroundThePrediction() {
+        RevenueForecast next = noisySeries(30).forecastNextMonth();
+
+        assertTrue(next.hasInterval());
+        assertTrue(next.getLower95() <= next.getLower80());
+        assertTrue(next.getLower80() < next.getPredictedRevenue());
+        assertTrue(next.getPredictedRevenue() < next.getUpper80());
+        assertTrue(next.getUpper80() < next.getUpper95());
+    }
+
+    @Test
+    void arrayRoundTripKeepsTheForecast() {
+        RevenueForecastState state    = noisySeries(20);
+        RevenueForecastState restored = RevenueForecastState.fromArray(
+                state.getLastWeekLabel(), state.getLastWeekStart(), state.toArray());
+
+        assertArrayEquals(state.toArray(), restored.toArray());
+        assertEquals(state.forecastNextMonth().getPredictedRevenue(),
+                     restored.forecastNextMonth().getPredictedRevenue());
+    }
+
+    @Test
+    void unknownArrayLayoutIsNull() {
+        assertNull(RevenueForecastState.fromArray("Week-2026-10", MONDAY, new double[3]));
+        assertNull(RevenueForecastState.fromArray("Week-2026-10", MONDAY, null));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private interface Revenue {
+        double of(int week);
+    }
+
+    // Weeks 0..count-1 from MONDAY on, fed through first() and update()
+    private static RevenueForecastState series(int count, Revenue revenue) {
+        RevenueForecastState state = null;
+        for (int t = 0; t < count; t++) {
+            LocalDate start = MONDAY.plusWeeks(t);
+            String    label = WeekLabelUtil.weekLabelFor(start);
+            state = state == null ? RevenueForecastState.first(label, start, revenue.of(t))
+                                  : state.update(label, start, revenue.of(t));
+        }
+        return state;
+    }
+
+    private static RevenueForecastState noisySeries(int count) {
+        Random random = new Random(7);
+        return series(count, t -> 1000 + random.nextGaussian() * 100);
+    }
+}
@@ -0,0 +1,57 @@
+package com.promanage.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Only requests refused before the database is asked, so no database is needed
+class ApiServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ApiServer        server;
+
+    @BeforeEach
+    void start() throws Exception {
+        server = new ApiServer("127.0.0.1", 0, 4, 16);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void revenueBelowOnePaisaIsABadRequest() throws Exception {
+        HttpResponse<String> response = post("{\"title\":\"Website\",\"deadline\":5,\"revenue\":0.001}");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("{\"error\":\"revenue must be at least 0.01\"}", response.body());
+    }
+
+    @Test
+    void revenueOutsideTheColumnIsABadRequest() throws Exception {
+        assertEquals(400, post("{\"title\":\"Website\",\"deadline\":5,\"revenue\":9999999999.996}").statusCode());
+        assertEquals(400, post("{\"title\":\"Website\",\"deadline\":5,\"revenue\":1e999}").statusCode());
+        assertEquals(400, post("{\"title\":\"Website\",\"deadline\":5,\"revenue\":-3}").statusCode());
+    }
+
+    @Test
+    void malformedJsonIsABadRequest() throws Exception {
+        assertEquals(400, post("{\"title\":").statusCode());
+    }
+
+    private HttpResponse<String> post(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/api/projects"))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
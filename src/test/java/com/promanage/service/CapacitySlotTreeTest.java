@@ -0,0 +1,77 @@
+package com.promanage.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CapacitySlotTreeTest {
+
+    @Test
+    void findsTheExampleFromTheClassComment() {
+        CapacitySlotTree slots = new CapacitySlotTree(new int[]{2, 1, 2});
+        slots.take(3);
+        slots.take(3);
+
+        assertEquals(2, slots.latestDayWithCapacity(3));
+    }
+
+    @Test
+    void numbersTeamsFromOnePerDay() {
+        CapacitySlotTree slots = new CapacitySlotTree(new int[]{3});
+
+        assertEquals(1, slots.take(1));
+        assertEquals(2, slots.take(1));
+        assertEquals(3, slots.take(1));
+        assertEquals(0, slots.latestDayWithCapacity(1));
+    }
+
+    @Test
+    void refusesToTakeAFullDay() {
+        CapacitySlotTree slots = new CapacitySlotTree(new int[]{1, 0});
+
+        assertThrows(IllegalStateException.class, () -> slots.take(2));
+    }
+
+    @Test
+    void skipsDaysWithoutTeams() {
+        CapacitySlotTree slots = new CapacitySlotTree(new int[]{1, 0, 0});
+
+        assertEquals(1, slots.latestDayWithCapacity(3));
+        assertEquals(0, slots.latestDayWithCapacity(0));
+    }
+
+    // Same answers as scanning backwards over the remaining capacity of each day
+    @Test
+    void matchesABackwardScan() {
+        Random random = new Random(5);
+        for (int run = 0; run < 500; run++) {
+            int   days     = 1 + random.nextInt(60);
+            int[] capacity = new int[days];
+            for (int d = 0; d < days; d++) capacity[d] = random.nextInt(4);
+
+            CapacitySlotTree slots     = new CapacitySlotTree(capacity);
+            int[]            remaining = capacity.clone();
+
+            for (int i = 0; i < days * 4; i++) {
+                int deadline = random.nextInt(days + 5);
+                int expected = 0;
+                for (int d = Math.min(deadline, days); d >= 1; d--) {
+                    if (remaining[d - 1] > 0) {
+                        expected = d;
+                        break;
+                    }
+                }
+
+                int day = slots.latestDayWithCapacity(deadline);
+                assertEquals(expected, day, "run " + run);
+                if (day > 0) {
+                    assertEquals(capacity[day - 1] - remaining[day - 1] + 1, slots.take(day));
+                    remaining[day - 1]--;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.promanage.service;
+
+import com.promanage.model.OptimizedSchedule;
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationScheduleOptimizerTest {
+
+    private final DurationScheduleOptimizer optimizer = new DurationScheduleOptimizer();
+
+    // One long project blocks two shorter ones that pay more together
+    @Test
+    void beatsTheGreedyWhenALongProjectBlocksShortOnes() {
+        List<Project> projects = List.of(
+                project("long", 4, 4, 300),
+                project("a", 2, 2, 200),
+                project("b", 4, 2, 200));
+
+        OptimizedSchedule result = optimizer.optimize(projects, 4);
+
+        assertEquals(400, result.getTotalRevenue(), 1e-9);
+        assertEquals(300, result.getGreedyRevenue(), 1e-9);
+        assertEquals(0.25, result.getOptimalityGap(), 1e-9);
+        assertTrue(result.isProvenOptimal());
+        assertOnTimeAndNoOverlap(result, 4);
+    }
+
+    @Test
+    void matchesBruteForceOnSmallInputs() {
+        Random random = new Random(6);
+        for (int run = 0; run < 300; run++) {
+            int           horizon  = 1 + random.nextInt(10);
+            List<Project> projects = new ArrayList<>();
+            for (int i = 0, n = random.nextInt(9); i < n; i++) {
+                projects.add(project("p" + i, 1 + random.nextInt(horizon + 2),
+                        1 + random.nextInt(4), 1 + random.nextInt(100)));
+            }
+
+            OptimizedSchedule result = optimizer.optimize(projects, horizon);
+
+            assertEquals(bruteForce(projects, horizon), result.getTotalRevenue(), 1e-9, "run " + run);
+            assertTrue(result.getTotalRevenue() >= result.getGreedyRevenue());
+            assertOnTimeAndNoOverlap(result, horizon);
+        }
+    }
+
+    @Test
+    void givesTheGreedyRevenueWhenEveryProjectTakesOneDay() {
+        Random        random   = new Random(7);
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            projects.add(project("p" + i, 1 + random.nextInt(30), 1, 1 + random.nextInt(1000)));
+        }
+
+        double greedy = 0;
+        for (ScheduledProject sp : new SchedulerService().generateOptimalSchedule(projects, 30)) {
+            greedy += sp.getProject().getRevenue();
+        }
+
+        OptimizedSchedule result = optimizer.optimize(projects, 30);
+        assertEquals(greedy, result.getTotalRevenue(), 1e-6);
+        assertEquals(greedy, result.getGreedyRevenue(), 1e-6);
+    }
+
+    @Test
+    void fallsBackToTheGreedyWhenTheBudgetRunsOut() {
+        List<Project> projects = List.of(
+                project("long", 4, 4, 300),
+                project("a", 2, 2, 200),
+                project("b", 4, 2, 200));
+
+        OptimizedSchedule result = optimizer.optimize(projects, 4, 0, 1_000);
+
+        assertFalse(result.isProvenOptimal());
+        assertEquals(300, result.getTotalRevenue(), 1e-9);
+    }
+
+    @Test
+    void rejectsAHorizonOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(List.of(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.optimize(List.of(), SchedulerService.MAX_HORIZON_DAYS + 1));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // Best revenue over every subset that finishes on time in deadline order
+    private static double bruteForce(List<Project> projects, int horizon) {
+        double best = 0;
+        for (int mask = 0; mask < 1 << projects.size(); mask++) {
+            List<Project> subset = new ArrayList<>();
+            for (int i = 0; i < projects.size(); i++) {
+                if ((mask & 1 << i) != 0) subset.add(projects.get(i));
+            }
+            subset.sort(Comparator.comparingInt(p -> Math.min(p.getDeadline(), horizon)));
+
+            int     busy    = 0;
+            double  revenue = 0;
+            boolean onTime  = true;
+            for (Project p : subset) {
+                busy    += p.getDuration();
+                revenue += p.getRevenue();
+                if (busy > Math.min(p.getDeadline(), horizon)) onTime = false;
+            }
+            if (onTime) best = Math.max(best, revenue);
+        }
+        return best;
+    }
+
+    private static void assertOnTimeAndNoOverlap(OptimizedSchedule result, int horizon) {
+        int nextFree = 1;
+        for (ScheduledProject sp : result.getSchedule()) {
+            Project p       = sp.getProject();
+            int     lastDay = sp.getAssignedDay() + p.getDuration() - 1;
+            assertTrue(sp.getAssignedDay() >= nextFree, "overlaps the project before it");
+            assertTrue(lastDay <= Math.min(p.getDeadline(), horizon), p.getTitle() + " finishes late");
+            nextFree = lastDay + 1;
+        }
+    }
+
+    private static Project project(String title, int deadline, int duration, double revenue) {
+        Project p = new Project("PRJ" + title, title, deadline, revenue);
+        p.setDuration(duration);
+        return p;
+    }
+}
@@ -0,0 +1,68 @@
+package com.promanage.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FreeSlotFinderTest {
+
+    @Test
+    void findsTheExampleFromTheClassComment() {
+        FreeSlotFinder slots = new FreeSlotFinder(5);
+        slots.take(5);
+        slots.take(4);
+
+        assertEquals(3, slots.latestFreeAtOrBefore(5));
+        assertEquals(3, slots.latestFreeAtOrBefore(4));
+        assertEquals(2, slots.latestFreeAtOrBefore(2));
+    }
+
+    @Test
+    void capsDaysAtTheHorizonAndReturnsZeroBeforeDayOne() {
+        FreeSlotFinder slots = new FreeSlotFinder(3);
+
+        assertEquals(3, slots.latestFreeAtOrBefore(100));
+        assertEquals(0, slots.latestFreeAtOrBefore(0));
+        assertEquals(0, slots.latestFreeAtOrBefore(-4));
+    }
+
+    @Test
+    void returnsZeroWhenEveryDayIsTaken() {
+        FreeSlotFinder slots = new FreeSlotFinder(2);
+        slots.take(slots.latestFreeAtOrBefore(2));
+        slots.take(slots.latestFreeAtOrBefore(2));
+
+        assertEquals(0, slots.latestFreeAtOrBefore(2));
+    }
+
+    // Same answers as the original backward scan over a boolean array
+    @Test
+    void matchesABackwardScan() {
+        Random random = new Random(4);
+        for (int run = 0; run < 500; run++) {
+            int            days  = 1 + random.nextInt(SchedulerService.MAX_HORIZON_DAYS);
+            FreeSlotFinder slots = new FreeSlotFinder(days);
+            boolean[]      taken = new boolean[days + 1];
+
+            for (int i = 0; i < days * 2; i++) {
+                int deadline = random.nextInt(days + 10);
+                int expected = 0;
+                for (int d = Math.min(deadline, days); d >= 1; d--) {
+                    if (!taken[d]) {
+                        expected = d;
+                        break;
+                    }
+                }
+
+                int day = slots.latestFreeAtOrBefore(deadline);
+                assertEquals(expected, day, "run " + run);
+                if (day > 0) {
+                    slots.take(day);
+                    taken[day] = true;
+                }
+            }
+        }
+    }
+}
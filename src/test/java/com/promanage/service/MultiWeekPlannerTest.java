@@ -0,0 +1,107 @@
+package com.promanage.service;
+
+import com.promanage.model.MultiWeekPlan;
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiWeekPlannerTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2); // Week-2026-10
+
+    private final MultiWeekPlanner planner   = new MultiWeekPlanner();
+    private final SchedulerService scheduler = new SchedulerService();
+
+    // Planning week by week gave 1,000: the deadline-10 projects took week 1
+    @Test
+    void longDeadlinesDoNotCrowdOutThisWeek() {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 5; i++) projects.add(project("late" + i, 10, 200));
+        for (int i = 0; i < 5; i++) projects.add(project("soon" + i, 5, 100));
+
+        MultiWeekPlan plan = planner.plan(projects, MONDAY, 2, 1);
+
+        assertEquals(1500, plan.getTotalRevenue(), 1e-9);
+        assertEquals(0, plan.getLeftOverCount());
+        assertEquals(List.of("Week-2026-10", "Week-2026-11"), new ArrayList<>(plan.getWeeks().keySet()));
+        for (ScheduledProject sp : plan.getWeeks().get("Week-2026-10")) {
+            assertTrue(sp.getProject().getTitle().startsWith("soon"));
+        }
+    }
+
+    @Test
+    void dropsProjectsWhoseDeadlineHasPassed() {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 8; i++) projects.add(project("due3-" + i, 3, 100 + i));
+
+        MultiWeekPlan plan = planner.plan(projects, MONDAY, 4, 1);
+
+        assertEquals(3, plan.getScheduledCount());
+        assertEquals(5, plan.getLeftOverCount());
+        assertEquals(1, plan.getWeeks().size());
+    }
+
+    @Test
+    void fillsWeekOneFirst() {
+        MultiWeekPlan plan = planner.plan(List.of(project("far", 40, 500)), MONDAY, 8, 1);
+
+        assertEquals(1, plan.getWeeks().size());
+        assertEquals(1, plan.getWeeks().get("Week-2026-10").get(0).getAssignedDay());
+    }
+
+    // Same revenue as one greedy over the whole horizon, and every project on time
+    @Test
+    void matchesTheGreedyOverTheWholeHorizon() {
+        Random random = new Random(8);
+        for (int run = 0; run < 300; run++) {
+            int           weeks    = 1 + random.nextInt(6);
+            int           teams    = 1 + random.nextInt(3);
+            List<Project> projects = new ArrayList<>();
+            for (int i = 0, n = random.nextInt(120); i < n; i++) {
+                projects.add(project("p" + i, random.nextInt(weeks * 5 + 8) - 1, 1 + random.nextInt(1000)));
+            }
+
+            MultiWeekPlan plan = planner.plan(projects, MONDAY, weeks, teams);
+
+            double greedy = 0;
+            for (ScheduledProject sp : scheduler.generateOptimalSchedule(projects, weeks * 5, teams)) {
+                greedy += sp.getProject().getRevenue();
+            }
+            assertEquals(greedy, plan.getTotalRevenue(), 1e-6, "run " + run);
+            assertEquals(projects.size() - plan.getScheduledCount(), plan.getLeftOverCount());
+            assertOnTimeAndWithinCapacity(plan, teams);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static void assertOnTimeAndWithinCapacity(MultiWeekPlan plan, int teams) {
+        Set<String> slots = new HashSet<>();
+        int         week  = 0;
+        for (Map.Entry<String, List<ScheduledProject>> entry : plan.getWeeks().entrySet()) {
+            for (ScheduledProject sp : entry.getValue()) {
+                int day = week * 5 + sp.getAssignedDay();
+                assertTrue(sp.getAssignedDay() >= 1 && sp.getAssignedDay() <= 5);
+                assertTrue(sp.getTeam() >= 1 && sp.getTeam() <= teams);
+                assertTrue(day <= sp.getProject().getDeadline(), sp.getProject().getTitle() + " is late");
+                assertTrue(slots.add(day + "/" + sp.getTeam()), "two projects on day " + day);
+            }
+            week++;
+        }
+    }
+
+    private static Project project(String title, int deadline, double revenue) {
+        return new Project("PRJ" + title, title, deadline, revenue);
+    }
+}
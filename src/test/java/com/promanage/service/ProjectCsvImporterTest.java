@@ -0,0 +1,206 @@
+package com.promanage.service;
+
+import com.promanage.dao.BulkInsertMode;
+import com.promanage.model.ImportReport;
+import com.promanage.util.CsvUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Everything here runs without a database: only rejected rows, which never reach ProjectDAO
+class ProjectCsvImporterTest {
+
+    @TempDir
+    Path dir;
+
+    // ── header ──────────────────────────────────────────────────────────────
+
+    @Test
+    void onlyTheExactHeaderIsAHeader() {
+        assertTrue(isHeader("title,deadline,revenue"));
+        assertTrue(isHeader("Title, Deadline ,REVENUE,duration"));
+        assertTrue(isHeader("\"title\",\"deadline\",\"revenue\""));
+
+        assertFalse(isHeader("Title page redesign,3,500"));
+        assertFalse(isHeader("title,deadline"));
+        assertFalse(isHeader("title,deadline,revenue,duration,extra"));
+        assertFalse(isHeader("\"title,deadline,revenue"));
+    }
+
+    // ── byte-level parser ───────────────────────────────────────────────────
+
+    @Test
+    void parsesAPlainRow() {
+        ProjectCsvImporter.RowParser parser = parse("Website redesign,3,500.50", null);
+
+        assertEquals("Website redesign", parser.title);
+        assertEquals(3, parser.deadline);
+        assertEquals(50_050, parser.revenueCents);
+        assertEquals(1, parser.duration);
+    }
+
+    @Test
+    void parsesQuotesSpacesAndDuration() {
+        ProjectCsvImporter.RowParser parser = parse("\"Say \"\"hi\"\", again\", 5 , 12 ,2", null);
+
+        assertEquals("Say \"hi\", again", parser.title);
+        assertEquals(5, parser.deadline);
+        assertEquals(1_200, parser.revenueCents);
+        assertEquals(2, parser.duration);
+    }
+
+    @Test
+    void roundsRevenueHalfUpToPaise() {
+        assertEquals(1_235, parse("a,1,12.345", null).revenueCents);
+        assertEquals(1_234, parse("a,1,12.344", null).revenueCents);
+        assertEquals(1, parse("a,1,0.005", null).revenueCents);
+    }
+
+    @Test
+    void explainsWhatIsWrong() {
+        parse("a,x,100", "deadline is not a number");
+        parse("a,0,100", "deadline must be between 1 and " + SchedulerService.MAX_HORIZON_DAYS);
+        parse("a,3,0.004", "revenue must be greater than 0");
+        parse("a,3,10000000000", "revenue must be at most 9999999999.99");
+        parse("a,3,abc", "revenue is not a number");
+        parse("a,3,100,4", "duration must be between 1 and 3");
+        parse("\"a,3,100", "title has no closing quote");
+        parse(" ,3,100", "title must be 1 to 255 characters");
+        parse("a,3", "expected title,deadline,revenue[,duration]");
+        parse("a,3,100,1,extra", "expected title,deadline,revenue[,duration]");
+    }
+
+    @Test
+    void countsTitleLengthInCharactersNotUtf16Units() {
+        String emoji = "🚀"; // one character, two chars in Java
+
+        assertEquals(510, parse(emoji.repeat(255) + ",3,100", null).title.length());
+        parse(emoji.repeat(256) + ",3,100", "title must be 1 to 255 characters");
+    }
+
+    // ── chunks ──────────────────────────────────────────────────────────────
+
+    @Test
+    void chunksStartRightAfterALineBreak() throws Exception {
+        Random random = new Random(4);
+        for (int run = 0; run < 200; run++) {
+            StringBuilder csv = new StringBuilder();
+            int lines = random.nextInt(50);
+            for (int i = 0; i < lines; i++) {
+                csv.append("x".repeat(random.nextInt(40))).append('\n');
+            }
+            if (random.nextBoolean()) csv.append("no line break at the end");
+
+            Path   file    = write("split" + run + ".csv", csv.toString());
+            byte[] bytes   = Files.readAllBytes(file);
+            int    threads = 1 + random.nextInt(8);
+
+            long[] cuts;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                cuts = new ProjectCsvImporter(BulkInsertMode.COPY, 10, threads).splitAtLineBreaks(channel, bytes.length);
+            }
+
+            assertEquals(0, cuts[0]);
+            assertEquals(bytes.length, cuts[cuts.length - 1]);
+            assertTrue(cuts.length - 1 <= threads);
+            for (int i = 1; i < cuts.length - 1; i++) {
+                assertTrue(cuts[i] > cuts[i - 1], "run " + run);
+                assertEquals('\n', bytes[(int) cuts[i] - 1], "run " + run);
+            }
+        }
+    }
+
+    // ── reject file ─────────────────────────────────────────────────────────
+
+    @Test
+    void rejectLineNumbersAreTheFileLineNumbers() throws Exception {
+        // Header, then bad rows with a few blank lines; the title says which line it is on
+        StringBuilder csv = new StringBuilder("title,deadline,revenue\r\n");
+        int           bad = 0;
+        for (int line = 2; line <= 2_000; line++) {
+            if (line % 97 == 0) {
+                csv.append("   \n");
+            } else {
+                csv.append("line").append(line).append(",soon,100\n");
+                bad++;
+            }
+        }
+        Path file    = write("rejects.csv", csv.toString());
+        Path rejects = dir.resolve("out.rejects.csv");
+
+        ImportReport report = new ProjectCsvImporter(BulkInsertMode.COPY, 100, 4).importFile(file, rejects);
+
+        assertTrue(report.getChunks() > 1);
+        assertEquals(bad, report.getRowsRead());
+        assertEquals(bad, report.getRejected());
+        assertEquals(0, report.getImported());
+
+        List<String> lines = Files.readAllLines(rejects);
+        assertEquals("line,reason,content", lines.get(0));
+        assertEquals(bad + 1, lines.size());
+        for (String record : lines.subList(1, lines.size())) {
+            List<String> fields = CsvUtil.parseLine(record);
+            assertEquals("deadline is not a number", fields.get(1));
+            assertEquals("line" + fields.get(0) + ",soon,100", fields.get(2));
+        }
+    }
+
+    @Test
+    void aTitleThatLooksLikeAHeaderIsNotSkipped() throws Exception {
+        Path file    = write("title.csv", "Title page redesign,3,x\n");
+        Path rejects = dir.resolve("title.rejects.csv");
+
+        ImportReport report = new ProjectCsvImporter(BulkInsertMode.COPY, 100, 1).importFile(file, rejects);
+
+        assertEquals(1, report.getRowsRead());
+        assertEquals("1,revenue is not a number,\"Title page redesign,3,x\"", Files.readAllLines(rejects).get(1));
+    }
+
+    @Test
+    void noRejectFileWhenNothingIsRejected() throws Exception {
+        Path file    = write("empty.csv", "title,deadline,revenue\n\n");
+        Path rejects = dir.resolve("empty.rejects.csv");
+
+        ImportReport report = new ProjectCsvImporter(BulkInsertMode.COPY, 100, 2).importFile(file, rejects);
+
+        assertEquals(0, report.getRowsRead());
+        assertNull(report.getRejectFile());
+        assertFalse(Files.exists(rejects));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static boolean isHeader(String line) {
+        ByteBuffer buf = buffer(line);
+        return ProjectCsvImporter.isHeader(buf, 0, buf.limit());
+    }
+
+    // Parses the line and checks the error (null = valid)
+    private static ProjectCsvImporter.RowParser parse(String line, String expectedError) {
+        ProjectCsvImporter.RowParser parser = new ProjectCsvImporter.RowParser();
+        ByteBuffer                   buf    = buffer(line);
+        assertEquals(expectedError, parser.parse(buf, 0, buf.limit()), line);
+        return parser;
+    }
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(dir.resolve(name), content);
+    }
+}
@@ -0,0 +1,135 @@
+package com.promanage.service;
+
+import com.promanage.model.Project;
+import com.promanage.model.ScheduledProject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopCandidateSelectorTest {
+
+    private final SchedulerService scheduler = new SchedulerService();
+
+    @Test
+    void keepsTheExampleFromTheClassComment() {
+        TopCandidateSelector selector = new TopCandidateSelector(2);
+        selector.offer(project("A", 1, 100));
+        selector.offer(project("B", 1, 150));
+        selector.offer(project("C", 2, 50));
+        selector.offer(project("D", 2, 120));
+
+        assertEquals("[B, D]", titles(selector.candidates()));
+        assertEquals(4, selector.getOfferedCount());
+        assertTrue(selector.isFull());
+    }
+
+    @Test
+    void ignoresProjectsWithoutAnyDay() {
+        TopCandidateSelector selector = new TopCandidateSelector(new int[]{0, 1});
+        selector.offer(project("late", 0, 500));
+        selector.offer(project("noTeamOnDay1", 1, 400));
+        selector.offer(project("fits", 2, 10));
+
+        assertEquals("[fits]", titles(selector.candidates()));
+    }
+
+    @Test
+    void neverKeepsMoreThanTheSlots() {
+        Random                random   = new Random(3);
+        TopCandidateSelector selector = new TopCandidateSelector(uniform(SchedulerService.MAX_HORIZON_DAYS, 3));
+        for (int i = 0; i < 200_000; i++) {
+            selector.offer(project("p" + i, 1 + random.nextInt(400), 1 + random.nextInt(1_000_000)));
+        }
+        assertEquals(SchedulerService.MAX_HORIZON_DAYS * 3, selector.candidates().size());
+    }
+
+    // The promise of the class: the greedy on candidates() = the greedy on everything
+    @Test
+    void matchesTheGreedyOnAllProjects() {
+        Random random = new Random(1);
+        for (int run = 0; run < 2_000; run++) {
+            int           horizon  = 1 + random.nextInt(run % 3 == 0 ? 40 : 8);
+            int           teams    = 1 + random.nextInt(3);
+            List<Project> projects = randomProjects(random, random.nextInt(200), horizon, run % 2 == 0 ? 5 : 1000);
+
+            TopCandidateSelector selector = new TopCandidateSelector(uniform(horizon, teams));
+            projects.forEach(selector::offer);
+
+            assertTrue(selector.candidates().size() <= horizon * teams);
+            assertEquals(schedule(projects, horizon, teams),
+                         schedule(selector.candidates(), horizon, teams), "run " + run);
+        }
+    }
+
+    // The database path: rows highest revenue first, reading stops once isFull()
+    @Test
+    void stoppingWhenFullOnSortedInputLosesNothing() {
+        Random random = new Random(2);
+        for (int run = 0; run < 500; run++) {
+            int           horizon = 1 + random.nextInt(20);
+            int           teams   = 1 + random.nextInt(3);
+            List<Project> sorted  = randomProjects(random, random.nextInt(300), horizon, 1000);
+            sorted.sort(Comparator.comparingDouble(Project::getRevenue).reversed());
+
+            TopCandidateSelector selector = new TopCandidateSelector(uniform(horizon, teams));
+            for (Project p : sorted) {
+                selector.offer(p);
+                if (selector.isFull()) break;
+            }
+            assertEquals(schedule(sorted, horizon, teams),
+                         schedule(selector.candidates(), horizon, teams), "run " + run);
+        }
+    }
+
+    @Test
+    void isNotFullBeforeEverySlotIsTaken() {
+        TopCandidateSelector selector = new TopCandidateSelector(3);
+        selector.offer(project("a", 3, 10));
+        selector.offer(project("b", 3, 20));
+        assertFalse(selector.isFull());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private String schedule(List<Project> projects, int horizon, int teams) {
+        StringBuilder sb = new StringBuilder();
+        for (ScheduledProject sp : scheduler.generateOptimalSchedule(projects, horizon, teams)) {
+            sb.append(sp.getProject().getTitle()).append('@').append(sp.getAssignedDay())
+              .append('/').append(sp.getTeam()).append(' ');
+        }
+        return sb.toString();
+    }
+
+    // Deadlines from -1 to horizon + 3, so some are too early and some past the horizon
+    private static List<Project> randomProjects(Random random, int count, int horizon, int maxRevenue) {
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            projects.add(project("p" + i, random.nextInt(horizon + 5) - 1, 1 + random.nextInt(maxRevenue)));
+        }
+        return projects;
+    }
+
+    private static Project project(String title, int deadline, double revenue) {
+        return new Project("PRJ" + title, title, deadline, revenue);
+    }
+
+    private static int[] uniform(int horizon, int teams) {
+        int[] capacity = new int[horizon];
+        Arrays.fill(capacity, teams);
+        return capacity;
+    }
+
+    private static String titles(List<Project> projects) {
+        List<String> titles = new ArrayList<>();
+        for (Project p : projects) titles.add(p.getTitle());
+        return titles.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.promanage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvUtilTest {
+
+    @Test
+    void parsesTheExampleFromTheClassComment() {
+        assertEquals(List.of("PRJ1", "Website, phase 2", "3"), CsvUtil.parseLine("PRJ1,\"Website, phase 2\",3"));
+    }
+
+    @Test
+    void keepsEmptyFieldsAndDoubledQuotes() {
+        assertEquals(List.of("", "say \"hi\"", ""), CsvUtil.parseLine(",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvUtil.parseLine("\"open,1"));
+    }
+
+    @Test
+    void quotesOnlyWhenNeeded() {
+        assertEquals("plain", CsvUtil.field("plain"));
+        assertEquals("\"a,b\"", CsvUtil.field("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", CsvUtil.field("say \"hi\""));
+        assertEquals("\"two\nlines\"", CsvUtil.field("two\nlines"));
+        assertEquals("", CsvUtil.field(null));
+    }
+
+    @Test
+    void lineRoundTripsThroughParseLine() {
+        String line = CsvUtil.line(7, "Website, phase 2", null, "say \"hi\"");
+
+        assertEquals("7,\"Website, phase 2\",,\"say \"\"hi\"\"\"", line);
+        assertEquals(List.of("7", "Website, phase 2", "", "say \"hi\""), CsvUtil.parseLine(line));
+    }
+}
@@ -0,0 +1,80 @@
+package com.promanage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonReaderTest {
+
+    @Test
+    void parsesTheExampleFromTheClassComment() {
+        Map<String, Object> body = JsonReader.parseObject("{\"title\":\"Website\",\"deadline\":5}");
+
+        assertEquals("Website", body.get("title"));
+        assertEquals(5.0, body.get("deadline"));
+        assertEquals(List.of("title", "deadline"), List.copyOf(body.keySet())); // input order kept
+    }
+
+    @Test
+    void parsesEveryKindOfValue() {
+        Map<String, Object> body = JsonReader.parseObject(
+                " { \"a\" : [1, -2.5, 3e2, true, false, null, {}, []] , \"b\":{\"c\":\"d\"} } ");
+
+        assertEquals(Arrays.asList(1.0, -2.5, 300.0, true, false, null, Map.of(), List.of()), body.get("a"));
+        assertEquals(Map.of("c", "d"), body.get("b"));
+    }
+
+    @Test
+    void decodesEscapes() {
+        assertEquals("say \"hi\"\\/\n\t\u00e9", JsonReader.parse("\"say \\\"hi\\\"\\\\\\/\\n\\t\\u00e9\""));
+    }
+
+    @Test
+    void nullAtTheTopLevelIsAllowedButNotAsABody() {
+        assertNull(JsonReader.parse("null"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parseObject("[1]"));
+    }
+
+    @Test
+    void reportsWhereTheInputIsBroken() {
+        assertError("{\"a\":1,}", "Invalid JSON at position 7: expected a field name");
+        assertError("{\"a\" 1}", "Invalid JSON at position 5: expected ':'");
+        assertError("[1 2]", "Invalid JSON at position 3: expected ']'");
+        assertError("\"open", "Invalid JSON at position 5: unterminated string");
+        assertError("\"\\x\"", "Invalid JSON at position 3: bad escape \\x");
+        assertError("\"\\u12\"", "Invalid JSON at position 3: bad \\u escape");
+        assertError("1-2", "Invalid JSON at position 0: bad number");
+        assertError("tru", "Invalid JSON at position 0: unexpected value");
+        assertError("{} x", "Invalid JSON at position 3: unexpected text after the value");
+        assertError("", "Invalid JSON at position 0: unexpected end of input");
+    }
+
+    @Test
+    void refusesDeepNestingInsteadOfOverflowingTheStack() {
+        String deep = "[".repeat(10_000) + "]".repeat(10_000);
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse(deep));
+
+        String ok = "[".repeat(32) + "]".repeat(32);
+        assertEquals(List.of(), unwrap(JsonReader.parse(ok), 31));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static void assertError(String json, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> JsonReader.parse(json));
+        assertEquals(message, e.getMessage());
+    }
+
+    private static Object unwrap(Object value, int levels) {
+        for (int i = 0; i < levels; i++) {
+            value = ((List<?>) value).get(0);
+        }
+        return value;
+    }
+}